@@ -1,16 +1,22 @@
 package dev.main;
 
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
 import java.awt.Canvas;
-import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.ImageCapabilities;
 import java.awt.Point;
 import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.image.BufferStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -29,9 +35,12 @@ import dev.main.item.ItemManager;
 import dev.main.quest.IntroQuestHandler;
 import dev.main.quest.QuestIndicator;
 import dev.main.render.Renderer;
+import dev.main.render.SnapshotBuilder;
+import dev.main.render.WorldSnapshot;
 import dev.main.state.GameLogic;
 import dev.main.state.GameState;
 import dev.main.stats.Stats;
+import dev.main.tile.TileMap;
 import dev.main.ui.Quest;
 import dev.main.ui.UIButton;
 import dev.main.ui.UIDialogueBoxEnhanced;
@@ -58,10 +67,15 @@ public class Engine extends Canvas implements Runnable, KeyListener {
     // Game loop constants
     public static final int UPS = 60;
     public static final int FPS = 120;
+    
+    // Split loop: simulation and rendering on their own threads (-Dgame.threaded=true)
+    private static final boolean THREADED_LOOP = Boolean.getBoolean("game.threaded");
+    private static final int MAX_CATCH_UP_TICKS = 5;
 
     // Engine state
-    private boolean isRunning = false;
+    private volatile boolean isRunning = false;
     private Thread thread;
+    private Thread renderThread;
     private BufferStrategy bufferStrategy;
     private boolean lastMousePressed = false;
     
@@ -80,6 +94,15 @@ public class Engine extends Canvas implements Runnable, KeyListener {
     private Cursor attackCursor;
     private static Engine instance;
     
+    // Reused spatial-grid result list for hover picking
+    private final List<Entity> hoverCandidates = new ArrayList<>();
+    
+    // Guards the mutable world (GameState, UI) between ticks and input events
+    private final Object worldLock = new Object();
+    // Newest snapshot the render thread hasn't picked up yet
+    private final AtomicReference<WorldSnapshot> pendingSnapshot = new AtomicReference<>();
+    private final SnapshotBuilder snapshots = new SnapshotBuilder();
+    
     public Engine() {
         setupIDE(Engine.Eclipse);
         
@@ -158,16 +181,32 @@ public class Engine extends Canvas implements Runnable, KeyListener {
         setFocusable(true);
         requestFocusInWindow();
 
-        // Buffer strategy
-        createBufferStrategy(2);
+        // Buffer strategy: ask for one that keeps the back buffer between
+        // frames, so the renderer can redraw only what changed
+        try {
+            createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                                                           BufferCapabilities.FlipContents.COPIED));
+        } catch (AWTException e) {
+            createBufferStrategy(2);
+        }
         bufferStrategy = getBufferStrategy();
 
         // Initialize game
         gameSetup();
+        
+        BufferCapabilities caps = bufferStrategy.getCapabilities();
+        renderer.setBackBufferPreserved(!caps.isPageFlipping() ||
+                                        caps.getFlipContents() == BufferCapabilities.FlipContents.COPIED);
 
-        // Attach mouse wheel listener
+        // Attach mouse wheel listener; scrolling rebinds UI widgets, so like
+        // key events it waits for the tick to finish
         if (gameState != null && gameState.getUIManager() != null) {
-            addMouseWheelListener(gameState.getUIManager());
+            UIManager uiManager = gameState.getUIManager();
+            addMouseWheelListener(e -> {
+                synchronized (worldLock) {
+                    uiManager.mouseWheelMoved(e);
+                }
+            });
         }
     }
 
@@ -217,10 +256,17 @@ public class Engine extends Canvas implements Runnable, KeyListener {
         float worldX = screenX + gameState.getCameraX();
         float worldY = screenY + gameState.getCameraY();
         
-        // Check if hovering over any entity (monster or NPC)
+        // Check if hovering over any entity (monster or NPC). Boxes are
+        // smaller than a tile around the position, so only the 3x3 cells
+        // around the cursor can contain a hit.
         Entity hoveredEntity = null;
         
-        for (Entity entity : gameState.getEntities()) {
+        hoverCandidates.clear();
+        gameState.getSpatialGrid().queryRect(worldX - TileMap.TILE_SIZE, worldY - TileMap.TILE_SIZE,
+                                             worldX + TileMap.TILE_SIZE, worldY + TileMap.TILE_SIZE,
+                                             hoverCandidates);
+        
+        for (Entity entity : hoverCandidates) {
             if (entity.getType() != EntityType.MONSTER && entity.getType() != EntityType.NPC) {
                 continue;
             }
@@ -366,6 +412,13 @@ public class Engine extends Canvas implements Runnable, KeyListener {
     
     @Override
     public void keyPressed(KeyEvent e) {
+        // Key events arrive on the AWT thread; keep them off a running tick
+        synchronized (worldLock) {
+            handleKeyPressed(e);
+        }
+    }
+    
+    private void handleKeyPressed(KeyEvent e) {
     	// In keyPressed():
     	/*if (e.getKeyCode() == KeyEvent.VK_R) {
     	    rendererDebugMode = !rendererDebugMode;
@@ -435,16 +488,47 @@ public class Engine extends Canvas implements Runnable, KeyListener {
 
     public void render() {
         Graphics2D g = (Graphics2D) bufferStrategy.getDrawGraphics();
-        
-        // Clear screen
-        g.setColor(Color.GRAY);
-        g.fillRect(0, 0, WIDTH, HEIGHT);
+        if (bufferStrategy.contentsRestored()) {
+            renderer.invalidate();
+        }
          
-        // Render game world
+        // Render game world (covers the whole screen, no clear needed)
         renderer.render(g);
   
         g.dispose();
         bufferStrategy.show();
+        if (bufferStrategy.contentsLost()) {
+            renderer.invalidate();
+        }
+    }
+    
+    /**
+     * Render-thread path: everything comes from the snapshot, including the
+     * HUD the simulation thread painted into it, so no lock is taken.
+     */
+    private void render(WorldSnapshot snapshot) {
+        Graphics2D g = (Graphics2D) bufferStrategy.getDrawGraphics();
+        if (bufferStrategy.contentsRestored()) {
+            renderer.invalidate();
+        }
+        
+        renderer.renderWorld(g, snapshot);
+        renderer.drawOverlay(g, snapshot);
+        
+        g.dispose();
+        bufferStrategy.show();
+        if (bufferStrategy.contentsLost()) {
+            renderer.invalidate();
+        }
+    }
+    
+    private void dispatchMouseMove() {
+        boolean currentPressed = mouse.isPressed();
+        if (mouse.hasMoved() || currentPressed != lastMousePressed) {
+            gameState.getUIManager().handleMouseMove(mouse.getX(), mouse.getY(), currentPressed);
+            mouse.resetMoved();
+        }
+        lastMousePressed = currentPressed;
     }
          
     @Override
@@ -480,12 +564,7 @@ public class Engine extends Canvas implements Runnable, KeyListener {
                 deltaF--;
             }
 
-            boolean currentPressed = mouse.isPressed();
-            if (mouse.hasMoved() || currentPressed != lastMousePressed) {
-                gameState.getUIManager().handleMouseMove(mouse.getX(), mouse.getY(), currentPressed);
-                mouse.resetMoved();
-            }
-            lastMousePressed = currentPressed;
+            dispatchMouseMove();
 
             try {
                 Thread.sleep(1);
@@ -502,11 +581,110 @@ public class Engine extends Canvas implements Runnable, KeyListener {
         }
     }
 
+    /**
+     * Fixed-rate simulation thread. Runs GameLogic at UPS and publishes a
+     * fresh WorldSnapshot, HUD included, after each batch of ticks. A slow
+     * frame on the render thread can no longer steal time from the
+     * simulation; if the simulation itself falls behind, the backlog is
+     * dropped after MAX_CATCH_UP_TICKS instead of spiralling.
+     */
+    private void runSimulation() {
+        final long tickNanos = 1_000_000_000L / UPS;
+        final float delta = 1f / UPS;
+        
+        long nextTick = System.nanoTime();
+        
+        while (isRunning) {
+            long now = System.nanoTime();
+            int ticks = 0;
+            
+            while (now - nextTick >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+                synchronized (worldLock) {
+                    update(delta);
+                    dispatchMouseMove();
+                }
+                nextTick += tickNanos;
+                ticks++;
+            }
+            
+            if (now - nextTick >= 0) {
+                nextTick = now + tickNanos;
+            }
+            
+            if (ticks > 0) {
+                publishSnapshot();
+            }
+            
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+    
+    /**
+     * Capture the world and paint the HUD into it for the render thread. A
+     * snapshot the render thread never picked up goes straight back to the
+     * pool.
+     */
+    private void publishSnapshot() {
+        WorldSnapshot snapshot;
+        synchronized (worldLock) {
+            snapshot = snapshots.capture(gameState);
+            renderer.paintOverlay(snapshot);
+        }
+        WorldSnapshot skipped = pendingSnapshot.getAndSet(snapshot);
+        if (skipped != null) {
+            snapshots.release(skipped);
+        }
+    }
+    
+    /**
+     * Render thread. Draws the most recent snapshot at up to FPS; frames
+     * are skipped rather than queued when drawing is slow.
+     */
+    private void runRendering() {
+        final long frameNanos = 1_000_000_000L / FPS;
+        
+        long nextFrame = System.nanoTime();
+        WorldSnapshot drawn = null;
+        
+        while (isRunning) {
+            WorldSnapshot snapshot = pendingSnapshot.getAndSet(null);
+            if (snapshot != null) {
+                // Done with the previous one: it can be reused
+                if (drawn != null) {
+                    snapshots.release(drawn);
+                }
+                drawn = snapshot;
+            }
+            if (drawn != null) {
+                render(drawn);
+            }
+            
+            nextFrame += frameNanos;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            } else {
+                nextFrame = System.nanoTime();
+            }
+        }
+    }
+
     public void start() {
         if (!isRunning) {
             isRunning = true;
-            thread = new Thread(this);
-            thread.start();
+            if (THREADED_LOOP) {
+                publishSnapshot();
+                thread = new Thread(this::runSimulation, "Simulation");
+                renderThread = new Thread(this::runRendering, "Render");
+                thread.start();
+                renderThread.start();
+            } else {
+                thread = new Thread(this);
+                thread.start();
+            }
         }
     }
 
@@ -515,6 +693,9 @@ public class Engine extends Canvas implements Runnable, KeyListener {
             isRunning = false;
             try {
                 thread.join();
+                if (renderThread != null) {
+                    renderThread.join();
+                }
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
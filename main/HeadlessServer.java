@@ -0,0 +1,155 @@
+package dev.main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import dev.main.state.GameLogic;
+import dev.main.state.GameState;
+
+/**
+ * Render-less entry point. Runs the fixed-step GameLogic.update loop with no
+ * window, no BufferStrategy and no UIManager, and reports ticks per second.
+ *
+ * Several simulations can share one JVM, each on its own thread.
+ *
+ * Usage: HeadlessServer [--instances N] [--seconds S] [--unthrottled] [--vscode]
+ *   --unthrottled  tick as fast as possible to measure the sustainable TPS
+ */
+public class HeadlessServer implements Runnable {
+
+    private final String name;
+    private final GameState gameState;
+    private final GameLogic gameLogic;
+    private final boolean throttled;
+
+    private volatile boolean isRunning = false;
+    private Thread thread;
+
+    // Stats (written by the simulation thread)
+    private volatile int ticksPerSecond;
+    private volatile double avgTickMillis;
+    private volatile long totalTicks;
+
+    public HeadlessServer(String name, boolean throttled) {
+        this.name = name;
+        this.throttled = throttled;
+        this.gameState = new GameState(false);
+        this.gameLogic = new GameLogic(gameState);
+        gameState.setGameLogic(gameLogic);
+    }
+
+    @Override
+    public void run() {
+        final long tickNanos = 1_000_000_000L / Engine.UPS;
+        final float delta = 1f / Engine.UPS;
+
+        long nextTick = System.nanoTime();
+        long timer = System.currentTimeMillis();
+        long busyNanos = 0;
+        int ticks = 0;
+
+        while (isRunning) {
+            long start = System.nanoTime();
+            gameLogic.update(delta);
+            long end = System.nanoTime();
+
+            busyNanos += end - start;
+            ticks++;
+            totalTicks++;
+
+            if (throttled) {
+                nextTick += tickNanos;
+                long sleep = nextTick - System.nanoTime();
+                if (sleep > 0) {
+                    LockSupport.parkNanos(sleep);
+                } else if (-sleep > tickNanos * 5) {
+                    nextTick = System.nanoTime();  // too far behind, drop the backlog
+                }
+            }
+
+            if (System.currentTimeMillis() - timer >= 1000) {
+                timer += 1000;
+                ticksPerSecond = ticks;
+                avgTickMillis = ticks > 0 ? busyNanos / 1_000_000.0 / ticks : 0;
+                System.out.println(String.format("[%s] TPS: %d | avg tick: %.3f ms | entities: %d",
+                    name, ticksPerSecond, avgTickMillis, gameState.getEntities().size()));
+                ticks = 0;
+                busyNanos = 0;
+            }
+        }
+    }
+
+    public void start() {
+        if (!isRunning) {
+            isRunning = true;
+            thread = new Thread(this, name);
+            thread.start();
+        }
+    }
+
+    public void stop() {
+        if (isRunning) {
+            isRunning = false;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public String getName() { return name; }
+    public GameState getGameState() { return gameState; }
+    public int getTicksPerSecond() { return ticksPerSecond; }
+    public double getAvgTickMillis() { return avgTickMillis; }
+    public long getTotalTicks() { return totalTicks; }
+
+    public static void main(String[] args) {
+        // Must be set before any AWT class initializes
+        System.setProperty("java.awt.headless", "true");
+
+        int instances = 1;
+        int seconds = 0;  // 0 = run until killed
+        boolean throttled = true;
+        Engine.IDE = Engine.Eclipse;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--instances": instances = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                case "--unthrottled": throttled = false; break;
+                case "--vscode": Engine.IDE = Engine.VSCode; break;
+            }
+        }
+
+        List<HeadlessServer> servers = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            servers.add(new HeadlessServer("sim-" + i, throttled));
+        }
+
+        System.out.println("Headless: " + instances + " simulation(s), " +
+                           (throttled ? Engine.UPS + " UPS target" : "unthrottled"));
+        for (HeadlessServer server : servers) {
+            server.start();
+        }
+
+        if (seconds <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(seconds * 1000L);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+
+        long total = 0;
+        for (HeadlessServer server : servers) {
+            server.stop();
+            total += server.getTotalTicks();
+        }
+        System.out.println(String.format("Total: %d ticks in %ds = %.1f TPS across %d simulation(s)",
+            total, seconds, total / (double) seconds, instances));
+    }
+}
@@ -0,0 +1,100 @@
+package dev.main.debug;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import dev.main.util.BinaryMapLoader;
+import dev.main.util.JsonMapParser;
+import dev.main.util.MapCompiler;
+import dev.main.util.MapData;
+
+/**
+ * Map load benchmark: writes a random SIZE x SIZE JSON map to a temp file,
+ * then times JsonMapParser on it and BinaryMapLoader on its compiled copy.
+ *
+ * Usage: MapLoadBenchmark [size] [runs]
+ */
+public class MapLoadBenchmark {
+    
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        Path json = Files.createTempFile("bench_map", ".json");
+        Path compiled = Files.createTempFile("bench_map", BinaryMapLoader.EXTENSION);
+        try {
+            writeMap(json, size);
+            System.out.println("Map: " + size + "x" + size + " tiles, JSON " + Files.size(json) / 1024 + " KB");
+            
+            // Warm up the JIT before timing
+            MapData data = null;
+            for (int i = 0; i < 3; i++) {
+                data = parseJson(json);
+            }
+            
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                data = parseJson(json);
+            }
+            double jsonMs = (System.nanoTime() - start) / 1e6 / runs;
+            System.out.printf("JsonMapParser:   %8.2f ms/load (%dx%d, %d portals, %d spawns)%n",
+                              jsonMs, data.width, data.height, data.portals.size(), data.monsterSpawns.size());
+            
+            MapCompiler.compile(data, compiled, BinaryMapLoader.stampSource(json.toString()));
+            for (int i = 0; i < 3; i++) {
+                BinaryMapLoader.load(compiled.toString());
+            }
+            
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                data = BinaryMapLoader.load(compiled.toString());
+            }
+            double binaryMs = (System.nanoTime() - start) / 1e6 / runs;
+            System.out.printf("BinaryMapLoader: %8.2f ms/load (%d KB compiled)%n",
+                              binaryMs, Files.size(compiled) / 1024);
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(compiled);
+        }
+    }
+    
+    private static MapData parseJson(Path json) throws IOException {
+        try (InputStream is = Files.newInputStream(json)) {
+            return JsonMapParser.parse(is);
+        }
+    }
+    
+    private static void writeMap(Path path, int size) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\n  \"mapId\": \"bench_map\",\n  \"width\": " + size + ",\n  \"height\": " + size +
+                      ",\n  \"tileSize\": 64,\n  \"tiles\": [\n");
+            for (int y = 0; y < size; y++) {
+                out.write("    [");
+                for (int x = 0; x < size; x++) {
+                    if (x > 0) out.write(", ");
+                    out.write(random.nextInt(5) == 0 ? '1' : '0');
+                }
+                out.write(y < size - 1 ? "],\n" : "]\n");
+            }
+            out.write("  ],\n  \"portals\": [\n");
+            for (int i = 0; i < 20; i++) {
+                out.write("    {\"id\": \"portal_" + i + "\", \"x\": " + random.nextInt(size) + ", \"y\": " +
+                          random.nextInt(size) + ", \"targetMap\": \"map_" + i + "\", \"targetX\": 5, \"targetY\": 5}" +
+                          (i < 19 ? ",\n" : "\n"));
+            }
+            out.write("  ],\n  \"monsterSpawns\": [\n");
+            for (int i = 0; i < 500; i++) {
+                out.write("    {\"id\": \"spawn_" + i + "\", \"monsterType\": \"Goblin\", \"x\": " + random.nextInt(size * 64) +
+                          ", \"y\": " + random.nextInt(size * 64) + ", \"level\": " + (1 + random.nextInt(30)) +
+                          ", \"tier\": \"NORMAL\", \"respawnDelay\": 30.5}" + (i < 499 ? ",\n" : "\n"));
+            }
+            out.write("  ]\n}\n");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.main.drops;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One zone/monster level/base table combination, flattened: the final
+ * weight of every item that can drop (BaseChance x ZoneMultiplier x
+ * LevelModifier) in a sampler, the lucky drop list and the zone's quest
+ * drops. Immutable.
+ */
+final class CompiledLoot {
+    private final DropSampler sampler;
+    private final List<DropItem> luckyItems;
+    private final String[] guaranteedQuests;
+    private final DropItem[] guaranteedItems;
+    private final int baseRevision;
+
+    CompiledLoot(DropSampler sampler, Map<String, DropItem> guaranteedDrops, int baseRevision) {
+        this.sampler = sampler;
+        this.baseRevision = baseRevision;
+
+        List<DropItem> lucky = new ArrayList<>();
+        for (int i = 0; i < sampler.size(); i++) {
+            if (sampler.getWeight(i) > 0) {
+                lucky.add(sampler.getItem(i));
+            }
+        }
+        this.luckyItems = lucky;
+
+        this.guaranteedQuests = new String[guaranteedDrops.size()];
+        this.guaranteedItems = new DropItem[guaranteedDrops.size()];
+        int i = 0;
+        for (Map.Entry<String, DropItem> entry : guaranteedDrops.entrySet()) {
+            guaranteedQuests[i] = entry.getKey();
+            guaranteedItems[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    DropSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Every item that can drop here, for lucky drops
+     */
+    List<DropItem> getLuckyItems() {
+        return luckyItems;
+    }
+
+    int getGuaranteedCount() {
+        return guaranteedItems.length;
+    }
+
+    String getGuaranteedQuest(int index) {
+        return guaranteedQuests[index];
+    }
+
+    DropItem getGuaranteedItem(int index) {
+        return guaranteedItems[index];
+    }
+
+    int getBaseRevision() {
+        return baseRevision;
+    }
+}
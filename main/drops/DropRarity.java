@@ -5,19 +5,33 @@ package dev.main.drops;
  * Rarity tiers for drop system (separate from Item.Rarity)
  */
 public enum DropRarity {
-    COMMON(0.50),      // 50% drop chance
-    RARE(0.30),        // 30% drop chance
-    EPIC(0.15),        // 15% drop chance
-    LEGENDARY(0.04),   // 4% drop chance
-    MYTHIC(0.01);      // 1% drop chance
+    COMMON(0.50, 0.00),      // 50% drop chance
+    RARE(0.30, 0.02),        // 30% drop chance, +2% weight per monster level
+    EPIC(0.15, 0.03),        // 15% drop chance, +3% per level
+    LEGENDARY(0.04, 0.01),   // 4% drop chance, +1% per level
+    MYTHIC(0.01, 0.00);      // 1% drop chance
+    
+    // Levels past this don't raise the level modifier any further
+    public static final int MAX_LEVEL_BONUS = 50;
     
     private final double dropChance;
+    private final double levelBonus;
     
-    DropRarity(double dropChance) {
+    DropRarity(double dropChance, double levelBonus) {
         this.dropChance = dropChance;
+        this.levelBonus = levelBonus;
     }
     
     public double getDropChance() {
         return dropChance;
     }
+    
+    /**
+     * LevelModifier in FinalDropChance = BaseChance x ZoneMultiplier x LevelModifier:
+     * stronger monsters lean towards rarer tiers. 1.0 at level 1.
+     */
+    public double getLevelModifier(int monsterLevel) {
+        int level = Math.max(1, Math.min(MAX_LEVEL_BONUS, monsterLevel));
+        return 1.0 + levelBonus * (level - 1);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package dev.main.drops;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A drop table flattened into one weighted item list with a Vose alias
+ * table, so picking an item costs one random int and one random double
+ * however many items and tiers there are.
+ *
+ * Immutable; the owning table builds a new one when its items change.
+ */
+final class DropSampler {
+    private final DropItem[] items;
+    private final double[] weights;
+    private final double totalWeight;
+    private final int droppableCount;  // items with weight > 0
+
+    // Alias table: column i keeps i with probability[i], else gives alias[i]
+    private final double[] probability;
+    private final int[] alias;
+
+    DropSampler(List<DropItem> items, double[] weights) {
+        int n = items.size();
+        this.items = items.toArray(new DropItem[0]);
+        this.weights = new double[n];
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double total = 0;
+        int droppable = 0;
+        for (int i = 0; i < n; i++) {
+            double weight = Math.max(0, weights[i]);
+            this.weights[i] = weight;
+            total += weight;
+            if (weight > 0) droppable++;
+        }
+        this.totalWeight = total;
+        this.droppableCount = droppable;
+
+        if (total > 0) {
+            buildAliasTable();
+        }
+    }
+
+    /**
+     * Vose's method: columns under the average weight are topped up from
+     * one over it, so every column holds at most two items.
+     */
+    private void buildAliasTable() {
+        int n = weights.length;
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is (up to rounding) exactly full
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    int size() {
+        return items.length;
+    }
+
+    DropItem getItem(int index) {
+        return items[index];
+    }
+
+    double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Index of one item, picked by weight. The table must have an item
+     * with weight > 0.
+     */
+    int sampleIndex(Random random) {
+        int column = random.nextInt(items.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Up to count different items, each picked by weight among the ones
+     * not picked yet - the same odds as re-rolling every duplicate, without
+     * the re-rolls. A duplicate draw instead takes one weighted pass over
+     * the items left.
+     */
+    List<DropItem> sampleDistinct(int count, Random random) {
+        count = Math.min(count, droppableCount);
+        List<DropItem> picks = new ArrayList<>(Math.max(count, 0));
+        if (count <= 0) return picks;
+
+        boolean[] picked = new boolean[items.length];
+        double pickedWeight = 0;
+        for (int n = 0; n < count; n++) {
+            int index = sampleIndex(random);
+            if (picked[index]) {
+                index = sampleRemaining(picked, totalWeight - pickedWeight, random);
+            }
+            picked[index] = true;
+            pickedWeight += weights[index];
+            picks.add(items[index]);
+        }
+        return picks;
+    }
+
+    private int sampleRemaining(boolean[] picked, double remainingWeight, Random random) {
+        double roll = random.nextDouble() * remainingWeight;
+        int last = -1;
+        for (int i = 0; i < items.length; i++) {
+            if (picked[i] || weights[i] <= 0) continue;
+            last = i;
+            roll -= weights[i];
+            if (roll < 0) return i;
+        }
+        return last;  // Rounding left a sliver past the end
+    }
+}
@@ -2,6 +2,9 @@ package dev.main.drops;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import dev.main.item.ItemManager;
 
 /**
  * Main drop system that generates loot from enemies
@@ -10,32 +13,81 @@ public class DropSystem {
     private final DropTable dropTable;
     private static final double LUCKY_DROP_CHANCE = 0.05; // 5% chance for lucky drop
     
+    // Zones by map id; maps without their own rules use the default zone
+    private final Map<String, ZoneLoot> zones = new HashMap<>();
+    private final ZoneLoot defaultZone = new ZoneLoot("default", LootTier.TIER_1);
+    
     public DropSystem() {
         this.dropTable = new DropTable();
+        initializeZones();
     }
     
     public DropSystem(DropTable customDropTable) {
         this.dropTable = customDropTable;
+        initializeZones();
+    }
+    
+    private void initializeZones() {
+        ZoneLoot intro = new ZoneLoot("intro_map", LootTier.TIER_1);
+        // Map exclusive drop, not in any monster's table
+        intro.addExtraDrop(new DropItem("Health Potion", DropRarity.COMMON, 1, 2,
+            ItemManager::createHealthPotion));
+        // Rarest ingredient of the rune crafting quest
+        intro.addGuaranteedDrop("rune_crafting", new DropItem("Carved Wood", DropRarity.RARE, 1, 1,
+            ItemManager::createCarvedWood));
+        registerZone(intro);
+    }
+    
+    public void registerZone(ZoneLoot zone) {
+        zones.put(zone.getZoneId(), zone);
     }
     
     /**
-     * Generate drops from a defeated enemy
+     * Loot rules for a zone (map id), or the default rules if it has none
+     */
+    public ZoneLoot getZone(String zoneId) {
+        ZoneLoot zone = zoneId != null ? zones.get(zoneId) : null;
+        return zone != null ? zone : defaultZone;
+    }
+    
+    /**
+     * Generate drops from a defeated enemy, outside of any zone
      * @param maxDropCapacity Maximum number of different items that can drop
      * @return List of dropped items
      */
     public List<DroppedItem> generateDrops(int maxDropCapacity) {
+        return generateDrops(maxDropCapacity, null, 1, null);
+    }
+    
+    /**
+     * Generate drops from a defeated enemy
+     * @param maxDropCapacity Maximum number of different items that can drop
+     * @param zoneId Map the enemy died on
+     * @param monsterLevel Level of the enemy
+     * @param isQuestActive Tells which of the zone's guaranteed quest drops apply (may be null)
+     * @return List of dropped items
+     */
+    public List<DroppedItem> generateDrops(int maxDropCapacity, String zoneId, int monsterLevel,
+                                           Predicate<String> isQuestActive) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         boolean isLuckyDrop = random.nextDouble() < LUCKY_DROP_CHANCE;
         
+        // Weights for this zone and level were worked out on the first kill
+        CompiledLoot loot = getZone(zoneId).getCompiled(dropTable, monsterLevel);
+        
         List<DroppedItem> drops = new ArrayList<>();
         
         if (isLuckyDrop) {
             // Lucky drop: give all possible drops at maximum quantities
-            drops.addAll(generateLuckyDrops());
+            drops.addAll(generateLuckyDrops(loot));
         } else {
             // Regular drop: random items less than max capacity
             int numDrops = random.nextInt(1, maxDropCapacity);
-            drops.addAll(generateRegularDrops(numDrops));
+            drops.addAll(generateRegularDrops(loot, numDrops));
+        }
+        
+        if (isQuestActive != null) {
+            addGuaranteedDrops(loot, isQuestActive, drops);
         }
         
         return drops;
@@ -56,16 +108,11 @@ public class DropSystem {
     /**
      * Generate lucky drops - all possible items with maximum quantities
      */
-    private List<DroppedItem> generateLuckyDrops() {
+    private List<DroppedItem> generateLuckyDrops(CompiledLoot loot) {
         List<DroppedItem> drops = new ArrayList<>();
         
-        for (DropRarity rarity : DropRarity.values()) {
-            if (rarity == DropRarity.MYTHIC) continue; // Skip mythic for now
-            
-            List<DropItem> items = dropTable.getItemsForRarity(rarity);
-            for (DropItem item : items) {
-                drops.add(new DroppedItem(item, item.getMaxQuantity()));
-            }
+        for (DropItem item : loot.getLuckyItems()) {
+            drops.add(new DroppedItem(item, item.getMaxQuantity()));
         }
         
         return drops;
@@ -74,63 +121,47 @@ public class DropSystem {
     /**
      * Generate regular drops with random selection
      */
-    private List<DroppedItem> generateRegularDrops(int numDrops) {
+    private List<DroppedItem> generateRegularDrops(CompiledLoot loot, int numDrops) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         List<DroppedItem> drops = new ArrayList<>();
-        Set<DropItem> selectedItems = new HashSet<>();
         
-        for (int i = 0; i < numDrops; i++) {
-            DropRarity selectedRarity = rollRarity();
-            List<DropItem> availableItems = dropTable.getItemsForRarity(selectedRarity);
-            
-            if (availableItems.isEmpty()) {
-                i--; // Try again if no items available
-                continue;
-            }
-            
-            // Select a random item from the rarity tier
-            DropItem selectedItem = availableItems.get(random.nextInt(availableItems.size()));
-            
-            // Avoid duplicate items in the same drop
-            if (selectedItems.contains(selectedItem)) {
-                i--;
-                continue;
-            }
-            
-            selectedItems.add(selectedItem);
-            
-            // Random quantity between min and max (exclusive of max for regular drops)
-            int quantity;
-            if (selectedItem.getMaxQuantity() > selectedItem.getMinQuantity()) {
-                quantity = random.nextInt(selectedItem.getMinQuantity(), selectedItem.getMaxQuantity());
-            } else {
-                quantity = selectedItem.getMinQuantity();
-            }
-            
-            drops.add(new DroppedItem(selectedItem, quantity));
+        // Rarity-weighted, no duplicate items in the same drop
+        for (DropItem selectedItem : loot.getSampler().sampleDistinct(numDrops, random)) {
+            drops.add(new DroppedItem(selectedItem, rollQuantity(selectedItem, random)));
         }
         
         return drops;
     }
     
     /**
-     * Roll for item rarity based on weighted probabilities
+     * Add the zone's quest drops for active quests, unless the item
+     * already dropped
      */
-    private DropRarity rollRarity() {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        double roll = random.nextDouble();
-        double cumulative = 0.0;
-        
-        // Roll through rarities from most common to rarest
-        for (DropRarity rarity : DropRarity.values()) {
-            if (rarity == DropRarity.MYTHIC) continue; // Skip mythic for now
-            cumulative += rarity.getDropChance();
-            if (roll <= cumulative) {
-                return rarity;
+    private void addGuaranteedDrops(CompiledLoot loot, Predicate<String> isQuestActive,
+                                    List<DroppedItem> drops) {
+        for (int i = 0; i < loot.getGuaranteedCount(); i++) {
+            if (!isQuestActive.test(loot.getGuaranteedQuest(i))) continue;
+            
+            DropItem item = loot.getGuaranteedItem(i);
+            boolean dropped = false;
+            for (DroppedItem drop : drops) {
+                if (drop.getDropTemplate().equals(item)) {
+                    dropped = true;
+                    break;
+                }
+            }
+            if (!dropped) {
+                drops.add(new DroppedItem(item, rollQuantity(item, ThreadLocalRandom.current())));
             }
         }
-        
-        return DropRarity.COMMON; // Fallback
+    }
+    
+    // Random quantity between min and max (exclusive of max for regular drops)
+    private static int rollQuantity(DropItem item, ThreadLocalRandom random) {
+        if (item.getMaxQuantity() > item.getMinQuantity()) {
+            return random.nextInt(item.getMinQuantity(), item.getMaxQuantity());
+        }
+        return item.getMinQuantity();
     }
     
     /**
@@ -10,6 +10,9 @@ import dev.main.item.ItemManager;
 public class DropTable {
     private final Map<DropRarity, List<DropItem>> itemsByRarity;
     
+    // Bumped whenever the items change, so compiled zone tables rebuild
+    private int revision;
+    
     public DropTable() {
         itemsByRarity = new EnumMap<>(DropRarity.class);
         initializeDrops();
@@ -57,7 +60,7 @@ public class DropTable {
      * Get all items for a specific rarity tier
      */
     public List<DropItem> getItemsForRarity(DropRarity rarity) {
-        return itemsByRarity.getOrDefault(rarity, Collections.emptyList());
+        return Collections.unmodifiableList(itemsByRarity.getOrDefault(rarity, Collections.emptyList()));
     }
     
     /**
@@ -76,5 +79,51 @@ public class DropTable {
      */
     public void addItem(DropItem item) {
         itemsByRarity.get(item.getRarity()).add(item);
+        revision++;
+    }
+    
+    int getRevision() {
+        return revision;
+    }
+    
+    /**
+     * This table's items plus the zone's extra drops, weighted for a
+     * regular drop: each tier's drop chance split evenly across its items,
+     * then scaled by the zone multiplier and the level modifier. Rolls past
+     * the last tier count as COMMON; MYTHIC doesn't drop yet, and empty
+     * tiers are never picked.
+     */
+    DropSampler buildSampler(ZoneLoot zone, int monsterLevel) {
+        List<DropItem> items = new ArrayList<>();
+        int[] tierSizes = new int[DropRarity.values().length];
+        double leftover = 1.0;
+        for (DropRarity rarity : DropRarity.values()) {
+            if (rarity == DropRarity.MYTHIC) continue; // Skip mythic for now
+            for (DropItem item : getItemsForRarity(rarity)) {
+                items.add(item);
+                tierSizes[rarity.ordinal()]++;
+            }
+            // Zone drops that are already monster drops keep the monster's
+            for (DropItem extra : zone.getExtraDrops()) {
+                if (extra.getRarity() == rarity && !items.contains(extra)) {
+                    items.add(extra);
+                    tierSizes[rarity.ordinal()]++;
+                }
+            }
+            leftover -= rarity.getDropChance();
+        }
+        
+        double[] weights = new double[items.size()];
+        for (int i = 0; i < weights.length; i++) {
+            DropItem item = items.get(i);
+            DropRarity rarity = item.getRarity();
+            double chance = rarity.getDropChance();
+            if (rarity == DropRarity.COMMON) {
+                chance += Math.max(0, leftover);
+            }
+            weights[i] = chance / tierSizes[rarity.ordinal()] *
+                         zone.getMultiplier(item) * rarity.getLevelModifier(monsterLevel);
+        }
+        return new DropSampler(items, weights);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package dev.main.drops;
+
+/**
+ * How rich a zone's loot is. Each zone gets one tier, which scales the
+ * monsters' base drop weights from common to epic (legendary and mythic
+ * are left alone) and how often Verdant Shards show up.
+ */
+public enum LootTier {
+    //      common  rare  epic  verdant shard
+    TIER_1(1.00, 1.00, 1.00, 1.0),   // Starting zones: base table as is
+    TIER_2(0.90, 1.15, 1.25, 1.5),
+    TIER_3(0.80, 1.30, 1.50, 2.0),
+    TIER_4(0.70, 1.50, 1.80, 3.0);
+
+    private final double commonMultiplier;
+    private final double rareMultiplier;
+    private final double epicMultiplier;
+    private final double verdantShardMultiplier;
+
+    LootTier(double commonMultiplier, double rareMultiplier, double epicMultiplier,
+             double verdantShardMultiplier) {
+        this.commonMultiplier = commonMultiplier;
+        this.rareMultiplier = rareMultiplier;
+        this.epicMultiplier = epicMultiplier;
+        this.verdantShardMultiplier = verdantShardMultiplier;
+    }
+
+    /**
+     * ZoneMultiplier for a rarity tier
+     */
+    public double getMultiplier(DropRarity rarity) {
+        switch (rarity) {
+            case COMMON: return commonMultiplier;
+            case RARE:   return rareMultiplier;
+            case EPIC:   return epicMultiplier;
+            default:     return 1.0;
+        }
+    }
+
+    public double getVerdantShardMultiplier() {
+        return verdantShardMultiplier;
+    }
+}
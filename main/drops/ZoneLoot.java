@@ -0,0 +1,104 @@
+package dev.main.drops;
+
+import java.util.*;
+
+/**
+ * Loot rules of one zone (map): its loot tier, per-item multipliers, the
+ * zone's own extra drops and quest drops that are guaranteed while the
+ * quest is active.
+ *
+ * Merging all of that with a monster's base table is done once per
+ * (base table, monster level) and kept, so a kill only samples a
+ * precomputed table. Changing the zone or the base table's items makes
+ * the kept tables rebuild on next use.
+ */
+public class ZoneLoot {
+    private final String zoneId;
+    private final LootTier lootTier;
+    private final Map<String, Double> itemMultipliers = new HashMap<>();
+    private final List<DropItem> extraDrops = new ArrayList<>();
+    private final Map<String, DropItem> guaranteedDrops = new LinkedHashMap<>();  // quest id -> item
+
+    // Compiled tables per base table, indexed by clamped monster level
+    private final Map<DropTable, CompiledLoot[]> compiled = new IdentityHashMap<>();
+
+    public ZoneLoot(String zoneId, LootTier lootTier) {
+        this.zoneId = zoneId;
+        this.lootTier = lootTier;
+        if (lootTier.getVerdantShardMultiplier() != 1.0) {
+            itemMultipliers.put("Verdant Shard", lootTier.getVerdantShardMultiplier());
+        }
+    }
+
+    public String getZoneId() {
+        return zoneId;
+    }
+
+    public LootTier getLootTier() {
+        return lootTier;
+    }
+
+    /**
+     * Scale one item's drop weight in this zone, on top of the tier
+     * multiplier (0 keeps it from dropping here)
+     */
+    public void setItemMultiplier(String itemName, double multiplier) {
+        itemMultipliers.put(itemName, multiplier);
+        compiled.clear();
+    }
+
+    /**
+     * Add a zone exclusive drop. It shares its rarity tier's chance with
+     * the monster's own items of that rarity.
+     */
+    public void addExtraDrop(DropItem item) {
+        extraDrops.add(item);
+        compiled.clear();
+    }
+
+    /**
+     * Drop this item on every kill in the zone while the quest is active
+     */
+    public void addGuaranteedDrop(String questId, DropItem item) {
+        guaranteedDrops.put(questId, item);
+        compiled.clear();
+    }
+
+    public List<DropItem> getExtraDrops() {
+        return Collections.unmodifiableList(extraDrops);
+    }
+
+    public Map<String, DropItem> getGuaranteedDrops() {
+        return Collections.unmodifiableMap(guaranteedDrops);
+    }
+
+    /**
+     * ZoneMultiplier for an item: its tier's multiplier times any
+     * per-item multiplier
+     */
+    public double getMultiplier(DropItem item) {
+        return lootTier.getMultiplier(item.getRarity()) *
+               itemMultipliers.getOrDefault(item.getItemName(), 1.0);
+    }
+
+    /**
+     * The base table merged with this zone for a monster level, built on
+     * first use
+     */
+    CompiledLoot getCompiled(DropTable base, int monsterLevel) {
+        int level = Math.max(1, Math.min(DropRarity.MAX_LEVEL_BONUS, monsterLevel));
+
+        CompiledLoot[] levels = compiled.get(base);
+        if (levels == null) {
+            levels = new CompiledLoot[DropRarity.MAX_LEVEL_BONUS + 1];
+            compiled.put(base, levels);
+        }
+
+        CompiledLoot loot = levels[level];
+        if (loot == null || loot.getBaseRevision() != base.getRevision()) {
+            loot = new CompiledLoot(base.buildSampler(this, level), guaranteedDrops, base.getRevision());
+            levels[level] = loot;
+        }
+        return loot;
+    }
+}
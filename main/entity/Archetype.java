@@ -0,0 +1,127 @@
+package dev.main.entity;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+import dev.main.input.Component;
+
+/**
+ * All entities that have exactly the same set of component types.
+ *
+ * Components are stored column-wise: one dense, correctly typed array per
+ * component type, indexed by row. Systems walk a column directly instead of
+ * doing a map lookup and cast per entity.
+ */
+public final class Archetype {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    final long mask;
+    private final ComponentType[] types;
+    private final int[] columnIndex = new int[ComponentType.MAX_TYPES];  // -1 = not in archetype
+    private final Component[][] columns;
+
+    private Entity[] entities;
+    private int size;
+
+    Archetype(long mask) {
+        this.mask = mask;
+        this.types = new ComponentType[Long.bitCount(mask)];
+        this.columns = new Component[types.length][];
+        Arrays.fill(columnIndex, -1);
+
+        int c = 0;
+        for (int id = 0; id < ComponentType.MAX_TYPES; id++) {
+            if ((mask & (1L << id)) != 0) {
+                ComponentType type = ComponentType.byId(id);
+                types[c] = type;
+                columnIndex[id] = c;
+                columns[c] = (Component[]) Array.newInstance(type.type, INITIAL_CAPACITY);
+                c++;
+            }
+        }
+        this.entities = new Entity[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Append an entity and return its row. Component slots are filled by the caller.
+     */
+    int add(Entity entity) {
+        if (size == entities.length) {
+            int newCapacity = entities.length * 2;
+            entities = Arrays.copyOf(entities, newCapacity);
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], newCapacity);
+            }
+        }
+        entities[size] = entity;
+        return size++;
+    }
+
+    /**
+     * Swap-remove a row. Returns the entity that was moved into the freed
+     * row, or null if the last row was removed.
+     */
+    Entity remove(int row) {
+        int last = --size;
+        Entity moved = null;
+
+        if (row != last) {
+            moved = entities[last];
+            entities[row] = moved;
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][row] = columns[c][last];
+            }
+        }
+
+        entities[last] = null;
+        for (int c = 0; c < columns.length; c++) {
+            columns[c][last] = null;
+        }
+        return moved;
+    }
+
+    Component get(int row, int typeId) {
+        int c = columnIndex[typeId];
+        return c < 0 ? null : columns[c][row];
+    }
+
+    void set(int row, int typeId, Component component) {
+        columns[columnIndex[typeId]][row] = component;
+    }
+
+    boolean has(int typeId) {
+        return columnIndex[typeId] >= 0;
+    }
+
+    ComponentType[] types() {
+        return types;
+    }
+
+    public boolean matches(long required) {
+        return (mask & required) == required;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Entity entity(int row) {
+        return entities[row];
+    }
+
+    /**
+     * Dense column for a component type. Only the first size() slots are valid.
+     * Returns null if this archetype doesn't hold that type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T[] column(Class<T> type) {
+        int c = columnIndex[ComponentType.of(type).id];
+        return c < 0 ? null : (T[]) columns[c];
+    }
+
+    @Override
+    public String toString() {
+        return "Archetype" + Arrays.toString(types) + " x" + size;
+    }
+}
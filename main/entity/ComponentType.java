@@ -0,0 +1,68 @@
+package dev.main.entity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.main.input.Component;
+
+/**
+ * Small dense ID per component class, used to index archetype columns
+ * and build signature bitmasks.
+ */
+public final class ComponentType {
+
+    public static final int MAX_TYPES = 64;  // signature is a single long
+
+    private static final AtomicInteger nextId = new AtomicInteger();
+    private static final ComponentType[] byId = new ComponentType[MAX_TYPES];
+
+    private static final ClassValue<ComponentType> TYPES = new ClassValue<ComponentType>() {
+        @Override
+        protected ComponentType computeValue(Class<?> type) {
+            return register(type);
+        }
+    };
+
+    public final Class<?> type;
+    public final int id;
+    public final long bit;
+
+    private ComponentType(Class<?> type, int id) {
+        this.type = type;
+        this.id = id;
+        this.bit = 1L << id;
+    }
+
+    private static synchronized ComponentType register(Class<?> type) {
+        if (!Component.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(type.getName() + " is not a Component");
+        }
+        int id = nextId.getAndIncrement();
+        if (id >= MAX_TYPES) {
+            throw new IllegalStateException("Too many component types (max " + MAX_TYPES + ")");
+        }
+        ComponentType ct = new ComponentType(type, id);
+        byId[id] = ct;
+        return ct;
+    }
+
+    public static ComponentType of(Class<?> type) {
+        return TYPES.get(type);
+    }
+
+    static ComponentType byId(int id) {
+        return byId[id];
+    }
+
+    public static long maskOf(Class<?>... types) {
+        long mask = 0L;
+        for (Class<?> type : types) {
+            mask |= of(type).bit;
+        }
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + "#" + id;
+    }
+}
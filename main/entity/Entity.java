@@ -1,34 +1,50 @@
 package dev.main.entity;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.main.input.Component;
 
 public class Entity {
 
-    private static int nextID = 0;
+    // Atomic: headless servers may spawn entities from several simulation threads
+    private static final AtomicInteger nextID = new AtomicInteger();
     
     public final int ID;
     private String name;
     private EntityType type;  // NEW
     
-    private final Map<Class<? extends Component>, Component> components = new HashMap<>();
+    // Storage: while attached to a world's EntityStore the components live in
+    // archetype columns; before that (and after removal) they live here.
+    Map<Class<? extends Component>, Component> detached = new HashMap<>();
+    EntityStore store;
+    Archetype archetype;
+    int row = -1;
+    
+    // Index of this entity in each Query's list (by Query.id), -1 = not a member
+    private int[] querySlots = EMPTY_SLOTS;
+    private static final int[] EMPTY_SLOTS = new int[0];
+    
+    // Bucket in the world's SpatialGrid (valid while inGrid)
+    long gridCell;
+    boolean inGrid;
 
     public Entity() {
-        this.ID = nextID++;
+        this.ID = nextID.getAndIncrement();
         this.name = "Entity_" + ID;
         this.type = EntityType.PLAYER;
     }
     
     public Entity(String name) {
-        this.ID = nextID++;
+        this.ID = nextID.getAndIncrement();
         this.name = name;
         this.type = EntityType.PLAYER;
     }
     
     public Entity(String name, EntityType type) {
-        this.ID = nextID++;
+        this.ID = nextID.getAndIncrement();
         this.name = name;
         this.type = type;
     }
@@ -38,25 +54,51 @@ public class Entity {
         this.name = name;
         this.type = EntityType.PLAYER;
         
-        if (id >= nextID) {
-            nextID = id + 1;
-        }
+        nextID.accumulateAndGet(id + 1, Math::max);
     }
 
     public <T extends Component> void addComponent(T component) {
-        components.put(component.getClass(), component);
+        if (store != null) {
+            store.addComponent(this, component);
+        } else {
+            detached.put(component.getClass(), component);
+        }
     }
 
+    @SuppressWarnings("unchecked")
     public <T extends Component> T getComponent(Class<T> type) {
-        return type.cast(components.get(type));
+        if (archetype != null) {
+            return (T) archetype.get(row, ComponentType.of(type).id);
+        }
+        return type.cast(detached.get(type));
     }
 
     public <T extends Component> void removeComponent(Class<T> type) {
-        components.remove(type);
+        if (store != null) {
+            store.removeComponent(this, ComponentType.of(type));
+        } else {
+            detached.remove(type);
+        }
     }
 
     public <T extends Component> boolean hasComponent(Class<T> type) {
-        return components.containsKey(type);
+        if (archetype != null) {
+            return archetype.has(ComponentType.of(type).id);
+        }
+        return detached.containsKey(type);
+    }
+
+    int getQuerySlot(int queryId) {
+        return queryId < querySlots.length ? querySlots[queryId] : -1;
+    }
+
+    void setQuerySlot(int queryId, int slot) {
+        if (queryId >= querySlots.length) {
+            int oldLength = querySlots.length;
+            querySlots = Arrays.copyOf(querySlots, queryId + 4);
+            Arrays.fill(querySlots, oldLength, querySlots.length, -1);
+        }
+        querySlots[queryId] = slot;
     }
 
     public int getID() {
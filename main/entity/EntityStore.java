@@ -0,0 +1,223 @@
+package dev.main.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.main.input.Component;
+
+/**
+ * Archetype-based component storage for one world.
+ *
+ * Entities are attached when they enter the world and detached when they
+ * leave; while attached, Entity.getComponent/addComponent are served from
+ * the archetype columns. Adding or removing a component moves the entity
+ * to the archetype for its new component set.
+ *
+ * Iterate with archetypes(...): walk each matching archetype's columns from
+ * 0 to size(). Fetch columns again after any structural change, since
+ * archetypes grow by reallocating.
+ *
+ * Systems that work per entity use query(...), a live entity list that is
+ * kept up to date on every attach, detach and component add/remove.
+ */
+public class EntityStore {
+
+    private final Map<Long, Archetype> archetypes = new HashMap<>();
+    private final List<Archetype> archetypeList = new ArrayList<>();
+
+    // Matching archetypes per required mask, extended as archetypes appear
+    private final Map<Long, List<Archetype>> matchCache = new HashMap<>();
+
+    // Live entity views, updated whenever an entity's component set changes
+    private final Map<Long, Query> queries = new HashMap<>();
+    private final List<Query> queryList = new ArrayList<>();
+
+    /**
+     * Move an entity's components into this store.
+     */
+    public void attach(Entity entity) {
+        if (entity.store == this) return;
+        if (entity.store != null) {
+            entity.store.detach(entity);
+        }
+
+        Map<Class<? extends Component>, Component> local = entity.detached;
+        long mask = 0L;
+        for (Class<? extends Component> type : local.keySet()) {
+            mask |= ComponentType.of(type).bit;
+        }
+
+        Archetype archetype = archetypeFor(mask);
+        int row = archetype.add(entity);
+        for (Component component : local.values()) {
+            archetype.set(row, ComponentType.of(component.getClass()).id, component);
+        }
+
+        entity.store = this;
+        entity.archetype = archetype;
+        entity.row = row;
+        entity.detached = null;
+
+        for (Query query : queryList) {
+            if (query.matches(mask)) {
+                query.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Move an entity's components back onto the entity so it keeps working
+     * after leaving the world (spawn points, targets etc. may still hold it).
+     */
+    public void detach(Entity entity) {
+        if (entity.store != this) return;
+
+        Archetype archetype = entity.archetype;
+        Map<Class<? extends Component>, Component> local = new HashMap<>();
+        for (ComponentType type : archetype.types()) {
+            Component component = archetype.get(entity.row, type.id);
+            local.put(component.getClass(), component);
+        }
+        removeRow(archetype, entity.row);
+
+        for (Query query : queryList) {
+            if (query.matches(archetype.mask)) {
+                query.remove(entity);
+            }
+        }
+
+        entity.store = null;
+        entity.archetype = null;
+        entity.row = -1;
+        entity.detached = local;
+    }
+
+    void addComponent(Entity entity, Component component) {
+        ComponentType type = ComponentType.of(component.getClass());
+        Archetype from = entity.archetype;
+
+        if (from.has(type.id)) {
+            from.set(entity.row, type.id, component);
+            return;
+        }
+
+        Archetype to = archetypeFor(from.mask | type.bit);
+        int newRow = moveRow(entity, from, to);
+        to.set(newRow, type.id, component);
+    }
+
+    void removeComponent(Entity entity, ComponentType type) {
+        Archetype from = entity.archetype;
+        if (!from.has(type.id)) return;
+
+        Archetype to = archetypeFor(from.mask & ~type.bit);
+        moveRow(entity, from, to);
+    }
+
+    private int moveRow(Entity entity, Archetype from, Archetype to) {
+        int oldRow = entity.row;
+        int newRow = to.add(entity);
+        for (ComponentType t : to.types()) {
+            if (from.has(t.id)) {
+                to.set(newRow, t.id, from.get(oldRow, t.id));
+            }
+        }
+        removeRow(from, oldRow);
+
+        entity.archetype = to;
+        entity.row = newRow;
+
+        for (Query query : queryList) {
+            boolean was = query.matches(from.mask);
+            boolean now = query.matches(to.mask);
+            if (was != now) {
+                if (now) {
+                    query.add(entity);
+                } else {
+                    query.remove(entity);
+                }
+            }
+        }
+        return newRow;
+    }
+
+    private void removeRow(Archetype archetype, int row) {
+        Entity moved = archetype.remove(row);
+        if (moved != null) {
+            moved.row = row;
+        }
+    }
+
+    private Archetype archetypeFor(long mask) {
+        Archetype archetype = archetypes.get(mask);
+        if (archetype == null) {
+            archetype = new Archetype(mask);
+            archetypes.put(mask, archetype);
+            archetypeList.add(archetype);
+
+            for (Map.Entry<Long, List<Archetype>> e : matchCache.entrySet()) {
+                if (archetype.matches(e.getKey())) {
+                    e.getValue().add(archetype);
+                }
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * All archetypes that contain every one of the given component types.
+     * The returned list is live and grows as new archetypes are created;
+     * callers must not modify it.
+     */
+    public List<Archetype> archetypes(long required) {
+        List<Archetype> matching = matchCache.get(required);
+        if (matching == null) {
+            matching = new ArrayList<>();
+            for (Archetype archetype : archetypeList) {
+                if (archetype.matches(required)) {
+                    matching.add(archetype);
+                }
+            }
+            matchCache.put(required, matching);
+        }
+        return matching;
+    }
+
+    public List<Archetype> archetypes(Class<?>... required) {
+        return archetypes(ComponentType.maskOf(required));
+    }
+
+    /**
+     * Live view of all attached entities that have every one of the given
+     * components. Repeated calls with the same component set return the same
+     * Query, so systems can either keep it in a field or look it up per tick.
+     */
+    public Query query(Class<?>... required) {
+        long mask = ComponentType.maskOf(required);
+        Query query = queries.get(mask);
+        if (query == null) {
+            query = new Query(this, queryList.size(), mask);
+            for (Archetype archetype : archetypes(mask)) {
+                for (int i = 0, n = archetype.size(); i < n; i++) {
+                    query.add(archetype.entity(i));
+                }
+            }
+            queries.put(mask, query);
+            queryList.add(query);
+        }
+        return query;
+    }
+
+    /**
+     * Number of attached entities that have all the given components.
+     */
+    public int count(Class<?>... required) {
+        int total = 0;
+        for (Archetype archetype : archetypes(required)) {
+            total += archetype.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package dev.main.entity;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Live set of attached entities that have all of a given set of components.
+ *
+ * Obtained from EntityStore.query(...) (or GameState.query(...)); the same
+ * instance is returned for the same component set. Membership is updated by
+ * the store as entities are attached/detached and as components are added or
+ * removed, so a system never re-filters the whole entity list.
+ *
+ * Iterate with an index loop (0..size()) in hot paths. Entities whose
+ * membership changes during the loop are swap-removed, so a loop that may
+ * remove the current entity from the query should walk backwards.
+ */
+public final class Query implements Iterable<Entity> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    final int id;            // slot in Entity.querySlots
+    final long mask;
+    private final EntityStore store;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int size;
+
+    Query(EntityStore store, int id, long mask) {
+        this.store = store;
+        this.id = id;
+        this.mask = mask;
+    }
+
+    void add(Entity entity) {
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+        }
+        entity.setQuerySlot(id, size);
+        entities[size++] = entity;
+    }
+
+    void remove(Entity entity) {
+        int slot = entity.getQuerySlot(id);
+        if (slot < 0) return;
+
+        int last = --size;
+        if (slot != last) {
+            Entity moved = entities[last];
+            entities[slot] = moved;
+            moved.setQuerySlot(id, slot);
+        }
+        entities[last] = null;
+        entity.setQuerySlot(id, -1);
+    }
+
+    boolean matches(long componentMask) {
+        return (componentMask & mask) == mask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Entity get(int index) {
+        return entities[index];
+    }
+
+    public boolean contains(Entity entity) {
+        return entity.store == store && entity.getQuerySlot(id) >= 0;
+    }
+
+    /**
+     * Matching archetypes, for systems that want to walk component columns
+     * instead of entities.
+     */
+    public List<Archetype> archetypes() {
+        return store.archetypes(mask);
+    }
+
+    @Override
+    public Iterator<Entity> iterator() {
+        return new Iterator<Entity>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Entity next() {
+                if (next >= size) throw new NoSuchElementException();
+                return entities[next++];
+            }
+        };
+    }
+}
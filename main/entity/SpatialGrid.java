@@ -0,0 +1,169 @@
+package dev.main.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.main.input.Position;
+import dev.main.tile.TileMap;
+
+/**
+ * Uniform spatial hash of entity positions, one cell per map tile.
+ *
+ * Entities are bucketed by the tile their Position is in. Call update()
+ * whenever a Position changes; it only touches the buckets when the entity
+ * actually crosses into another tile. Range queries then cost O(nearby)
+ * instead of a scan over every entity in the world.
+ *
+ * Queries append into a caller-supplied list so hot paths can reuse one.
+ */
+public class SpatialGrid {
+
+    public static final int CELL_SIZE = TileMap.TILE_SIZE;
+
+    private final Map<Long, List<Entity>> cells = new HashMap<>();
+    private int count;
+
+    public static int cellOf(float worldCoord) {
+        return (int) Math.floor(worldCoord / CELL_SIZE);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Start tracking an entity. Entities without a Position are ignored.
+     */
+    public void insert(Entity entity) {
+        Position pos = entity.getComponent(Position.class);
+        if (pos == null || entity.inGrid) return;
+
+        long cell = key(cellOf(pos.x), cellOf(pos.y));
+        cells.computeIfAbsent(cell, k -> new ArrayList<>(4)).add(entity);
+        entity.gridCell = cell;
+        entity.inGrid = true;
+        count++;
+    }
+
+    public void remove(Entity entity) {
+        if (!entity.inGrid) return;
+
+        List<Entity> bucket = cells.get(entity.gridCell);
+        if (bucket != null) {
+            removeFrom(bucket, entity);
+            if (bucket.isEmpty()) {
+                cells.remove(entity.gridCell);
+            }
+        }
+        entity.inGrid = false;
+        count--;
+    }
+
+    /**
+     * Re-bucket an entity after its Position changed.
+     */
+    public void update(Entity entity, Position pos) {
+        if (!entity.inGrid) return;
+
+        long cell = key(cellOf(pos.x), cellOf(pos.y));
+        if (cell == entity.gridCell) return;
+
+        List<Entity> bucket = cells.get(entity.gridCell);
+        if (bucket != null) {
+            removeFrom(bucket, entity);
+            if (bucket.isEmpty()) {
+                cells.remove(entity.gridCell);
+            }
+        }
+        cells.computeIfAbsent(cell, k -> new ArrayList<>(4)).add(entity);
+        entity.gridCell = cell;
+    }
+
+    public void update(Entity entity) {
+        Position pos = entity.getComponent(Position.class);
+        if (pos != null) {
+            update(entity, pos);
+        }
+    }
+
+    // Swap-remove: order inside a cell doesn't matter
+    private static void removeFrom(List<Entity> bucket, Entity entity) {
+        int i = bucket.indexOf(entity);
+        if (i < 0) return;
+        int last = bucket.size() - 1;
+        bucket.set(i, bucket.get(last));
+        bucket.remove(last);
+    }
+
+    /**
+     * Entities whose Position lies inside the given world rectangle (inclusive).
+     */
+    public List<Entity> queryRect(float left, float top, float right, float bottom, List<Entity> out) {
+        int minCX = cellOf(left), maxCX = cellOf(right);
+        int minCY = cellOf(top), maxCY = cellOf(bottom);
+
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                List<Entity> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+
+                boolean inner = cx > minCX && cx < maxCX && cy > minCY && cy < maxCY;
+                for (int i = 0, n = bucket.size(); i < n; i++) {
+                    Entity entity = bucket.get(i);
+                    if (inner) {
+                        out.add(entity);
+                        continue;
+                    }
+                    Position pos = entity.getComponent(Position.class);
+                    if (pos.x >= left && pos.x <= right && pos.y >= top && pos.y <= bottom) {
+                        out.add(entity);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Entities whose Position is within radius of (x, y).
+     */
+    public List<Entity> queryRadius(float x, float y, float radius, List<Entity> out) {
+        int minCX = cellOf(x - radius), maxCX = cellOf(x + radius);
+        int minCY = cellOf(y - radius), maxCY = cellOf(y + radius);
+        float radiusSq = radius * radius;
+
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                List<Entity> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+
+                for (int i = 0, n = bucket.size(); i < n; i++) {
+                    Entity entity = bucket.get(i);
+                    Position pos = entity.getComponent(Position.class);
+                    float dx = pos.x - x;
+                    float dy = pos.y - y;
+                    if (dx * dx + dy * dy <= radiusSq) {
+                        out.add(entity);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Cheap broad-phase: false if the two points are more than cellRange
+     * cells apart on either axis, so the exact distance can't be within
+     * cellRange * CELL_SIZE.
+     */
+    public static boolean withinCells(float x1, float y1, float x2, float y2, int cellRange) {
+        return Math.abs(cellOf(x1) - cellOf(x2)) <= cellRange &&
+               Math.abs(cellOf(y1) - cellOf(y2)) <= cellRange;
+    }
+
+    public int size() {
+        return count;
+    }
+}
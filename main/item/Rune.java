@@ -178,6 +178,7 @@ public class Rune {
         
         pos.x = returnX;
         pos.y = returnY;
+        gameState.getSpatialGrid().update(caster, pos);
         
         // Visual effect
         spawnTeleportEffect(caster, gameState);
@@ -199,6 +200,7 @@ public class Rune {
         
         pos.x = spawnX;
         pos.y = spawnY;
+        gameState.getSpatialGrid().update(caster, pos);
         
         // Visual effect
         spawnTeleportEffect(caster, gameState);
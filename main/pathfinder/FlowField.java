@@ -0,0 +1,292 @@
+package dev.main.pathfinder;
+
+import java.util.Arrays;
+
+import dev.main.input.CollisionBox;
+import dev.main.tile.TileMap;
+
+/**
+ * Dijkstra map (integration field) toward one goal tile.
+ *
+ * Built once with a reverse Dijkstra from the goal over a square window of
+ * RADIUS tiles around it, using the same movement rules as Pathfinder:
+ * straight/diagonal costs, no corner cutting, and the collision box must
+ * fit at every tile entered. Any number of entities can then read their
+ * next step in O(1) with nextStep(), or a full path with pathFrom().
+ *
+ * Tiles outside the window (or cut off inside it) are unreachable; callers
+ * fall back to a regular findPath for those.
+ */
+public class FlowField {
+
+    public static final int RADIUS = 40;
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    private static final float DIAGONAL_COST = 1.414f;
+    private static final float STRAIGHT_COST = 1.0f;
+
+    // Neighbour order: N, S, E, W, NE, SE, SW, NW
+    private static final int[] DIR_X = { 0, 0, 1, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { -1, 1, 0, 0, -1, 1, 1, -1 };
+
+    private static final byte WALKABLE = 1;    // tile not solid
+    private static final byte OCCUPIABLE = 2;  // collision box fits at tile center
+
+    private final TileMap map;
+
+    // Cache key: requested tile and box shape
+    private int keyX, keyY;
+    private float boxOffsetX, boxOffsetY, boxWidth, boxHeight;
+    private boolean hasBox;
+
+    // Goal actually used (the requested tile, or the nearest tile the box fits)
+    private int goalX, goalY;
+
+    // Window origin in tile coordinates
+    private int originX, originY;
+
+    private final float[] dist = new float[SIZE * SIZE];
+    private final byte[] flags = new byte[SIZE * SIZE];
+
+    // Dijkstra heap (window indices), only used while building
+    private final int[] heap = new int[SIZE * SIZE];
+    private final int[] heapIndex = new int[SIZE * SIZE];
+    private int heapSize;
+
+    FlowField(TileMap map) {
+        this.map = map;
+    }
+
+    boolean matches(int keyX, int keyY, CollisionBox box) {
+        if (this.keyX != keyX || this.keyY != keyY) return false;
+        if (box == null) return !hasBox;
+        return hasBox && box.offsetX == boxOffsetX && box.offsetY == boxOffsetY &&
+               box.width == boxWidth && box.height == boxHeight;
+    }
+
+    /**
+     * (Re)build the field for a goal tile and collision box. keyX/keyY is the
+     * tile callers asked for, used only for cache matching.
+     */
+    void build(int keyX, int keyY, int goalX, int goalY, CollisionBox box) {
+        this.keyX = keyX;
+        this.keyY = keyY;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.hasBox = box != null;
+        if (box != null) {
+            boxOffsetX = box.offsetX;
+            boxOffsetY = box.offsetY;
+            boxWidth = box.width;
+            boxHeight = box.height;
+        }
+
+        originX = goalX - RADIUS;
+        originY = goalY - RADIUS;
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+
+        for (int ly = 0; ly < SIZE; ly++) {
+            for (int lx = 0; lx < SIZE; lx++) {
+                int tx = originX + lx;
+                int ty = originY + ly;
+                byte f = 0;
+                if (!map.isSolid(tx, ty)) {
+                    f = WALKABLE;
+                    if (fits(box, tx, ty)) f |= OCCUPIABLE;
+                }
+                flags[ly * SIZE + lx] = f;
+            }
+        }
+
+        int goal = RADIUS * SIZE + RADIUS;
+        if ((flags[goal] & OCCUPIABLE) == 0) {
+            return;  // nothing can stand on the goal; every query falls back
+        }
+
+        dist[goal] = 0;
+        heapSize = 0;
+        push(goal);
+
+        while (heapSize > 0) {
+            int b = pop();
+            int bx = b % SIZE;
+            int by = b / SIZE;
+
+            // Relax every tile a that can step onto b
+            for (int d = 0; d < 8; d++) {
+                int ax = bx - DIR_X[d];
+                int ay = by - DIR_Y[d];
+                if (!walkable(ax, ay)) continue;
+
+                boolean diagonal = d >= 4;
+                if (diagonal && !(walkable(bx, ay) && walkable(ax, by))) continue;
+
+                int a = ay * SIZE + ax;
+                float cost = dist[b] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                if (cost < dist[a]) {
+                    boolean queued = dist[a] != Float.POSITIVE_INFINITY;
+                    dist[a] = cost;
+                    // A tile the box doesn't fit on can be a start tile,
+                    // but nothing may path through it
+                    if ((flags[a] & OCCUPIABLE) != 0) {
+                        if (queued) siftUp(heapIndex[a]);
+                        else push(a);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Next tile to step to from (tileX, tileY), written to out[0], out[1].
+     * Returns false if the tile is the goal or can't reach it.
+     */
+    public boolean nextStep(int tileX, int tileY, int[] out) {
+        int lx = tileX - originX;
+        int ly = tileY - originY;
+        if (!inWindow(lx, ly) || dist[ly * SIZE + lx] == Float.POSITIVE_INFINITY) return false;
+        if (tileX == goalX && tileY == goalY) return false;
+
+        int best = -1;
+        float bestCost = Float.POSITIVE_INFINITY;
+        for (int d = 0; d < 8; d++) {
+            int nx = lx + DIR_X[d];
+            int ny = ly + DIR_Y[d];
+            if (!inWindow(nx, ny)) continue;
+
+            int n = ny * SIZE + nx;
+            if ((flags[n] & OCCUPIABLE) == 0) continue;
+
+            boolean diagonal = d >= 4;
+            if (diagonal && !(walkable(nx, ly) && walkable(lx, ny))) continue;
+
+            float cost = dist[n] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = n;
+            }
+        }
+        if (best < 0) return false;
+
+        out[0] = originX + best % SIZE;
+        out[1] = originY + best / SIZE;
+        return true;
+    }
+
+    /**
+     * Full path from (tileX, tileY) to the goal in Pathfinder's compact
+     * {x0, y0, x1, y1, ...} form (start tile included), or null if the
+     * goal can't be reached inside the window.
+     */
+    public int[] pathFrom(int tileX, int tileY) {
+        if (!isReachable(tileX, tileY)) return null;
+
+        int[] step = new int[2];
+        int length = 1;
+        for (int x = tileX, y = tileY; nextStep(x, y, step); x = step[0], y = step[1]) {
+            length++;
+        }
+
+        int[] path = new int[length * 2];
+        path[0] = tileX;
+        path[1] = tileY;
+        int i = 2;
+        for (int x = tileX, y = tileY; nextStep(x, y, step); x = step[0], y = step[1]) {
+            path[i++] = step[0];
+            path[i++] = step[1];
+        }
+        return path;
+    }
+
+    public int getGoalX() {
+        return goalX;
+    }
+
+    public int getGoalY() {
+        return goalY;
+    }
+
+    public boolean isReachable(int tileX, int tileY) {
+        int lx = tileX - originX;
+        int ly = tileY - originY;
+        return inWindow(lx, ly) && dist[ly * SIZE + lx] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Path cost from (tileX, tileY) to the goal, or +Infinity.
+     */
+    public float costFrom(int tileX, int tileY) {
+        int lx = tileX - originX;
+        int ly = tileY - originY;
+        return inWindow(lx, ly) ? dist[ly * SIZE + lx] : Float.POSITIVE_INFINITY;
+    }
+
+    private static boolean inWindow(int lx, int ly) {
+        return lx >= 0 && lx < SIZE && ly >= 0 && ly < SIZE;
+    }
+
+    private boolean walkable(int lx, int ly) {
+        return inWindow(lx, ly) && (flags[ly * SIZE + lx] & WALKABLE) != 0;
+    }
+
+    private boolean fits(CollisionBox box, int tileX, int tileY) {
+        if (box == null) return true;
+        float worldX = tileX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+        float worldY = tileY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+        return !map.collidesWithTiles(box, worldX, worldY);
+    }
+
+    // ========================================
+    // BINARY MIN-HEAP ON dist
+    // ========================================
+
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapIndex[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        float f = dist[node];
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            int pNode = heap[p];
+            if (dist[pNode] <= f) break;
+            heap[i] = pNode;
+            heapIndex[pNode] = i;
+            i = p;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        float f = dist[node];
+        int half = heapSize >> 1;
+        while (i < half) {
+            int c = (i << 1) + 1;
+            int r = c + 1;
+            if (r < heapSize && dist[heap[r]] < dist[heap[c]]) c = r;
+            int cNode = heap[c];
+            if (f <= dist[cNode]) break;
+            heap[i] = cNode;
+            heapIndex[cNode] = i;
+            i = c;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+}
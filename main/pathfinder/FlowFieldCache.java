@@ -0,0 +1,90 @@
+package dev.main.pathfinder;
+
+import dev.main.input.CollisionBox;
+import dev.main.tile.TileMap;
+
+/**
+ * Shared flow fields for entities heading to the same tile (chasers).
+ *
+ * One field per (goal tile, collision box shape) is built on first use and
+ * reused until a request names a different goal tile, so twenty goblins
+ * chasing one player cost one Dijkstra per player tile change instead of
+ * twenty A* searches every repath. Fields are recycled least-recently-used.
+ */
+public class FlowFieldCache {
+
+    private static final int MAX_FIELDS = 4;
+
+    private final Pathfinder pathfinder;
+    private final FlowField[] fields;
+    private final long[] lastUsed;
+    private int count;
+    private long useCounter;
+
+    // Stats (debug)
+    private int builds;
+
+    public FlowFieldCache(TileMap map, Pathfinder pathfinder) {
+        this.pathfinder = pathfinder;
+        this.fields = new FlowField[MAX_FIELDS];
+        this.lastUsed = new long[MAX_FIELDS];
+        for (int i = 0; i < MAX_FIELDS; i++) {
+            fields[i] = new FlowField(map);
+        }
+    }
+
+    /**
+     * Field toward (goalX, goalY) for entities with the given collision box
+     * (null = point-sized). The goal is adjusted exactly like findPath does
+     * when the box doesn't fit there. Returns null if there is no usable goal.
+     */
+    public FlowField get(int goalX, int goalY, CollisionBox box) {
+        for (int i = 0; i < count; i++) {
+            if (fields[i].matches(goalX, goalY, box)) {
+                lastUsed[i] = ++useCounter;
+                return fields[i];
+            }
+        }
+
+        int[] resolved = resolveGoal(goalX, goalY, box);
+        if (resolved == null) {
+            return null;
+        }
+
+        int slot;
+        if (count < MAX_FIELDS) {
+            slot = count++;
+        } else {
+            slot = 0;
+            for (int i = 1; i < MAX_FIELDS; i++) {
+                if (lastUsed[i] < lastUsed[slot]) slot = i;
+            }
+        }
+
+        FlowField field = fields[slot];
+        field.build(goalX, goalY, resolved[0], resolved[1], box);
+        lastUsed[slot] = ++useCounter;
+        builds++;
+        return field;
+    }
+
+    /**
+     * Drop every field, e.g. after the collision map changed.
+     */
+    public void invalidate() {
+        count = 0;
+    }
+
+    public int getBuildCount() {
+        return builds;
+    }
+
+    private int[] resolveGoal(int goalX, int goalY, CollisionBox box) {
+        if (box != null) {
+            pathfinder.setCollisionBox(box);
+        }
+        int[] resolved = pathfinder.resolveGoal(goalX, goalY);
+        pathfinder.clearCollisionBox();
+        return resolved;
+    }
+}
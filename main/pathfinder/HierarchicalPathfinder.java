@@ -0,0 +1,625 @@
+package dev.main.pathfinder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import dev.main.tile.TileMap;
+
+/**
+ * HPA*: hierarchical pathfinding over CLUSTER_SIZE x CLUSTER_SIZE tile
+ * clusters, for long-range queries on big maps.
+ *
+ * Each border between two clusters is scanned for runs of tiles that are
+ * walkable on both sides; every run becomes one entrance (two for wide
+ * runs). The entrance tiles are the abstract graph's nodes, linked across
+ * the border (cost 1) and to every other node of the same cluster by the
+ * cost of the best path inside the cluster. A query searches that small
+ * graph and then refines each hop with the regular Pathfinder (using its
+ * current collision box and mode), so only short local searches touch
+ * the tile grid.
+ *
+ * The abstract graph uses plain tile solidity. If a refined hop fails
+ * (e.g. a corridor too narrow for the collision box) the query falls back
+ * to one flat search. Call invalidateTile() after changing a tile's
+ * collision; only the clusters and borders around it are rebuilt, lazily
+ * on the next query.
+ */
+public class HierarchicalPathfinder {
+
+    public static final int CLUSTER_SIZE = 16;
+
+    /** Queries closer than this (in tiles, either axis) go straight to the flat search */
+    public static final int MIN_DISTANCE = CLUSTER_SIZE * 2;
+
+    // Runs at least this long get an entrance at each end instead of the middle
+    private static final int WIDE_ENTRANCE = 6;
+
+    private static final float DIAGONAL_COST = 1.414f;
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float INF = Float.POSITIVE_INFINITY;
+
+    private static final int[] DIR_X = { 0, 0, 1, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { -1, 1, 0, 0, -1, 1, 1, -1 };
+    private static final int[] EMPTY = new int[0];
+
+    private final TileMap map;
+    private final Pathfinder pathfinder;
+
+    private int width, height;
+    private int clustersX, clustersY;
+    private Cluster[] clusters;
+
+    // Entrance tile pairs {a0, b0, a1, b1, ...} per border, packed y * width + x.
+    // east[c] is between c and its east neighbour, south[c] between c and the one below.
+    private int[][] eastEntrances, southEntrances;
+    private boolean[] eastDirty, southDirty, clusterDirty;
+    private boolean anyDirty;
+
+    // Abstract search state, indexed by tile; the last two slots are the
+    // virtual start and goal nodes
+    private float[] gCost;
+    private int[] parent;
+    private int[] stamp;
+    private int[] closedStamp;
+    private int generation;
+    private int[] heapNode = new int[64];
+    private float[] heapKey = new float[64];
+    private int heapSize;
+
+    // Cluster-local Dijkstra scratch
+    private final float[] localDist = new float[CLUSTER_SIZE * CLUSTER_SIZE];
+    private int[] localHeapNode = new int[CLUSTER_SIZE * CLUSTER_SIZE * 2];
+    private float[] localHeapKey = new float[CLUSTER_SIZE * CLUSTER_SIZE * 2];
+    private int localHeapSize;
+
+    // Nodes expanded by the last abstract search (debug/benchmark)
+    private int lastExpanded;
+
+    private static final class Cluster {
+        int x0, y0, x1, y1;        // tile bounds, exclusive max
+        int[] nodes = EMPTY;       // entrance tiles in this cluster
+        int[][] partners;          // per node: tiles across a border
+        float[] dist;              // nodes x nodes path costs inside the cluster
+    }
+
+    public HierarchicalPathfinder(TileMap map, Pathfinder pathfinder) {
+        this.map = map;
+        this.pathfinder = pathfinder;
+    }
+
+    /**
+     * Find a path like Pathfinder.findPath. Uses the flat search directly for
+     * short queries and as a fallback when the abstract route can't be refined.
+     */
+    public List<int[]> findPath(int startX, int startY, int goalX, int goalY) {
+        return Pathfinder.toWaypoints(findPathCompact(startX, startY, goalX, goalY));
+    }
+
+    public int[] findPathCompact(int startX, int startY, int goalX, int goalY) {
+        int[] resolved = pathfinder.resolveGoal(goalX, goalY);
+        if (resolved == null || !inBounds(resolved[0], resolved[1])) {
+            return null;
+        }
+        goalX = resolved[0];
+        goalY = resolved[1];
+
+        if (Math.max(Math.abs(goalX - startX), Math.abs(goalY - startY)) < MIN_DISTANCE ||
+            !inBounds(startX, startY)) {
+            return pathfinder.findPathCompact(startX, startY, goalX, goalY);
+        }
+
+        build();
+        int[] route = abstractSearch(startX, startY, goalX, goalY);
+        if (route != null) {
+            int[] path = refine(startX, startY, route);
+            if (path != null) {
+                return path;
+            }
+        }
+        return pathfinder.findPathCompact(startX, startY, goalX, goalY);
+    }
+
+    /**
+     * Mark a tile's collision as changed. The clusters and borders it
+     * touches are rebuilt on the next query.
+     */
+    public void invalidateTile(int tileX, int tileY) {
+        if (clusters == null || !inBounds(tileX, tileY)) return;
+
+        int cx = tileX / CLUSTER_SIZE;
+        int cy = tileY / CLUSTER_SIZE;
+        int c = cy * clustersX + cx;
+        clusterDirty[c] = true;
+
+        if (tileX % CLUSTER_SIZE == 0 && cx > 0) {
+            eastDirty[c - 1] = true;
+            clusterDirty[c - 1] = true;
+        }
+        if (tileX % CLUSTER_SIZE == CLUSTER_SIZE - 1 && cx < clustersX - 1) {
+            eastDirty[c] = true;
+            clusterDirty[c + 1] = true;
+        }
+        if (tileY % CLUSTER_SIZE == 0 && cy > 0) {
+            southDirty[c - clustersX] = true;
+            clusterDirty[c - clustersX] = true;
+        }
+        if (tileY % CLUSTER_SIZE == CLUSTER_SIZE - 1 && cy < clustersY - 1) {
+            southDirty[c] = true;
+            clusterDirty[c + clustersX] = true;
+        }
+        anyDirty = true;
+    }
+
+    /**
+     * Throw away all cluster data (e.g. after loading a different map).
+     */
+    public void invalidateAll() {
+        clusters = null;
+    }
+
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    // ========================================
+    // BUILD
+    // ========================================
+
+    /**
+     * Build the cluster and entrance graph, or bring it up to date after
+     * invalidateTile(). Queries do this themselves, but the first full build
+     * scans the whole map, so call it while the map loads rather than leave
+     * it to the first long query on the tick thread.
+     */
+    public void build() {
+        if (clusters == null || width != map.getWidth() || height != map.getHeight()) {
+            allocate();
+        }
+        if (!anyDirty) return;
+
+        int count = clustersX * clustersY;
+        for (int c = 0; c < count; c++) {
+            if (eastDirty[c]) {
+                eastEntrances[c] = scanBorder(c, true);
+                eastDirty[c] = false;
+            }
+            if (southDirty[c]) {
+                southEntrances[c] = scanBorder(c, false);
+                southDirty[c] = false;
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            if (clusterDirty[c]) {
+                buildCluster(c);
+                clusterDirty[c] = false;
+            }
+        }
+        anyDirty = false;
+    }
+
+    private void allocate() {
+        width = map.getWidth();
+        height = map.getHeight();
+        clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        clustersY = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+
+        int count = clustersX * clustersY;
+        clusters = new Cluster[count];
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                Cluster cluster = new Cluster();
+                cluster.x0 = cx * CLUSTER_SIZE;
+                cluster.y0 = cy * CLUSTER_SIZE;
+                cluster.x1 = Math.min(cluster.x0 + CLUSTER_SIZE, width);
+                cluster.y1 = Math.min(cluster.y0 + CLUSTER_SIZE, height);
+                clusters[cy * clustersX + cx] = cluster;
+            }
+        }
+
+        eastEntrances = new int[count][];
+        southEntrances = new int[count][];
+        eastDirty = new boolean[count];
+        southDirty = new boolean[count];
+        clusterDirty = new boolean[count];
+        for (int c = 0; c < count; c++) {
+            eastDirty[c] = c % clustersX < clustersX - 1;
+            southDirty[c] = c / clustersX < clustersY - 1;
+            eastEntrances[c] = EMPTY;
+            southEntrances[c] = EMPTY;
+        }
+        Arrays.fill(clusterDirty, true);
+        anyDirty = true;
+
+        int size = width * height + 2;
+        gCost = new float[size];
+        parent = new int[size];
+        stamp = new int[size];
+        closedStamp = new int[size];
+        generation = 0;
+    }
+
+    /**
+     * Entrances on the border between cluster c and its east (or south)
+     * neighbour, as tile pairs {inside c, across}.
+     */
+    private int[] scanBorder(int c, boolean east) {
+        Cluster cluster = clusters[c];
+        int[] pairs = new int[CLUSTER_SIZE * 4];
+        int count = 0;
+
+        int length = east ? cluster.y1 - cluster.y0 : cluster.x1 - cluster.x0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = false;
+            if (i < length) {
+                int ax = east ? cluster.x1 - 1 : cluster.x0 + i;
+                int ay = east ? cluster.y0 + i : cluster.y1 - 1;
+                open = canMove(ax, ay) && canMove(east ? ax + 1 : ax, east ? ay : ay + 1);
+            }
+
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= WIDE_ENTRANCE) {
+                    count = addEntrance(pairs, count, cluster, east, runStart);
+                    count = addEntrance(pairs, count, cluster, east, runEnd);
+                } else {
+                    count = addEntrance(pairs, count, cluster, east, (runStart + runEnd) / 2);
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private int addEntrance(int[] pairs, int count, Cluster cluster, boolean east, int i) {
+        int ax = east ? cluster.x1 - 1 : cluster.x0 + i;
+        int ay = east ? cluster.y0 + i : cluster.y1 - 1;
+        pairs[count++] = ay * width + ax;
+        pairs[count++] = east ? ay * width + ax + 1 : (ay + 1) * width + ax;
+        return count;
+    }
+
+    private void buildCluster(int c) {
+        Cluster cluster = clusters[c];
+        int cx = c % clustersX;
+        int cy = c / clustersX;
+
+        // Collect this cluster's side of every entrance on its four borders
+        int[] nodes = new int[CLUSTER_SIZE * 8];
+        int[] across = new int[CLUSTER_SIZE * 8];
+        int count = 0;
+        count = collect(eastEntrances[c], 0, nodes, across, count);
+        count = collect(southEntrances[c], 0, nodes, across, count);
+        if (cx > 0) count = collect(eastEntrances[c - 1], 1, nodes, across, count);
+        if (cy > 0) count = collect(southEntrances[c - clustersX], 1, nodes, across, count);
+
+        // Merge duplicates (a corner tile can be on two borders)
+        int[] unique = new int[count];
+        int[][] partners = new int[count][];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int existing = indexOf(unique, n, nodes[i]);
+            if (existing < 0) {
+                unique[n] = nodes[i];
+                partners[n] = new int[]{across[i]};
+                n++;
+            } else {
+                int[] p = partners[existing];
+                p = Arrays.copyOf(p, p.length + 1);
+                p[p.length - 1] = across[i];
+                partners[existing] = p;
+            }
+        }
+
+        cluster.nodes = Arrays.copyOf(unique, n);
+        cluster.partners = Arrays.copyOf(partners, n);
+        cluster.dist = new float[n * n];
+
+        for (int i = 0; i < n; i++) {
+            clusterDijkstra(cluster, cluster.nodes[i]);
+            for (int j = 0; j < n; j++) {
+                cluster.dist[i * n + j] = localDist[localIndex(cluster, cluster.nodes[j])];
+            }
+        }
+    }
+
+    private static int collect(int[] pairs, int side, int[] nodes, int[] across, int count) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            nodes[count] = pairs[i + side];
+            across[count] = pairs[i + 1 - side];
+            count++;
+        }
+        return count;
+    }
+
+    private static int indexOf(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    // ========================================
+    // QUERY
+    // ========================================
+
+    /**
+     * Search the abstract graph. Returns the entrance tiles to pass through
+     * followed by the goal tile, or null if no route exists in the graph.
+     */
+    private int[] abstractSearch(int startX, int startY, int goalX, int goalY) {
+        int startVirtual = width * height;
+        int goalVirtual = startVirtual + 1;
+        int goal = goalY * width + goalX;
+
+        Cluster startCluster = clusterOf(startX, startY);
+        Cluster goalCluster = clusterOf(goalX, goalY);
+
+        // Costs from the goal to each entrance of its cluster (moves are symmetric)
+        clusterDijkstra(goalCluster, goal);
+        float[] goalNodeDist = new float[goalCluster.nodes.length];
+        for (int i = 0; i < goalNodeDist.length; i++) {
+            goalNodeDist[i] = localDist[localIndex(goalCluster, goalCluster.nodes[i])];
+        }
+
+        clusterDijkstra(startCluster, startY * width + startX);
+
+        int gen = nextGeneration();
+        heapSize = 0;
+        lastExpanded = 0;
+
+        stamp[startVirtual] = gen;
+        gCost[startVirtual] = 0;
+        parent[startVirtual] = -1;
+        closedStamp[startVirtual] = gen;
+        for (int node : startCluster.nodes) {
+            relax(startVirtual, node, localDist[localIndex(startCluster, node)], gen, goalX, goalY);
+        }
+
+        while (heapSize > 0) {
+            float key = heapKey[0];
+            int current = popHeap();
+            if (closedStamp[current] == gen) continue;  // stale heap entry
+            if (key > gCost[current] + heuristicOf(current, goalVirtual, goalX, goalY) + 1e-4f) continue;
+            closedStamp[current] = gen;
+            lastExpanded++;
+
+            if (current == goalVirtual) {
+                return reconstruct(goalVirtual, startVirtual, goal);
+            }
+
+            Cluster cluster = clusterOf(current % width, current / width);
+            int n = cluster.nodes.length;
+            int i = indexOf(cluster.nodes, n, current);
+
+            for (int j = 0; j < n; j++) {
+                if (j != i) {
+                    relax(current, cluster.nodes[j], cluster.dist[i * n + j], gen, goalX, goalY);
+                }
+            }
+            for (int across : cluster.partners[i]) {
+                relax(current, across, STRAIGHT_COST, gen, goalX, goalY);
+            }
+            if (cluster == goalCluster) {
+                relax(current, goalVirtual, goalNodeDist[i], gen, goalX, goalY);
+            }
+        }
+        return null;
+    }
+
+    private void relax(int from, int to, float edgeCost, int gen, int goalX, int goalY) {
+        if (edgeCost == INF || closedStamp[to] == gen) return;
+
+        float g = gCost[from] + edgeCost;
+        if (stamp[to] != gen || g < gCost[to]) {
+            stamp[to] = gen;
+            gCost[to] = g;
+            parent[to] = from;
+            pushHeap(to, g + heuristicOf(to, width * height + 1, goalX, goalY));
+        }
+    }
+
+    private float heuristicOf(int node, int goalVirtual, int goalX, int goalY) {
+        if (node >= goalVirtual - 1) return 0;
+        return STRAIGHT_COST * Math.max(Math.abs(node % width - goalX), Math.abs(node / width - goalY));
+    }
+
+    private int[] reconstruct(int goalVirtual, int startVirtual, int goal) {
+        int length = 0;
+        for (int n = parent[goalVirtual]; n != startVirtual; n = parent[n]) {
+            length++;
+        }
+        int[] route = new int[length + 1];
+        route[length] = goal;
+        int i = length;
+        for (int n = parent[goalVirtual]; n != startVirtual; n = parent[n]) {
+            route[--i] = n;
+        }
+        return route;
+    }
+
+    /**
+     * Turn the abstract route into tiles with local searches. Each hop starts
+     * where the previous one actually ended (the collision box may have moved
+     * an intermediate goal).
+     */
+    private int[] refine(int startX, int startY, int[] route) {
+        int[] path = new int[64];
+        int length = 0;
+        int x = startX;
+        int y = startY;
+
+        for (int waypoint : route) {
+            int wx = waypoint % width;
+            int wy = waypoint / width;
+            if (wx == x && wy == y) continue;
+
+            int[] segment = pathfinder.findPathCompact(x, y, wx, wy);
+            if (segment == null) {
+                return null;
+            }
+
+            // Skip the segment's first tile, except for the very first one
+            int from = length == 0 ? 0 : 2;
+            int needed = length + segment.length - from;
+            if (needed > path.length) {
+                path = Arrays.copyOf(path, Math.max(needed, path.length * 2));
+            }
+            System.arraycopy(segment, from, path, length, segment.length - from);
+            length = needed;
+
+            x = segment[segment.length - 2];
+            y = segment[segment.length - 1];
+        }
+        return length == 0 ? new int[]{startX, startY} : Arrays.copyOf(path, length);
+    }
+
+    // ========================================
+    // CLUSTER-LOCAL DIJKSTRA
+    // ========================================
+
+    /**
+     * Costs from source to every tile of the cluster, moving only inside it,
+     * into localDist (indexed by localIndex). Same move rules as Pathfinder.
+     */
+    private void clusterDijkstra(Cluster cluster, int source) {
+        Arrays.fill(localDist, INF);
+        int cw = cluster.x1 - cluster.x0;
+
+        int s = localIndex(cluster, source);
+        localDist[s] = 0;
+        localHeapSize = 0;
+        pushLocal(s, 0);
+
+        while (localHeapSize > 0) {
+            float d = localHeapKey[0];
+            int current = popLocal();
+            if (d > localDist[current]) continue;
+
+            int lx = current % CLUSTER_SIZE;
+            int ly = current / CLUSTER_SIZE;
+            int tx = cluster.x0 + lx;
+            int ty = cluster.y0 + ly;
+
+            for (int dir = 0; dir < 8; dir++) {
+                int nx = lx + DIR_X[dir];
+                int ny = ly + DIR_Y[dir];
+                if (nx < 0 || ny < 0 || nx >= cw || ny >= cluster.y1 - cluster.y0) continue;
+                if (!canMove(cluster.x0 + nx, cluster.y0 + ny)) continue;
+
+                boolean diagonal = dir >= 4;
+                if (diagonal && !(canMove(cluster.x0 + nx, ty) && canMove(tx, cluster.y0 + ny))) continue;
+
+                int next = ny * CLUSTER_SIZE + nx;
+                float cost = d + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                if (cost < localDist[next]) {
+                    localDist[next] = cost;
+                    pushLocal(next, cost);
+                }
+            }
+        }
+    }
+
+    private int localIndex(Cluster cluster, int tile) {
+        return (tile / width - cluster.y0) * CLUSTER_SIZE + (tile % width - cluster.x0);
+    }
+
+    private Cluster clusterOf(int tileX, int tileY) {
+        return clusters[(tileY / CLUSTER_SIZE) * clustersX + tileX / CLUSTER_SIZE];
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < map.getWidth() && y >= 0 && y < map.getHeight();
+    }
+
+    private boolean canMove(int x, int y) {
+        return inBounds(x, y) && !map.isSolid(x, y);
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    // ========================================
+    // HEAPS (lazy deletion: duplicates allowed, stale entries skipped)
+    // ========================================
+
+    private void pushHeap(int node, float key) {
+        if (heapSize == heapNode.length) {
+            heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (heapKey[p] <= key) break;
+            heapNode[i] = heapNode[p];
+            heapKey[i] = heapKey[p];
+            i = p;
+        }
+        heapNode[i] = node;
+        heapKey[i] = key;
+    }
+
+    private int popHeap() {
+        int top = heapNode[0];
+        int lastNode = heapNode[--heapSize];
+        float lastKey = heapKey[heapSize];
+        int i = 0;
+        int half = heapSize >> 1;
+        while (i < half) {
+            int c = (i << 1) + 1;
+            if (c + 1 < heapSize && heapKey[c + 1] < heapKey[c]) c++;
+            if (lastKey <= heapKey[c]) break;
+            heapNode[i] = heapNode[c];
+            heapKey[i] = heapKey[c];
+            i = c;
+        }
+        heapNode[i] = lastNode;
+        heapKey[i] = lastKey;
+        return top;
+    }
+
+    private void pushLocal(int node, float key) {
+        if (localHeapSize == localHeapNode.length) {
+            localHeapNode = Arrays.copyOf(localHeapNode, localHeapSize * 2);
+            localHeapKey = Arrays.copyOf(localHeapKey, localHeapSize * 2);
+        }
+        int i = localHeapSize++;
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (localHeapKey[p] <= key) break;
+            localHeapNode[i] = localHeapNode[p];
+            localHeapKey[i] = localHeapKey[p];
+            i = p;
+        }
+        localHeapNode[i] = node;
+        localHeapKey[i] = key;
+    }
+
+    private int popLocal() {
+        int top = localHeapNode[0];
+        int lastNode = localHeapNode[--localHeapSize];
+        float lastKey = localHeapKey[localHeapSize];
+        int i = 0;
+        int half = localHeapSize >> 1;
+        while (i < half) {
+            int c = (i << 1) + 1;
+            if (c + 1 < localHeapSize && localHeapKey[c + 1] < localHeapKey[c]) c++;
+            if (lastKey <= localHeapKey[c]) break;
+            localHeapNode[i] = localHeapNode[c];
+            localHeapKey[i] = localHeapKey[c];
+            i = c;
+        }
+        localHeapNode[i] = lastNode;
+        localHeapKey[i] = lastKey;
+        return top;
+    }
+}
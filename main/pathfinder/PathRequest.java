@@ -0,0 +1,40 @@
+package dev.main.pathfinder;
+
+import dev.main.entity.Entity;
+
+/**
+ * A queued path search for one entity. Instances are pooled by
+ * PathRequestQueue; don't keep references after the result is delivered.
+ */
+public class PathRequest {
+
+    /** What the path is for, so a stale result can be recognised and dropped */
+    public enum Kind {
+        CHASE,
+        ROAM,
+        RETURN
+    }
+
+    public Entity entity;
+    public Kind kind;
+    public int startX, startY;
+    public int goalX, goalY;
+
+    // Cancelled while queued: skipped and recycled when it reaches the front
+    boolean cancelled;
+
+    void set(Entity entity, Kind kind, int startX, int startY, int goalX, int goalY) {
+        this.entity = entity;
+        this.kind = kind;
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.goalY = goalY;
+    }
+
+    void clear() {
+        entity = null;
+        kind = null;
+        cancelled = false;
+    }
+}
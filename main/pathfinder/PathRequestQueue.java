@@ -0,0 +1,86 @@
+package dev.main.pathfinder;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.main.entity.Entity;
+
+/**
+ * FIFO of pending path searches, at most one per entity.
+ *
+ * AI states enqueue a request instead of searching inline; the simulation
+ * drains the queue once per tick within a time budget, so a tick where many
+ * monsters repath at once spreads the work over the next few ticks instead
+ * of blowing the frame. A newer request for the same entity replaces the
+ * older one in place. A cancelled request is only flagged; it leaves the
+ * queue when it reaches the front, so cancelling is O(1).
+ */
+public class PathRequestQueue {
+
+    private final ArrayDeque<PathRequest> queue = new ArrayDeque<>();
+    private final Map<Entity, PathRequest> pending = new HashMap<>();
+    private final ArrayDeque<PathRequest> pool = new ArrayDeque<>();
+
+    public void request(Entity entity, PathRequest.Kind kind, int startX, int startY, int goalX, int goalY) {
+        PathRequest request = pending.get(entity);
+        if (request == null) {
+            request = pool.isEmpty() ? new PathRequest() : pool.pop();
+            pending.put(entity, request);
+            queue.addLast(request);
+        }
+        request.set(entity, kind, startX, startY, goalX, goalY);
+    }
+
+    /**
+     * Drop an entity's pending request, if any.
+     */
+    public void cancel(Entity entity) {
+        PathRequest request = pending.remove(entity);
+        if (request != null) {
+            request.cancelled = true;
+        }
+    }
+
+    /**
+     * Drop every pending request (e.g. after a map swap).
+     */
+    public void clear() {
+        PathRequest request;
+        while ((request = queue.pollFirst()) != null) {
+            recycle(request);
+        }
+        pending.clear();
+    }
+
+    public boolean isPending(Entity entity) {
+        return pending.containsKey(entity);
+    }
+
+    /**
+     * Next request to run, or null. Hand it back with recycle() once its
+     * result has been delivered.
+     */
+    public PathRequest poll() {
+        PathRequest request;
+        while ((request = queue.pollFirst()) != null && request.cancelled) {
+            recycle(request);
+        }
+        if (request != null) {
+            pending.remove(request.entity);
+        }
+        return request;
+    }
+
+    public void recycle(PathRequest request) {
+        request.clear();
+        pool.push(request);
+    }
+
+    /**
+     * Requests still waiting to run (cancelled ones don't count)
+     */
+    public int size() {
+        return pending.size();
+    }
+}
@@ -1,6 +1,8 @@
 package dev.main.pathfinder;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import dev.main.input.CollisionBox;
 import dev.main.tile.TileMap;
@@ -8,130 +10,450 @@ import dev.main.tile.TileMap;
 /**
  * ★ IMPROVED: Collision-box-aware pathfinding
  * Now checks if the ENTIRE collision box fits, not just the center point
+ *
+ * A* runs on flat arrays indexed by y * width + x with a binary min-heap
+ * (with decrease-key). Per-tile state is only valid when its stamp equals
+ * the current search generation, so nothing is cleared or allocated
+ * between searches except the result.
+ *
+ * Mode.JUMP_POINT runs Jump Point Search over the same arrays. It returns
+ * the same tile-by-tile paths but only queues jump points, which cuts the
+ * number of expanded nodes by orders of magnitude on long open paths.
+ * Its pruning only holds when a tile is walkable exactly when the entity
+ * fits on it, so with a collision box reaching past its own tile the
+ * search falls back to A*.
  */
 public class Pathfinder {
-    
+
     private TileMap map;
     private CollisionBox entityCollisionBox; // ★ NEW: Store entity's collision box
-    
+
+    // Tiles the box covers, relative to the tile it's centred on
+    private int footprintLeft, footprintTop, footprintRight, footprintBottom;
+    private Mode mode = Mode.ASTAR;
+
     private static final float DIAGONAL_COST = 1.414f;
     private static final float STRAIGHT_COST = 1.0f;
-    
+
+    public enum Mode {
+        ASTAR,       // expands every tile
+        JUMP_POINT   // Jump Point Search, best for long paths on open maps
+    }
+
+    // Neighbour order: N, S, E, W, NE, SE, SW, NW
+    private static final int[] DIR_X = { 0, 0, 1, -1, 1, 1, -1, -1 };
+    private static final int[] DIR_Y = { -1, 1, 0, 0, -1, 1, 1, -1 };
+
+    // Search state, sized to the map (reallocated only if the map size changes)
+    private int width, height;
+    private float[] gCost;
+    private float[] fCost;
+    private int[] parent;
+    private int[] stamp;        // == generation: gCost/parent/heapIndex valid
+    private int[] closedStamp;  // == generation: already expanded
+    private int[] heapIndex;    // position in heap, -1 when not queued
+    private int[] walkStamp;    // == generation: walkCache holds canOccupyTile
+    private boolean[] walkCache;
+    private int[] heap;
+    private int heapSize;
+    private int generation;
+
+    // Nodes expanded by the last search (debug/benchmark)
+    private int lastExpanded;
+
     public Pathfinder(TileMap map) {
         this.map = map;
     }
-    
+
     /**
      * ★ NEW: Set the collision box to use for pathfinding
      * Call this before finding a path for entities with large collision boxes
      */
     public void setCollisionBox(CollisionBox box) {
         this.entityCollisionBox = box;
+        if (box == null) return;
+
+        // Same tile range collidesWithTiles gets for a box at a tile centre
+        float half = TileMap.TILE_SIZE / 2f;
+        footprintLeft = (int) Math.floor((half + box.offsetX) / TileMap.TILE_SIZE);
+        footprintTop = (int) Math.floor((half + box.offsetY) / TileMap.TILE_SIZE);
+        footprintRight = (int) Math.floor((half + box.offsetX + box.width) / TileMap.TILE_SIZE);
+        footprintBottom = (int) Math.floor((half + box.offsetY + box.height) / TileMap.TILE_SIZE);
     }
-    
+
     /**
      * ★ NEW: Clear collision box (for simple pathfinding)
      */
     public void clearCollisionBox() {
         this.entityCollisionBox = null;
     }
-    
+
+    /**
+     * Search algorithm for following findPath calls. Both modes return
+     * optimal tile-by-tile paths and never cut corners; JUMP_POINT runs as
+     * A* while a collision box covering more than one tile is set.
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
     /**
      * ★ IMPROVED: Find path considering entity's collision box
+     * Returns tile waypoints from start to goal, or null if unreachable.
      */
     public List<int[]> findPath(int startX, int startY, int goalX, int goalY) {
-        
-        // Check if goal tile can fit the collision box
-        if (entityCollisionBox != null) {
-            float goalWorldX = goalX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
-            float goalWorldY = goalY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
-            
-            if (map.collidesWithTiles(entityCollisionBox, goalWorldX, goalWorldY)) {
-               // System.out.println("⚠ Goal tile can't fit collision box - trying nearby tiles...");
-                
-                // Try to find a nearby walkable tile
-                int[] nearbyGoal = findNearestWalkableTile(goalX, goalY, 3);
-                if (nearbyGoal != null) {
-                    goalX = nearbyGoal[0];
-                    goalY = nearbyGoal[1];
-                   // System.out.println("✓ Using nearby tile: (" + goalX + ", " + goalY + ")");
-                } else {
-                    return null; // No nearby walkable tiles
-                }
-            }
-        } else if (map.isSolid(goalX, goalY)) {
+        return toWaypoints(findPathCompact(startX, startY, goalX, goalY));
+    }
+
+    /**
+     * Same search as findPath, but returns the path as one int array of
+     * interleaved tile coordinates {x0, y0, x1, y1, ...}, or null.
+     */
+    public int[] findPathCompact(int startX, int startY, int goalX, int goalY) {
+        int[] resolved = resolveGoal(goalX, goalY);
+        if (resolved == null) {
             return null;
         }
-        
+        goalX = resolved[0];
+        goalY = resolved[1];
+
         if (startX == goalX && startY == goalY) {
-            List<int[]> path = new ArrayList<>();
-            path.add(new int[]{startX, startY});
-            return path;
+            return new int[]{startX, startY};
+        }
+
+        ensureCapacity();
+        if (startX < 0 || startX >= width || startY < 0 || startY >= height ||
+            goalX < 0 || goalX >= width || goalY < 0 || goalY >= height) {
+            return null;
         }
-        
-        PriorityQueue<PathNode> openSet = new PriorityQueue<>();
-        Set<PathNode> closedSet = new HashSet<>();
-        Map<String, PathNode> nodeMap = new HashMap<>();
-        
-        PathNode startNode = new PathNode(startX, startY);
-        PathNode goalNode = new PathNode(goalX, goalY);
-        
-        startNode.gCost = 0;
-        startNode.hCost = heuristic(startNode, goalNode);
-        startNode.calculateFCost();
-        
-        openSet.add(startNode);
-        nodeMap.put(startX + "," + startY, startNode);
-        
-        while (!openSet.isEmpty()) {
-            PathNode current = openSet.poll();
-            
-            if (current.x == goalX && current.y == goalY) {
-                return reconstructPath(current);
+
+        if (mode == Mode.JUMP_POINT && isSingleTileFootprint()) {
+            return searchJumpPoint(startX, startY, goalX, goalY);
+        }
+        return searchAStar(startX, startY, goalX, goalY);
+    }
+
+    private int[] searchAStar(int startX, int startY, int goalX, int goalY) {
+        int gen = nextGeneration();
+        int goal = goalY * width + goalX;
+        int start = startY * width + startX;
+
+        stamp[start] = gen;
+        gCost[start] = 0;
+        parent[start] = -1;
+        heapSize = 0;
+        push(start, heuristic(startX, startY, goalX, goalY));
+        lastExpanded = 0;
+
+        while (heapSize > 0) {
+            int current = pop();
+
+            if (current == goal) {
+                return reconstructPath(goal);
             }
-            
-            closedSet.add(current);
-            
-            for (Neighbor neighbor : getValidNeighbors(current.x, current.y)) {
-                int nx = neighbor.x;
-                int ny = neighbor.y;
-                
+
+            closedStamp[current] = gen;
+            lastExpanded++;
+
+            int cx = current % width;
+            int cy = current / width;
+
+            // Cardinals first; a diagonal needs both adjacent cardinals clear
+            boolean canGoNorth = canMove(cx, cy - 1);
+            boolean canGoSouth = canMove(cx, cy + 1);
+            boolean canGoEast = canMove(cx + 1, cy);
+            boolean canGoWest = canMove(cx - 1, cy);
+
+            for (int d = 0; d < 8; d++) {
+                boolean open;
+                switch (d) {
+                    case 0: open = canGoNorth; break;
+                    case 1: open = canGoSouth; break;
+                    case 2: open = canGoEast; break;
+                    case 3: open = canGoWest; break;
+                    case 4: open = canGoNorth && canGoEast; break;
+                    case 5: open = canGoSouth && canGoEast; break;
+                    case 6: open = canGoSouth && canGoWest; break;
+                    default: open = canGoNorth && canGoWest; break;
+                }
+                if (!open) continue;
+
+                int nx = cx + DIR_X[d];
+                int ny = cy + DIR_Y[d];
+                boolean diagonal = d >= 4;
+                if (diagonal && !canMove(nx, ny)) continue;
+
+                int next = ny * width + nx;
+                if (closedStamp[next] == gen) continue;
+
                 // ★ IMPROVED: Check if collision box fits at this tile
                 if (!canOccupyTile(nx, ny)) {
                     continue;
                 }
-                
-                String key = nx + "," + ny;
-                PathNode neighborNode = nodeMap.get(key);
-                
-                if (neighborNode == null) {
-                    neighborNode = new PathNode(nx, ny);
-                    nodeMap.put(key, neighborNode);
-                }
-                
-                if (closedSet.contains(neighborNode)) {
-                    continue;
+
+                float tentativeGCost = gCost[current] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+
+                if (stamp[next] != gen) {
+                    stamp[next] = gen;
+                    gCost[next] = tentativeGCost;
+                    parent[next] = current;
+                    push(next, tentativeGCost + heuristic(nx, ny, goalX, goalY));
+                } else if (tentativeGCost < gCost[next]) {
+                    gCost[next] = tentativeGCost;
+                    parent[next] = current;
+                    decreaseKey(next, tentativeGCost + heuristic(nx, ny, goalX, goalY));
                 }
-                
-                float moveCost = neighbor.isDiagonal ? DIAGONAL_COST : STRAIGHT_COST;
-                float tentativeGCost = current.gCost + moveCost;
-                
-                if (!openSet.contains(neighborNode) || tentativeGCost < neighborNode.gCost) {
-                    neighborNode.parent = current;
-                    neighborNode.gCost = tentativeGCost;
-                    neighborNode.hCost = heuristic(neighborNode, goalNode);
-                    neighborNode.calculateFCost();
-                    
-                    if (!openSet.contains(neighborNode)) {
-                        openSet.add(neighborNode);
-                    }
+            }
+        }
+
+        return null;
+    }
+
+    // ========================================
+    // JUMP POINT SEARCH
+    // ========================================
+
+    /*
+     * Variant without corner cutting: a diagonal step needs both adjacent
+     * cardinal tiles walkable, exactly like the A* neighbour rule. Only
+     * used when box fit and tile walkability are the same test (see
+     * isSingleTileFootprint); for bigger boxes A* moves between tiles the
+     * box fits on past corners it doesn't, which the jump and
+     * forced-neighbour rules can't express.
+     */
+
+    private boolean isSingleTileFootprint() {
+        return entityCollisionBox == null ||
+               (footprintLeft == 0 && footprintTop == 0 && footprintRight == 0 && footprintBottom == 0);
+    }
+
+    private int[] searchJumpPoint(int startX, int startY, int goalX, int goalY) {
+        int gen = nextGeneration();
+        int goal = goalY * width + goalX;
+        int start = startY * width + startX;
+
+        stamp[start] = gen;
+        gCost[start] = 0;
+        parent[start] = -1;
+        heapSize = 0;
+        push(start, heuristic(startX, startY, goalX, goalY));
+        lastExpanded = 0;
+
+        while (heapSize > 0) {
+            int current = pop();
+
+            if (current == goal) {
+                return expandJumpPath(goal);
+            }
+
+            closedStamp[current] = gen;
+            lastExpanded++;
+
+            int cx = current % width;
+            int cy = current / width;
+            int p = parent[current];
+
+            for (int d = 0; d < 8; d++) {
+                int dx = DIR_X[d];
+                int dy = DIR_Y[d];
+                if (!isNaturalOrForced(cx, cy, p, dx, dy)) continue;
+
+                int jump = jump(cx + dx, cy + dy, dx, dy, goalX, goalY);
+                if (jump < 0 || closedStamp[jump] == gen) continue;
+
+                int jx = jump % width;
+                int jy = jump / width;
+                float tentativeGCost = gCost[current] + octile(Math.abs(jx - cx), Math.abs(jy - cy));
+
+                if (stamp[jump] != gen) {
+                    stamp[jump] = gen;
+                    gCost[jump] = tentativeGCost;
+                    parent[jump] = current;
+                    push(jump, tentativeGCost + heuristic(jx, jy, goalX, goalY));
+                } else if (tentativeGCost < gCost[jump]) {
+                    gCost[jump] = tentativeGCost;
+                    parent[jump] = current;
+                    decreaseKey(jump, tentativeGCost + heuristic(jx, jy, goalX, goalY));
                 }
             }
         }
-        
+
         return null;
     }
-    
+
+    /**
+     * Neighbour pruning: which directions are worth jumping in from (x, y)
+     * given the direction we arrived from. The start node tries all eight.
+     */
+    private boolean isNaturalOrForced(int x, int y, int parentNode, int dx, int dy) {
+        if (dx != 0 && dy != 0 && !(walkable(x + dx, y) && walkable(x, y + dy))) {
+            return false;  // no corner cutting
+        }
+        if (parentNode < 0) {
+            return true;
+        }
+
+        int px = Integer.signum(x - parentNode % width);
+        int py = Integer.signum(y - parentNode / width);
+
+        if (px != 0 && py != 0) {
+            // Diagonal arrival: keep going diagonally or along either component
+            return (dx == px && dy == py) || (dx == px && dy == 0) || (dx == 0 && dy == py);
+        }
+        if (px != 0) {
+            // Horizontal arrival: straight on, plus the sides (which become
+            // forced when the tile behind them is blocked) and the diagonals forward
+            if (dx == px && dy == 0) return true;
+            if (dx == 0 && dy != 0) return true;
+            return dx == px;
+        }
+        // Vertical arrival
+        if (dy == py && dx == 0) return true;
+        if (dy == 0 && dx != 0) return true;
+        return dy == py;
+    }
+
+    /**
+     * Walk from (x, y) in direction (dx, dy) until hitting a wall (-1), the
+     * goal, or a jump point (a tile with a forced neighbour). Returns the
+     * tile index.
+     */
+    private int jump(int x, int y, int dx, int dy, int goalX, int goalY) {
+        while (true) {
+            if (!walkable(x, y)) return -1;
+            if (x == goalX && y == goalY) return y * width + x;
+
+            if (dx != 0 && dy != 0) {
+                // A diagonal tile is a jump point if a straight scan from it finds one
+                if (jumpStraight(x + dx, y, dx, 0, goalX, goalY) ||
+                    jumpStraight(x, y + dy, 0, dy, goalX, goalY)) {
+                    return y * width + x;
+                }
+                if (!(walkable(x + dx, y) && walkable(x, y + dy))) return -1;
+            } else if (hasForcedNeighbour(x, y, dx, dy)) {
+                return y * width + x;
+            }
+
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private boolean jumpStraight(int x, int y, int dx, int dy, int goalX, int goalY) {
+        while (true) {
+            if (!walkable(x, y)) return false;
+            if (x == goalX && y == goalY) return true;
+            if (hasForcedNeighbour(x, y, dx, dy)) return true;
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private boolean hasForcedNeighbour(int x, int y, int dx, int dy) {
+        if (dx != 0) {
+            return (walkable(x, y - 1) && !walkable(x - dx, y - 1)) ||
+                   (walkable(x, y + 1) && !walkable(x - dx, y + 1));
+        }
+        return (walkable(x - 1, y) && !walkable(x - 1, y - dy)) ||
+               (walkable(x + 1, y) && !walkable(x + 1, y - dy));
+    }
+
+    // Jump scans revisit the same tiles many times; cache the box-fit test
+    // for the duration of one search
+    private boolean walkable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int i = y * width + x;
+        if (walkStamp[i] != generation) {
+            walkStamp[i] = generation;
+            walkCache[i] = canOccupyTile(x, y);
+        }
+        return walkCache[i];
+    }
+
+    private static float octile(int dx, int dy) {
+        int diagonal = Math.min(dx, dy);
+        return DIAGONAL_COST * diagonal + STRAIGHT_COST * (Math.max(dx, dy) - diagonal);
+    }
+
+    /**
+     * Fill in the straight/diagonal runs between jump points so callers get
+     * the same tile-by-tile waypoints as from A*.
+     */
+    private int[] expandJumpPath(int goal) {
+        int length = 1;
+        for (int n = goal; parent[n] != -1; n = parent[n]) {
+            int p = parent[n];
+            length += Math.max(Math.abs(n % width - p % width), Math.abs(n / width - p / width));
+        }
+
+        int[] path = new int[length * 2];
+        int i = path.length;
+        for (int n = goal; n != -1; n = parent[n]) {
+            int x = n % width;
+            int y = n / width;
+            int p = parent[n];
+            if (p == -1) {
+                path[--i] = y;
+                path[--i] = x;
+                break;
+            }
+            int stepX = Integer.signum(p % width - x);
+            int stepY = Integer.signum(p / width - y);
+            int steps = Math.max(Math.abs(p % width - x), Math.abs(p / width - y));
+            for (int s = 0; s < steps; s++) {
+                path[--i] = y;
+                path[--i] = x;
+                x += stepX;
+                y += stepY;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Goal tile actually searched for: the requested tile, or the nearest
+     * tile within 3 inside the map where the current collision box fits.
+     * Null if none.
+     */
+    int[] resolveGoal(int goalX, int goalY) {
+        // Check if goal tile can fit the collision box
+        if (entityCollisionBox != null) {
+            float goalWorldX = goalX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+            float goalWorldY = goalY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+
+            if (!isInMap(goalX, goalY) || map.collidesWithTiles(entityCollisionBox, goalWorldX, goalWorldY)) {
+                // Try to find a nearby walkable tile
+                return findNearestWalkableTile(goalX, goalY, 3);
+            }
+        } else if (map.isSolid(goalX, goalY)) {
+            return null;
+        }
+        return new int[]{goalX, goalY};
+    }
+
+    /**
+     * Convert a compact path to the List<int[]> form used by the Path component.
+     */
+    public static List<int[]> toWaypoints(int[] compact) {
+        if (compact == null) return null;
+
+        List<int[]> path = new ArrayList<>(compact.length / 2);
+        for (int i = 0; i < compact.length; i += 2) {
+            path.add(new int[]{compact[i], compact[i + 1]});
+        }
+        return path;
+    }
+
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
     /**
      * ★ NEW: Check if entity's collision box can fit at this tile
      */
@@ -140,15 +462,20 @@ public class Pathfinder {
             // No collision box - just check if tile is solid
             return canMove(tileX, tileY);
         }
-        
-        // Convert tile to world coordinates (center of tile)
+
+        int minX = tileX + footprintLeft;
+        int minY = tileY + footprintTop;
+        if (minX >= 0 && minY >= 0) {
+            // Precomputed footprint: one clearance lookup in open areas
+            return !map.anySolid(minX, minY, tileX + footprintRight, tileY + footprintBottom);
+        }
+
+        // Near the top/left edge the world->tile truncation differs from floor
         float worldX = tileX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
         float worldY = tileY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
-        
-        // Check if collision box at this position would collide
         return !map.collidesWithTiles(entityCollisionBox, worldX, worldY);
     }
-    
+
     /**
      * ★ NEW: Find nearest walkable tile within radius
      */
@@ -156,13 +483,15 @@ public class Pathfinder {
         int bestX = -1;
         int bestY = -1;
         float bestDist = Float.MAX_VALUE;
-        
+
         for (int dy = -radius; dy <= radius; dy++) {
             for (int dx = -radius; dx <= radius; dx++) {
                 int tx = centerX + dx;
                 int ty = centerY + dy;
-                
-                if (canOccupyTile(tx, ty)) {
+
+                // collidesWithTiles truncates -1 to tile 0, so off-map
+                // tiles just above/left of the map would pass the box test
+                if (isInMap(tx, ty) && canOccupyTile(tx, ty)) {
                     float dist = (float)Math.sqrt(dx * dx + dy * dy);
                     if (dist < bestDist) {
                         bestDist = dist;
@@ -172,60 +501,21 @@ public class Pathfinder {
                 }
             }
         }
-        
+
         if (bestX == -1) return null;
         return new int[]{bestX, bestY};
     }
-    
-    private float heuristic(PathNode a, PathNode b) {
-        int dx = Math.abs(a.x - b.x);
-        int dy = Math.abs(a.y - b.y);
+
+    private float heuristic(int x, int y, int goalX, int goalY) {
+        int dx = Math.abs(x - goalX);
+        int dy = Math.abs(y - goalY);
         return STRAIGHT_COST * Math.max(dx, dy);
     }
-    
-    /**
-     * Get all valid neighbors, blocking diagonal movement through corners
-     */
-    private List<Neighbor> getValidNeighbors(int x, int y) {
-        List<Neighbor> neighbors = new ArrayList<>();
-        
-        // Check 4 cardinal directions first
-        boolean canGoNorth = canMove(x, y - 1);
-        boolean canGoSouth = canMove(x, y + 1);
-        boolean canGoEast = canMove(x + 1, y);
-        boolean canGoWest = canMove(x - 1, y);
-        
-        // Add cardinal directions
-        if (canGoNorth) neighbors.add(new Neighbor(x, y - 1, false));
-        if (canGoSouth) neighbors.add(new Neighbor(x, y + 1, false));
-        if (canGoEast) neighbors.add(new Neighbor(x + 1, y, false));
-        if (canGoWest) neighbors.add(new Neighbor(x - 1, y, false));
-        
-        // Add diagonal directions ONLY if both adjacent cardinals are passable
-        
-        // Northeast: need North AND East to be clear
-        if (canGoNorth && canGoEast && canMove(x + 1, y - 1)) {
-            neighbors.add(new Neighbor(x + 1, y - 1, true));
-        }
-        
-        // Southeast: need South AND East to be clear
-        if (canGoSouth && canGoEast && canMove(x + 1, y + 1)) {
-            neighbors.add(new Neighbor(x + 1, y + 1, true));
-        }
-        
-        // Southwest: need South AND West to be clear
-        if (canGoSouth && canGoWest && canMove(x - 1, y + 1)) {
-            neighbors.add(new Neighbor(x - 1, y + 1, true));
-        }
-        
-        // Northwest: need North AND West to be clear
-        if (canGoNorth && canGoWest && canMove(x - 1, y - 1)) {
-            neighbors.add(new Neighbor(x - 1, y - 1, true));
-        }
-        
-        return neighbors;
+
+    private boolean isInMap(int x, int y) {
+        return x >= 0 && x < map.getWidth() && y >= 0 && y < map.getHeight();
     }
-    
+
     /**
      * Check if a tile position is within bounds and not solid
      */
@@ -235,30 +525,114 @@ public class Pathfinder {
         }
         return !map.isSolid(x, y);
     }
-    
-    private List<int[]> reconstructPath(PathNode goalNode) {
-        List<int[]> path = new ArrayList<>();
-        PathNode current = goalNode;
-        
-        while (current != null) {
-            path.add(0, new int[]{current.x, current.y});
-            current = current.parent;
+
+    private int[] reconstructPath(int goal) {
+        int length = 0;
+        for (int n = goal; n != -1; n = parent[n]) {
+            length++;
+        }
+
+        int[] path = new int[length * 2];
+        int i = path.length;
+        for (int n = goal; n != -1; n = parent[n]) {
+            path[--i] = n / width;
+            path[--i] = n % width;
         }
-        
         return path;
     }
-    
-    /**
-     * Helper class to track neighbors and whether they're diagonal
-     */
-    private static class Neighbor {
-        int x, y;
-        boolean isDiagonal;
-        
-        Neighbor(int x, int y, boolean isDiagonal) {
-            this.x = x;
-            this.y = y;
-            this.isDiagonal = isDiagonal;
+
+    // ========================================
+    // SEARCH STATE
+    // ========================================
+
+    private void ensureCapacity() {
+        int w = map.getWidth();
+        int h = map.getHeight();
+        if (gCost != null && w == width && h == height) return;
+
+        width = w;
+        height = h;
+        int size = w * h;
+        gCost = new float[size];
+        fCost = new float[size];
+        parent = new int[size];
+        stamp = new int[size];
+        closedStamp = new int[size];
+        heapIndex = new int[size];
+        heap = new int[size];
+        walkStamp = new int[size];
+        walkCache = new boolean[size];
+        generation = 0;
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closedStamp, 0);
+            Arrays.fill(walkStamp, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    // ========================================
+    // BINARY MIN-HEAP ON fCost
+    // ========================================
+
+    private void push(int node, float f) {
+        fCost[node] = f;
+        heap[heapSize] = node;
+        heapIndex[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        heapIndex[top] = -1;
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void decreaseKey(int node, float f) {
+        fCost[node] = f;
+        siftUp(heapIndex[node]);
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        float f = fCost[node];
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            int pNode = heap[p];
+            if (fCost[pNode] <= f) break;
+            heap[i] = pNode;
+            heapIndex[pNode] = i;
+            i = p;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        float f = fCost[node];
+        int half = heapSize >> 1;
+        while (i < half) {
+            int c = (i << 1) + 1;
+            int r = c + 1;
+            if (r < heapSize && fCost[heap[r]] < fCost[heap[c]]) c = r;
+            int cNode = heap[c];
+            if (f <= fCost[cNode]) break;
+            heap[i] = cNode;
+            heapIndex[cNode] = i;
+            i = c;
         }
+        heap[i] = node;
+        heapIndex[node] = i;
     }
-}
\ No newline at end of file
+}
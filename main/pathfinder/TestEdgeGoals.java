@@ -0,0 +1,101 @@
+package dev.main.pathfinder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import dev.main.input.CollisionBox;
+import dev.main.tile.TileMap;
+import dev.main.util.BinaryMapLoader;
+import dev.main.util.JsonMapParser;
+import dev.main.util.MapCompiler;
+
+/**
+ * Regression check for goals on the map edge with a collision box bigger
+ * than a tile: the goal used to resolve to a tile just outside the map
+ * and HPA* threw ArrayIndexOutOfBoundsException on it.
+ *
+ * The map is open except for a wall one tile in from each edge, so the box
+ * doesn't fit on the edge tiles and the goal has to be moved. Paths to
+ * every edge tile, with both search layers, must stay inside the map.
+ */
+public class TestEdgeGoals {
+
+    private static final int SIZE = 50;
+
+    public static void main(String[] args) throws IOException {
+        Path json = Files.createTempFile("edge_map", ".json");
+        Path compiled = Files.createTempFile("edge_map", BinaryMapLoader.EXTENSION);
+        try {
+            writeMap(json);
+            try (InputStream is = Files.newInputStream(json)) {
+                MapCompiler.compile(JsonMapParser.parse(is), compiled, BinaryMapLoader.SourceStamp.NONE);
+            }
+            TileMap map = new TileMap(compiled.toString());
+
+            Pathfinder pathfinder = new Pathfinder(map);
+            HierarchicalPathfinder hierarchical = new HierarchicalPathfinder(map, pathfinder);
+            pathfinder.setCollisionBox(new CollisionBox(-38, -30, 76, 79));
+
+            int failures = 0;
+            int checked = 0;
+            for (int i = 0; i < SIZE; i++) {
+                int[][] goals = { {i, 0}, {i, SIZE - 1}, {0, i}, {SIZE - 1, i} };
+                for (int[] goal : goals) {
+                    for (Pathfinder.Mode mode : Pathfinder.Mode.values()) {
+                        pathfinder.setMode(mode);
+                        checked++;
+                        try {
+                            if (!insideMap(pathfinder.findPathCompact(32, 34, goal[0], goal[1])) ||
+                                !insideMap(hierarchical.findPathCompact(32, 34, goal[0], goal[1]))) {
+                                System.out.println("FAIL: path to (" + goal[0] + ", " + goal[1] + ") " +
+                                                   mode + " leaves the map");
+                                failures++;
+                            }
+                        } catch (RuntimeException e) {
+                            System.out.println("FAIL: path to (" + goal[0] + ", " + goal[1] + ") " + mode + ": " + e);
+                            failures++;
+                        }
+                    }
+                }
+            }
+
+            System.out.println(failures == 0 ? "PASS: " + checked + " edge goals"
+                                             : failures + " of " + checked + " edge goals failed");
+            if (failures > 0) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(compiled);
+        }
+    }
+
+    private static boolean insideMap(int[] path) {
+        if (path == null) return true;
+        for (int i = 0; i < path.length; i++) {
+            if (path[i] < 0 || path[i] >= SIZE) return false;
+        }
+        return true;
+    }
+
+    private static void writeMap(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\n  \"mapId\": \"edge_map\",\n  \"width\": " + SIZE + ",\n  \"height\": " + SIZE +
+                      ",\n  \"tileSize\": 64,\n  \"tiles\": [\n");
+            for (int y = 0; y < SIZE; y++) {
+                out.write("    [");
+                for (int x = 0; x < SIZE; x++) {
+                    if (x > 0) out.write(", ");
+                    boolean wall = x == 1 || y == 1 || x == SIZE - 2 || y == SIZE - 2;
+                    out.write(wall ? '1' : '0');
+                }
+                out.write(y < SIZE - 1 ? "],\n" : "]\n");
+            }
+            out.write("  ],\n  \"portals\": [],\n  \"monsterSpawns\": []\n}\n");
+        }
+    }
+}
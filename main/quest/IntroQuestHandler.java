@@ -70,7 +70,7 @@ public class IntroQuestHandler {
         // We'll do this in the first update cycle instead
         // For now, try to find and update Fionne immediately
         
-        for (Entity entity : gameState.getEntities()) {
+        for (Entity entity : gameState.query(NPC.class)) {
             NPC npc = entity.getComponent(NPC.class);
             if (npc != null && "fionne".equals(npc.getNpcId())) {
                 fionneEntity = entity;
@@ -96,7 +96,7 @@ public class IntroQuestHandler {
     private void cacheFionneEntity() {
         if (fionneEntity != null) return;
         
-        for (Entity entity : gameState.getEntities()) {
+        for (Entity entity : gameState.query(NPC.class)) {
             NPC npc = entity.getComponent(NPC.class);
             if (npc != null && "fionne".equals(npc.getNpcId())) {
                 fionneEntity = entity;
@@ -0,0 +1,145 @@
+package dev.main.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+
+import dev.main.tile.TileMap;
+
+/**
+ * The map ground under the current view, kept in a VolatileImage so a
+ * frame starts with one accelerated blit instead of composing map chunks.
+ *
+ * While the camera is still the buffer is reused as is. When it moves by
+ * less than a screen, the buffer is scrolled in place with copyArea and
+ * only the exposed edge strips are drawn from the map. A new map, a big
+ * jump, lost video memory or map chunks arriving after their placeholders
+ * were drawn redraws the whole buffer.
+ */
+public class BackgroundCache {
+
+    private static final Color EMPTY_COLOR = Color.GRAY;  // outside the map
+
+    private final int width;
+    private final int height;
+
+    private VolatileImage image;
+    private TileMap cachedMap;
+    private int cachedChunkRevision;
+    private int viewX, viewY;   // map pixel at the buffer's top-left
+    private boolean valid;
+
+    public BackgroundCache(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Bring the buffer up to date for this map and camera. Returns true if
+     * its contents changed since the last call (scrolled or redrawn), i.e.
+     * the whole screen needs the new background.
+     */
+    public boolean update(GraphicsConfiguration config, TileMap map, float cameraX, float cameraY) {
+        int newViewX = map != null ? map.getViewX(cameraX) : 0;
+        int newViewY = map != null ? map.getViewY(cameraY) : 0;
+
+        // Read before drawing: a chunk landing mid-draw is redrawn next frame
+        int chunkRevision = map != null ? map.getChunkRevision() : 0;
+        boolean redraw = !valid || map != cachedMap || chunkRevision != cachedChunkRevision;
+        int status = image != null ? image.validate(config) : VolatileImage.IMAGE_INCOMPATIBLE;
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (image != null) {
+                image.flush();
+            }
+            image = config.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+            redraw = true;
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            redraw = true;
+        }
+
+        int dx = newViewX - viewX;
+        int dy = newViewY - viewY;
+        boolean moved = dx != 0 || dy != 0;
+        if (!redraw && !moved) {
+            return false;
+        }
+
+        Graphics2D g = image.createGraphics();
+        try {
+            if (redraw || Math.abs(dx) >= width || Math.abs(dy) >= height) {
+                drawRegion(g, map, newViewX, newViewY, 0, 0, width, height);
+            } else {
+                scroll(g, map, newViewX, newViewY, dx, dy);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        cachedMap = map;
+        cachedChunkRevision = chunkRevision;
+        viewX = newViewX;
+        viewY = newViewY;
+        valid = true;
+        return true;
+    }
+
+    /**
+     * Blit the whole background.
+     */
+    public void draw(Graphics2D g) {
+        g.drawImage(image, 0, 0, null);
+        checkLost();
+    }
+
+    /**
+     * Blit just one screen rectangle of the background (to erase what was
+     * drawn over it last frame).
+     */
+    public void restore(Graphics2D g, int x, int y, int w, int h) {
+        g.drawImage(image, x, y, x + w, y + h, x, y, x + w, y + h, null);
+        checkLost();
+    }
+
+    /**
+     * Force a full redraw on the next update (e.g. after the map's
+     * collision or art changed).
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    // Shift what's still on screen, then draw the exposed strips
+    private void scroll(Graphics2D g, TileMap map, int newViewX, int newViewY, int dx, int dy) {
+        g.copyArea(0, 0, width, height, -dx, -dy);
+
+        if (dx > 0) {
+            drawRegion(g, map, newViewX, newViewY, width - dx, 0, dx, height);
+        } else if (dx < 0) {
+            drawRegion(g, map, newViewX, newViewY, 0, 0, -dx, height);
+        }
+
+        // Rows; the corner shared with the column strip is drawn twice, which is harmless
+        if (dy > 0) {
+            drawRegion(g, map, newViewX, newViewY, 0, height - dy, width, dy);
+        } else if (dy < 0) {
+            drawRegion(g, map, newViewX, newViewY, 0, 0, width, -dy);
+        }
+    }
+
+    private void drawRegion(Graphics2D g, TileMap map, int newViewX, int newViewY, int x, int y, int w, int h) {
+        g.setColor(EMPTY_COLOR);
+        g.fillRect(x, y, w, h);
+        if (map != null) {
+            map.renderRegion(g, newViewX, newViewY, x, y, w, h);
+        }
+    }
+
+    // Video memory can be lost at any time; redraw next frame if it was
+    private void checkLost() {
+        if (image.contentsLost()) {
+            valid = false;
+        }
+    }
+}
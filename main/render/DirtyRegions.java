@@ -0,0 +1,102 @@
+package dev.main.render;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Screen rectangles drawn over the background during one frame.
+ *
+ * Next frame only these need the background put back before the dynamic
+ * layers are drawn again. Rectangles are clipped to the screen and
+ * overlapping ones merged so no pixel is restored twice.
+ */
+public class DirtyRegions {
+
+    private final int screenWidth;
+    private final int screenHeight;
+
+    // Rectangle objects are reused between frames; `count` are in use
+    private final List<Rectangle> rects = new ArrayList<>();
+    private int count;
+
+    public DirtyRegions(int screenWidth, int screenHeight) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Mark a screen rectangle as drawn over. Parts off screen are ignored.
+     */
+    public void add(int x, int y, int w, int h) {
+        int left = Math.max(0, x);
+        int top = Math.max(0, y);
+        int right = Math.min(screenWidth, x + w);
+        int bottom = Math.min(screenHeight, y + h);
+        if (right <= left || bottom <= top) return;
+
+        if (count == rects.size()) {
+            rects.add(new Rectangle());
+        }
+        rects.get(count++).setBounds(left, top, right - left, bottom - top);
+    }
+
+    public void add(Rectangle r) {
+        add(r.x, r.y, r.width, r.height);
+    }
+
+    /**
+     * Merge overlapping rectangles until none overlap. A merged rectangle
+     * can cover a bit of clean background, which is only a little overdraw.
+     */
+    public void coalesce() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < count; i++) {
+                Rectangle a = rects.get(i);
+                for (int j = i + 1; j < count; j++) {
+                    Rectangle b = rects.get(j);
+                    if (a.intersects(b)) {
+                        a.add(b);
+                        removeAt(j);
+                        j = i;  // a grew: check it against the rest again
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Rectangle get(int index) {
+        return rects.get(index);
+    }
+
+    /**
+     * Total pixels covered (after coalesce(), rectangles don't overlap).
+     */
+    public long area() {
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            Rectangle r = rects.get(i);
+            area += (long) r.width * r.height;
+        }
+        return area;
+    }
+
+    // Swap with the last live rectangle so the removed object is kept for reuse
+    private void removeAt(int index) {
+        count--;
+        Rectangle removed = rects.get(index);
+        rects.set(index, rects.get(count));
+        rects.set(count, removed);
+    }
+}
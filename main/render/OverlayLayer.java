@@ -0,0 +1,72 @@
+package dev.main.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import dev.main.Engine;
+import dev.main.sprite.TextureAtlas;
+
+/**
+ * The HUD and debug overlay of one snapshot, painted into a screen-sized
+ * image by the simulation thread. The render thread only copies it onto
+ * the frame, so it never has to read live UI state or wait for a tick.
+ *
+ * Only the areas the UI reports drawing into are cleared and copied; the
+ * debug overlay can draw anywhere, so it marks the whole layer.
+ */
+final class OverlayLayer {
+
+    private BufferedImage image;
+
+    // Areas painted last time, cleared before the next paint
+    final DirtyRegions bounds = new DirtyRegions(Engine.WIDTH, Engine.HEIGHT);
+    boolean fullScreen;
+
+    /**
+     * Clear what was painted last time and return a Graphics for the new
+     * overlay. The caller disposes it.
+     */
+    Graphics2D begin() {
+        if (image == null) {
+            image = TextureAtlas.createCompatibleImage(Engine.WIDTH, Engine.HEIGHT);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        if (fullScreen) {
+            g.fillRect(0, 0, Engine.WIDTH, Engine.HEIGHT);
+        } else {
+            for (int i = 0; i < bounds.size(); i++) {
+                Rectangle r = bounds.get(i);
+                g.fillRect(r.x, r.y, r.width, r.height);
+            }
+        }
+        g.setComposite(AlphaComposite.SrcOver);
+
+        bounds.clear();
+        fullScreen = false;
+        return g;
+    }
+
+    /**
+     * Copy the painted areas onto the frame and mark them in its dirty
+     * regions.
+     */
+    void draw(Graphics2D g, DirtyRegions dirty) {
+        if (image == null) return;
+
+        if (fullScreen) {
+            g.drawImage(image, 0, 0, null);
+            dirty.add(0, 0, Engine.WIDTH, Engine.HEIGHT);
+            return;
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            Rectangle r = bounds.get(i);
+            g.drawImage(image, r.x, r.y, r.x + r.width, r.y + r.height,
+                        r.x, r.y, r.x + r.width, r.y + r.height, null);
+            dirty.add(r);
+        }
+    }
+}
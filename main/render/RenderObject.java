@@ -1,28 +1,155 @@
 package dev.main.render;
 
+import dev.main.bars.HealthBar;
+import dev.main.bars.ManaBar;
+import dev.main.bars.StaminaBar;
 import dev.main.entity.Entity;
+import dev.main.entity.EntityType;
+import dev.main.entity.Experience;
+import dev.main.entity.LevelUpEffect;
+import dev.main.entity.MobTier;
+import dev.main.entity.MonsterLevel;
+import dev.main.entity.NameTag;
 import dev.main.input.Position;
+import dev.main.sprite.Sprite;
+import dev.main.stats.Stats;
+import dev.main.util.Alert;
+import dev.main.util.Dead;
 
+/**
+ * Per-entity render state copied out of the live components, so the
+ * render thread can read it while the simulation keeps ticking.
+ * Objects are pooled with their WorldSnapshot: one is only rewritten
+ * after the renderer has released the snapshot it belongs to.
+ */
 public class RenderObject implements Comparable<RenderObject> {
     public Entity entity;
-    public Position position;
+    public EntityType type;
     public RenderLayer layer;
+    public float x, y;
     public float depth;  // Y position for depth sorting within layer
-    
+
+    // Sprite frame (source rect origin inside the sheet)
+    public Sprite sprite;
+    public int frameX, frameY;
+
+    public boolean dead;
+
+    // Alert "!"
+    public boolean alertActive;
+    public float alertY;
+
+    // Name tag
+    public boolean nameVisible;
+    public String displayName;
+    public float nameOffsetY;
+
+    // Level badges (-1 = none)
+    public int monsterLevel = -1;
+    public MobTier tier;
+    public int playerLevel = -1;
+    public float xpProgress;
+
+    // Bars (bar components are layout only and never change after creation)
+    public boolean hasStats;
+    public int hp, maxHp;
+    public float stamina, maxStamina;
+    public int mana, maxMana;
+    public HealthBar hpBar;
+    public StaminaBar staminaBar;
+    public ManaBar manaBar;
+
+    // Level-up effect
+    public boolean levelUpActive;
+    public float levelUpAlpha;
+    public int levelUpLevel;
+
+    public RenderObject() {
+    }
+
     public RenderObject(Entity entity, Position position, Renderable renderable) {
+        capture(entity, position, renderable);
+    }
+
+    /**
+     * Drop the references to live objects, so a pooled object that isn't
+     * used this frame doesn't keep a despawned entity reachable.
+     */
+    public void clear() {
+        entity = null;
+        type = null;
+        layer = null;
+        sprite = null;
+        displayName = null;
+        tier = null;
+        hpBar = null;
+        staminaBar = null;
+        manaBar = null;
+    }
+
+    /**
+     * Copy everything the world passes draw for this entity.
+     */
+    public void capture(Entity entity, Position position, Renderable renderable) {
         this.entity = entity;
-        this.position = position;
+        this.type = entity.getType();
         this.layer = renderable.layer;
+        this.x = position.x;
+        this.y = position.y;
         this.depth = position.y + renderable.depthOffset;
+
+        this.sprite = entity.getComponent(Sprite.class);
+        if (sprite != null) {
+            this.frameX = sprite.getFrameSrcX();
+            this.frameY = sprite.getFrameSrcY();
+        }
+
+        this.dead = entity.getComponent(Dead.class) != null;
+
+        Alert alert = entity.getComponent(Alert.class);
+        this.alertActive = alert != null && alert.active;
+        this.alertY = alert != null ? alert.offsetY + alert.bounceOffset : 0f;
+
+        NameTag nameTag = entity.getComponent(NameTag.class);
+        this.nameVisible = nameTag != null && nameTag.visible;
+        this.displayName = nameTag != null ? nameTag.displayName : null;
+        this.nameOffsetY = nameTag != null ? nameTag.offsetY : 0f;
+
+        MonsterLevel ml = entity.getComponent(MonsterLevel.class);
+        this.monsterLevel = ml != null ? ml.level : -1;
+        this.tier = ml != null ? ml.tier : null;
+
+        Experience exp = entity.getComponent(Experience.class);
+        this.playerLevel = exp != null ? exp.level : -1;
+        this.xpProgress = exp != null ? exp.getXPProgress() : 0f;
+
+        Stats stats = entity.getComponent(Stats.class);
+        this.hasStats = stats != null;
+        if (stats != null) {
+            this.hp = stats.hp;
+            this.maxHp = stats.maxHp;
+            this.stamina = stats.stamina;
+            this.maxStamina = stats.maxStamina;
+            this.mana = stats.mana;
+            this.maxMana = stats.maxMana;
+        }
+        this.hpBar = entity.getComponent(HealthBar.class);
+        this.staminaBar = entity.getComponent(StaminaBar.class);
+        this.manaBar = entity.getComponent(ManaBar.class);
+
+        LevelUpEffect levelUp = entity.getComponent(LevelUpEffect.class);
+        this.levelUpActive = levelUp != null && levelUp.active;
+        this.levelUpAlpha = levelUp != null ? levelUp.getAlpha() : 0f;
+        this.levelUpLevel = levelUp != null ? levelUp.newLevel : 0;
     }
-    
+
     @Override
     public int compareTo(RenderObject other) {
         // First sort by layer priority
         if (this.layer.priority != other.layer.priority) {
             return Integer.compare(this.layer.priority, other.layer.priority);
         }
-        
+
         // Within same layer, sort by depth (Y position)
         // Lower Y = further back = drawn first
         return Float.compare(this.depth, other.depth);
@@ -5,9 +5,8 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.Stroke;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import dev.main.Engine;
@@ -18,25 +17,16 @@ import dev.main.bars.ManaBar;
 import dev.main.bars.StaminaBar;
 import dev.main.entity.Entity;
 import dev.main.entity.EntityType;
-import dev.main.entity.Experience;
-import dev.main.entity.LevelUpEffect;
 import dev.main.entity.MobTier;
 import dev.main.entity.MonsterLevel;
-import dev.main.entity.NameTag;
 import dev.main.entity.SpawnPoint;
-import dev.main.entity.TargetIndicator;
 import dev.main.input.CollisionBox;
 import dev.main.input.Movement;
 import dev.main.input.Position;
 import dev.main.pathfinder.Path;
-import dev.main.quest.QuestIndicator;
-import dev.main.sprite.Sprite;
 import dev.main.state.GameState;
 import dev.main.stats.Stats;
 import dev.main.tile.TileMap;
-import dev.main.util.Alert;
-import dev.main.util.DamageText;
-import dev.main.util.Dead;
 import dev.main.util.DiamondRenderer;
 import dev.main.util.DamageText.Type; 
 
@@ -59,106 +49,326 @@ public class Renderer {
     private static final Font LEVELUP_FONT = new Font("Arial", Font.BOLD, 20);
     private static final Font TIMER_FONT = new Font("Arial", Font.BOLD, 12);
     private static final Font ALERT_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font DEBUG_INFO_FONT = new Font("Arial", Font.PLAIN, 10);
     
-    // ⭐ NEW: Reusable sorted list
-    private List<RenderObject> sortedRenderObjects;
+    private static final Color QUEST_SHADOW = new Color(0, 0, 0, 150);
+    private static final Color ALERT_SHADOW = new Color(0, 0, 0, 150);
+    private static final Color ALERT_COLOR = new Color(255, 0, 0);
+    private static final Color LEVELUP_COLOR = new Color(255, 215, 0);
+    
+    // World UI layout around an entity's position, shared by the draw
+    // methods and markWorldLayers()
+    private static final int MONSTER_BADGE_X = 20;
+    private static final int MONSTER_BADGE_Y = -30;
+    private static final int MONSTER_BADGE_WIDTH = 20;
+    private static final int MONSTER_BADGE_HEIGHT = 12;
+    private static final int PLAYER_BADGE_X = -25;
+    private static final int PLAYER_BADGE_Y = -35;
+    private static final int PLAYER_BADGE_WIDTH = 24;
+    private static final int PLAYER_BADGE_HEIGHT = 16;
+    private static final int XP_BAR_WIDTH = 40;
+    private static final int XP_BAR_HEIGHT = 3;
+    private static final int XP_BAR_OFFSET_Y = 52;
+    private static final int LEVELUP_RING_RADIUS = 30;
+    private static final int LEVELUP_TEXT_Y = -50;
+    private static final int LEVELUP_GROWTH = 20;  // ring grows and text rises this much as it fades
+    
+    // Room for outline strokes and text shadows around dirty areas
+    private static final int BOUNDS_MARGIN = 3;
+    
+    // Past this share of the screen, one full blit is cheaper than many small ones
+    private static final float MAX_DIRTY_SHARE = 0.5f;
+    
+    // Ground under the view, and what was drawn over it this/last frame
+    private final BackgroundCache background = new BackgroundCache(Engine.WIDTH, Engine.HEIGHT);
+    private DirtyRegions dirty = new DirtyRegions(Engine.WIDTH, Engine.HEIGHT);
+    private DirtyRegions lastDirty = new DirtyRegions(Engine.WIDTH, Engine.HEIGHT);
+    private boolean backBufferPreserved;  // back buffer still holds last frame
+    private boolean fullRepaint = true;
+    
+    // Snapshots for the single-threaded path
+    private final SnapshotBuilder snapshots = new SnapshotBuilder();
+    
+    // Pre-rasterized names, numbers and markers
+    private final TextCache textCache = new TextCache();
     
     public Renderer(GameState gameState, Engine engine) {
         this.gameState = gameState;
         this.engine = engine;
-        this.sortedRenderObjects = new ArrayList<>();
     }
     
+    /**
+     * Whether the buffer we draw into still holds the previous frame. Only
+     * then can a frame restore just the dirty regions instead of redrawing
+     * the whole background.
+     */
+    public void setBackBufferPreserved(boolean preserved) {
+        this.backBufferPreserved = preserved;
+        this.fullRepaint = true;
+    }
+    
+    /**
+     * Redraw the whole screen next frame (back buffer contents were lost).
+     */
+    public void invalidate() {
+        fullRepaint = true;
+    }
+    
+    /**
+     * Single-threaded path: capture a snapshot and draw everything.
+     */
     public void render(Graphics2D g) {
-        float cameraX = gameState.getCameraX();
-        float cameraY = gameState.getCameraY();
-        
-        // ⭐ NEW: Build sorted list ONCE
-        buildSortedRenderList();
+        WorldSnapshot snapshot = snapshots.capture(gameState);
+        renderWorld(g, snapshot);
+        renderOverlay(g, snapshot);
+        snapshots.release(snapshot);
+    }
+    
+    /**
+     * Draw all world layers from a snapshot. Never touches the live entity
+     * list, so it can run on the render thread while the simulation ticks.
+     *
+     * The ground comes from the background cache. If the camera didn't move
+     * and the back buffer still holds last frame, only the areas last frame
+     * drew over are restored; otherwise the whole background is blitted.
+     * This always covers the full screen, so callers needn't clear first.
+     */
+    public void renderWorld(Graphics2D g, WorldSnapshot snapshot) {
+        float cameraX = snapshot.cameraX;
+        float cameraY = snapshot.cameraY;
+        
+        DirtyRegions previous = dirty;
+        dirty = lastDirty;
+        lastDirty = previous;
+        dirty.clear();
+        markWorldLayers(g, snapshot, cameraX, cameraY);
         
         // Render all layers
-        renderGround(g, cameraX, cameraY);
-        renderGroundDecor(g, cameraX, cameraY);
-        renderEntities(g, cameraX, cameraY);
-        renderEffects(g, cameraX, cameraY);
-        renderWorldUI(g, cameraX, cameraY);
+        renderGround(g, snapshot.map, cameraX, cameraY);
+        renderGroundDecor(g, snapshot, cameraX, cameraY);
+        renderEntities(g, snapshot, cameraX, cameraY);
+        renderEffects(g, snapshot, cameraX, cameraY);
+        renderWorldUI(g, snapshot, cameraX, cameraY);
         renderScreenUI(g, cameraX, cameraY);
-        
+    }
+    
+    /**
+     * Draw the HUD and debug overlay. These read live UI/game state, so the
+     * caller must own the world (single-threaded loop).
+     */
+    public void renderOverlay(Graphics2D g, WorldSnapshot snapshot) {
+        gameState.getUIManager().addDrawBounds(dirty);
         gameState.getUIManager().render(g);
         
         if (engine.isDebugMode()) {
-            renderDebug(g, cameraX, cameraY);
+            renderDebug(g, snapshot.cameraX, snapshot.cameraY);
+            // Debug drawing isn't tracked: the next frame repaints everything
+            fullRepaint = true;
         }
     }
     
-    // ⭐ NEW: Build and sort render list once per frame
-    private void buildSortedRenderList() {
-        sortedRenderObjects.clear();
-        
-        for (Entity entity : gameState.getEntities()) {
-            Position pos = entity.getComponent(Position.class);
-            Renderable renderable = entity.getComponent(Renderable.class);
-            Sprite sprite = entity.getComponent(Sprite.class);
+    /**
+     * Threaded loop, simulation thread: paint the HUD and debug overlay into
+     * the snapshot, while the simulation still owns the UI.
+     */
+    public void paintOverlay(WorldSnapshot snapshot) {
+        if (snapshot.overlay == null) {
+            snapshot.overlay = new OverlayLayer();
+        }
+        OverlayLayer overlay = snapshot.overlay;
+        
+        Graphics2D g = overlay.begin();
+        try {
+            gameState.getUIManager().addDrawBounds(overlay.bounds);
+            // Copied area by area: overlaps would be blended twice
+            overlay.bounds.coalesce();
+            gameState.getUIManager().render(g);
             
-            if (pos != null && renderable != null && sprite != null) {
-                if (renderable.layer == RenderLayer.ENTITIES) {
-                    sortedRenderObjects.add(new RenderObject(entity, pos, renderable));
-                }
+            if (engine.isDebugMode()) {
+                renderDebug(g, snapshot.cameraX, snapshot.cameraY);
+                overlay.fullScreen = true;
             }
+        } finally {
+            g.dispose();
         }
-        
-        Collections.sort(sortedRenderObjects);  // ⭐ Sort ONCE
     }
     
-    private void renderGround(Graphics2D g, float cameraX, float cameraY) {
-        TileMap map = gameState.getMap();
-        if (map != null) {
-            map.render(g, cameraX, cameraY);
+    /**
+     * Threaded loop, render thread: copy the overlay painted with the
+     * snapshot over the world.
+     */
+    public void drawOverlay(Graphics2D g, WorldSnapshot snapshot) {
+        OverlayLayer overlay = snapshot.overlay;
+        if (overlay == null) return;
+        
+        overlay.draw(g, dirty);
+        if (overlay.fullScreen) {
+            // Debug drawing isn't tracked: the next frame repaints everything
+            fullRepaint = true;
         }
     }
     
-    private void renderGroundDecor(Graphics2D g, float cameraX, float cameraY) {
-        for (Entity entity : gameState.getEntities()) {
-            TargetIndicator indicator = entity.getComponent(TargetIndicator.class);
-            if (indicator != null && indicator.active) {
-                int screenX = (int)Math.round(indicator.worldX - cameraX);
-                int screenY = (int)Math.round(indicator.worldY - cameraY);
-                DiamondRenderer.renderDiamond(g, screenX, screenY, indicator.pulseScale, 1.0f);
+    private void renderGround(Graphics2D g, TileMap map, float cameraX, float cameraY) {
+        boolean full = background.update(g.getDeviceConfiguration(), map, cameraX, cameraY)
+                       || fullRepaint || !backBufferPreserved;
+        fullRepaint = false;
+        
+        if (!full) {
+            lastDirty.coalesce();
+            full = lastDirty.area() > MAX_DIRTY_SHARE * Engine.WIDTH * Engine.HEIGHT;
+        }
+        
+        if (full) {
+            background.draw(g);
+        } else {
+            for (int i = 0; i < lastDirty.size(); i++) {
+                Rectangle r = lastDirty.get(i);
+                background.restore(g, r.x, r.y, r.width, r.height);
             }
         }
     }
     
-    // ⭐ OPTIMIZED: Use pre-sorted list
-    private void renderEntities(Graphics2D g, float cameraX, float cameraY) {
-        for (RenderObject ro : sortedRenderObjects) {
-            Entity entity = ro.entity;
-            Position pos = ro.position;
+    /**
+     * Record the screen area every world layer will draw this frame. Kept
+     * generous: anything drawn outside it would be left behind as a trail.
+     */
+    private void markWorldLayers(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
+        FontMetrics nameMetrics = textCache.getFontMetrics(NAME_FONT);
+        FontMetrics alertMetrics = textCache.getFontMetrics(ALERT_FONT);
+        FontMetrics levelUpMetrics = textCache.getFontMetrics(LEVELUP_FONT);
+        int badgeTextHalf = textCache.stringWidth(LEVEL_BADGE_FONT, "Lv999") / 2;
+        int levelUpTextHalf = textCache.stringWidth(LEVELUP_FONT, "LEVEL 999") / 2;
+        
+        for (RenderObject ro : snapshot.renderObjects) {
+            int screenX = Math.round(ro.x - cameraX);
+            int screenY = Math.round(ro.y - cameraY);
+            
+            // Extents around screenX/screenY
+            int halfWidth = 0;
+            int top = 0;
+            int bottom = 0;
+            
+            if (ro.sprite != null) {
+                int frameWidth = ro.sprite.getFrameWidth();
+                int frameHeight = ro.sprite.getFrameHeight();
+                halfWidth = frameWidth - frameWidth / 2 + BOUNDS_MARGIN;
+                top = -frameHeight / 2 - BOUNDS_MARGIN;
+                bottom = frameHeight - frameHeight / 2 + BOUNDS_MARGIN;
+            }
+            if (ro.nameVisible && ro.displayName != null) {
+                String prefix = ro.tier != null ? getTierPrefix(ro.tier) : null;
+                int nameWidth = nameMetrics.stringWidth(prefix != null ? prefix + ro.displayName : ro.displayName);
+                halfWidth = Math.max(halfWidth, nameWidth / 2 + BOUNDS_MARGIN);
+                top = Math.min(top, (int)ro.nameOffsetY - nameMetrics.getAscent() - BOUNDS_MARGIN);
+                bottom = Math.max(bottom, (int)ro.nameOffsetY + nameMetrics.getDescent() + BOUNDS_MARGIN);
+            }
+            if (ro.alertActive) {
+                int alertBaseline = (int)ro.alertY + alertMetrics.getHeight() / 4;
+                halfWidth = Math.max(halfWidth, alertMetrics.charWidth('!') / 2 + BOUNDS_MARGIN);
+                top = Math.min(top, alertBaseline - alertMetrics.getAscent() - BOUNDS_MARGIN);
+                bottom = Math.max(bottom, alertBaseline + alertMetrics.getDescent() + BOUNDS_MARGIN);
+            }
+            if (ro.type == EntityType.MONSTER && ro.monsterLevel >= 0) {
+                int badgeHalf = Math.max(MONSTER_BADGE_WIDTH / 2, badgeTextHalf);
+                halfWidth = Math.max(halfWidth, MONSTER_BADGE_X + badgeHalf + BOUNDS_MARGIN);
+                top = Math.min(top, MONSTER_BADGE_Y - MONSTER_BADGE_HEIGHT / 2 - BOUNDS_MARGIN);
+            }
+            if (ro.type == EntityType.PLAYER && ro.playerLevel >= 0) {
+                int badgeHalf = Math.max(PLAYER_BADGE_WIDTH / 2, badgeTextHalf);
+                halfWidth = Math.max(halfWidth, -PLAYER_BADGE_X + badgeHalf + BOUNDS_MARGIN);
+                top = Math.min(top, PLAYER_BADGE_Y - PLAYER_BADGE_HEIGHT / 2 - BOUNDS_MARGIN);
+                
+                halfWidth = Math.max(halfWidth, XP_BAR_WIDTH / 2 + BOUNDS_MARGIN);
+                bottom = Math.max(bottom, XP_BAR_OFFSET_Y + XP_BAR_HEIGHT + BOUNDS_MARGIN);
+            }
+            if (ro.levelUpActive) {
+                // Ring and text at their largest/highest, as the effect fades
+                int radius = LEVELUP_RING_RADIUS + LEVELUP_GROWTH + BOUNDS_MARGIN;
+                halfWidth = Math.max(halfWidth, Math.max(radius, levelUpTextHalf + BOUNDS_MARGIN));
+                top = Math.min(top, Math.min(-radius,
+                        LEVELUP_TEXT_Y - LEVELUP_GROWTH - levelUpMetrics.getAscent() - BOUNDS_MARGIN));
+                bottom = Math.max(bottom, radius);
+            }
+            if (ro.hpBar != null) {
+                halfWidth = Math.max(halfWidth, ro.hpBar.width / 2 + BOUNDS_MARGIN);
+                top = Math.min(top, ro.hpBar.offsetY - BOUNDS_MARGIN);
+                bottom = Math.max(bottom, ro.hpBar.offsetY + ro.hpBar.height + BOUNDS_MARGIN);
+            }
+            if (ro.staminaBar != null) {
+                halfWidth = Math.max(halfWidth, ro.staminaBar.width / 2 + BOUNDS_MARGIN);
+                top = Math.min(top, ro.staminaBar.offsetY - BOUNDS_MARGIN);
+                bottom = Math.max(bottom, ro.staminaBar.offsetY + ro.staminaBar.height + BOUNDS_MARGIN);
+            }
+            if (ro.manaBar != null) {
+                halfWidth = Math.max(halfWidth, ro.manaBar.width / 2 + BOUNDS_MARGIN);
+                top = Math.min(top, ro.manaBar.offsetY - BOUNDS_MARGIN);
+                bottom = Math.max(bottom, ro.manaBar.offsetY + ro.manaBar.height + BOUNDS_MARGIN);
+            }
             
-            int spriteScreenX = (int)Math.round(pos.x - cameraX);
-            int spriteScreenY = (int)Math.round(pos.y - cameraY);
+            if (bottom > top) {
+                dirty.add(screenX - halfWidth, screenY + top, halfWidth * 2, bottom - top);
+            }
+        }
+        
+        for (WorldSnapshot.GroundMarker marker : snapshot.groundMarkers) {
+            int radius = DiamondRenderer.getRadius(marker.pulseScale) + BOUNDS_MARGIN;
+            dirty.add(Math.round(marker.worldX - cameraX) - radius,
+                      Math.round(marker.worldY - cameraY) - radius, radius * 2, radius * 2);
+        }
+        
+        FontMetrics questMetrics = textCache.getFontMetrics(QUEST_INDICATOR_FONT);
+        for (WorldSnapshot.QuestMarker qm : snapshot.questMarkers) {
+            int width = questMetrics.stringWidth(qm.symbol);
+            int baseline = (int)(qm.y - cameraY) + questMetrics.getHeight() / 4;
+            dirty.add(Math.round(qm.x - cameraX) - width / 2 - BOUNDS_MARGIN,
+                      baseline - questMetrics.getAscent() - BOUNDS_MARGIN,
+                      width + BOUNDS_MARGIN * 2, questMetrics.getAscent() + questMetrics.getDescent() + BOUNDS_MARGIN * 2);
+        }
+        
+        FontMetrics damageMetrics = textCache.getFontMetrics(DAMAGE_CRIT_FONT);
+        for (WorldSnapshot.TextView dt : snapshot.damageTexts) {
+            int width = damageMetrics.stringWidth(dt.text);
+            dirty.add((int)(dt.worldX - cameraX) - width / 2 - BOUNDS_MARGIN,
+                      (int)(dt.worldY - cameraY) - damageMetrics.getAscent() - BOUNDS_MARGIN,
+                      width + BOUNDS_MARGIN * 2, damageMetrics.getAscent() + damageMetrics.getDescent() + BOUNDS_MARGIN * 2);
+        }
+    }
+    
+    private void renderGroundDecor(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
+        for (WorldSnapshot.GroundMarker marker : snapshot.groundMarkers) {
+            int screenX = (int)Math.round(marker.worldX - cameraX);
+            int screenY = (int)Math.round(marker.worldY - cameraY);
+            DiamondRenderer.renderDiamond(g, screenX, screenY, marker.pulseScale, 1.0f);
+        }
+    }
+    
+    // ⭐ OPTIMIZED: Use pre-sorted list
+    private void renderEntities(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
+        for (RenderObject ro : snapshot.renderObjects) {
+            int spriteScreenX = (int)Math.round(ro.x - cameraX);
+            int spriteScreenY = (int)Math.round(ro.y - cameraY);
             
-            Sprite sprite = entity.getComponent(Sprite.class);
-            if (sprite != null) {
-                sprite.renderAtPixel(g, spriteScreenX, spriteScreenY);
+            if (ro.sprite != null) {
+                ro.sprite.renderFrameAtPixel(g, spriteScreenX, spriteScreenY, ro.frameX, ro.frameY);
             }
         }
     }
     
-    private void renderEffects(Graphics2D g, float cameraX, float cameraY) {
-        drawDamageTexts(g, cameraX, cameraY);
+    private void renderEffects(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
+        drawDamageTexts(g, snapshot, cameraX, cameraY);
     }
      
  // ★★★ OPTIMIZED: BATCHED RENDERING BY FONT TYPE ★★★
-    private void renderWorldUI(Graphics2D g, float cameraX, float cameraY) {
+    private void renderWorldUI(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
         Font originalFont = g.getFont();
+        List<RenderObject> sortedRenderObjects = snapshot.renderObjects;
         
      // ========================================
         // BATCH 1: ALERTS (existing code - keep as is)
         // ========================================
         boolean hasAlerts = false;
         for (RenderObject ro : sortedRenderObjects) {
-            Alert alert = ro.entity.getComponent(Alert.class);
-            if (alert != null && alert.active) {
+            if (ro.alertActive) {
                 hasAlerts = true;
                 break;
             }
@@ -167,14 +377,12 @@ public class Renderer {
         if (hasAlerts) {
             g.setFont(ALERT_FONT);
             for (RenderObject ro : sortedRenderObjects) {
-                Dead dead = ro.entity.getComponent(Dead.class);
-                if (dead != null) continue;
+                if (ro.dead) continue;
                 
-                Alert alert = ro.entity.getComponent(Alert.class);
-                if (alert != null && alert.active) {
-                    int screenX = (int)Math.round(ro.position.x - cameraX);
-                    int screenY = (int)Math.round(ro.position.y - cameraY);
-                    drawAlertOnly(g, screenX, screenY, alert);
+                if (ro.alertActive) {
+                    int screenX = (int)Math.round(ro.x - cameraX);
+                    int screenY = (int)Math.round(ro.y - cameraY);
+                    drawAlertOnly(g, screenX, screenY, ro);
                 }
             }
         }
@@ -182,54 +390,20 @@ public class Renderer {
      // BATCH: QUEST INDICATORS (Clean version)
         g.setFont(QUEST_INDICATOR_FONT);
 
-        for (Entity entity : gameState.getEntities()) {
-            if (entity.getType() != EntityType.NPC) continue;
-            
-            Dead dead = entity.getComponent(Dead.class);
-            if (dead != null) continue;
-            
-            Position pos = entity.getComponent(Position.class);
-            if (pos == null) continue;
-            
-            QuestIndicator qi = entity.getComponent(QuestIndicator.class);
-            if (qi == null || !qi.active) continue;
-            
-            int screenX = (int)Math.round(pos.x - cameraX);
-            int screenY = (int)Math.round(pos.y - cameraY);
-            
-            // Get symbol and color
-            String symbol;
-            Color color;
-            
-            if (qi.type == QuestIndicator.IndicatorType.IN_PROGRESS) {
-                symbol = qi.getSymbol();//"...";
-                color = qi.getColor();//new Color(150, 150, 150);
-            } else if (qi.type == QuestIndicator.IndicatorType.COMPLETE) {
-                symbol = qi.getSymbol();//"?";
-                color = qi.getColor();//new Color(255, 215, 0);
-            } else {
-                symbol = qi.getSymbol();//"!";
-                color = qi.getColor();//new Color(255, 215, 0);
-            }
-            
+        for (WorldSnapshot.QuestMarker qm : snapshot.questMarkers) {
             // Draw indicator
-            int indicatorX = screenX;
-            int indicatorY = (int)(screenY + qi.offsetY + qi.bounceOffset);
+            int indicatorX = (int)Math.round(qm.x - cameraX);
+            int indicatorY = (int)(qm.y - cameraY);
             
-            FontMetrics fm = g.getFontMetrics();
-            int textWidth = fm.stringWidth(symbol);
+            FontMetrics fm = textCache.getFontMetrics(QUEST_INDICATOR_FONT);
+            int textWidth = fm.stringWidth(qm.symbol);
             int textHeight = fm.getHeight();
             
             int textX = indicatorX - textWidth / 2;
             int textY = indicatorY + textHeight / 4;
             
-            // Shadow
-            g.setColor(new Color(0, 0, 0, 150));
-            g.drawString(symbol, textX + 2, textY + 2);
-            
-            // Symbol
-            g.setColor(color);
-            g.drawString(symbol, textX, textY);
+            // Symbol with shadow
+            textCache.drawString(g, qm.symbol, QUEST_INDICATOR_FONT, qm.color, QUEST_SHADOW, 2, textX, textY);
         }
         // ========================================
         // BATCH 2: LEVEL BADGES (existing code - keep as is)
@@ -237,24 +411,19 @@ public class Renderer {
         g.setFont(LEVEL_BADGE_FONT);
         
         for (RenderObject ro : sortedRenderObjects) {
-            Dead dead = ro.entity.getComponent(Dead.class);
-            if (dead != null) continue;
+            if (ro.dead) continue;
             
-            int screenX = (int)Math.round(ro.position.x - cameraX);
-            int screenY = (int)Math.round(ro.position.y - cameraY);
+            int screenX = (int)Math.round(ro.x - cameraX);
+            int screenY = (int)Math.round(ro.y - cameraY);
             
-            if (ro.entity.getType() == EntityType.MONSTER) {
-                MonsterLevel monsterLevel = ro.entity.getComponent(MonsterLevel.class);
-                NameTag nameTag = ro.entity.getComponent(NameTag.class);
-                
-                if (monsterLevel != null && nameTag != null && nameTag.visible) {
-                    drawMonsterLevelBadgeOnly(g, screenX, screenY, monsterLevel);
+            if (ro.type == EntityType.MONSTER) {
+                if (ro.monsterLevel >= 0 && ro.nameVisible) {
+                    drawMonsterLevelBadgeOnly(g, screenX, screenY, ro.monsterLevel, ro.tier);
                 }
             }
-            else if (ro.entity.getType() == EntityType.PLAYER) {
-                Experience exp = ro.entity.getComponent(Experience.class);
-                if (exp != null) {
-                    drawLevelBadgeOnly(g, screenX, screenY, exp.level);
+            else if (ro.type == EntityType.PLAYER) {
+                if (ro.playerLevel >= 0) {
+                    drawLevelBadgeOnly(g, screenX, screenY, ro.playerLevel);
                 }
             }
         }
@@ -265,14 +434,12 @@ public class Renderer {
         g.setFont(NAME_FONT);
         
         for (RenderObject ro : sortedRenderObjects) {
-            Dead dead = ro.entity.getComponent(Dead.class);
-            if (dead != null) continue;
+            if (ro.dead) continue;
             
-            NameTag nameTag = ro.entity.getComponent(NameTag.class);
-            if (nameTag != null && nameTag.visible) {
-                int screenX = (int)Math.round(ro.position.x - cameraX);
-                int screenY = (int)Math.round(ro.position.y - cameraY);
-                drawNameTagOnly(g, screenX, screenY, nameTag, ro.entity);
+            if (ro.nameVisible) {
+                int screenX = (int)Math.round(ro.x - cameraX);
+                int screenY = (int)Math.round(ro.y - cameraY);
+                drawNameTagOnly(g, screenX, screenY, ro);
             }
         }
         
@@ -280,35 +447,28 @@ public class Renderer {
         // BATCH 4: HEALTH/STAMINA/MANA BARS (NO FONT NEEDED)
         // ========================================
         for (RenderObject ro : sortedRenderObjects) {
-            Dead dead = ro.entity.getComponent(Dead.class);
-            if (dead != null) continue;
-            
-            int screenX = (int)Math.round(ro.position.x - cameraX);
-            int screenY = (int)Math.round(ro.position.y - cameraY);
+            if (ro.dead) continue;
             
-            Stats stats = ro.entity.getComponent(Stats.class);
+            int screenX = (int)Math.round(ro.x - cameraX);
+            int screenY = (int)Math.round(ro.y - cameraY);
             
             // Health bar
-            HealthBar hpBar = ro.entity.getComponent(HealthBar.class);
-            if (stats != null && hpBar != null) {
-                drawHealthBar(g, screenX, screenY, stats, hpBar, ro);
+            if (ro.hasStats && ro.hpBar != null) {
+                drawHealthBar(g, screenX, screenY, ro);
             }
             
             // Player-specific bars
-            if (ro.entity.getType() == EntityType.PLAYER) {
-                StaminaBar staminaBar = ro.entity.getComponent(StaminaBar.class);
-                if (stats != null && staminaBar != null) {
-                    drawStaminaBar(g, screenX, screenY, stats, staminaBar);
+            if (ro.type == EntityType.PLAYER) {
+                if (ro.hasStats && ro.staminaBar != null) {
+                    drawStaminaBar(g, screenX, screenY, ro);
                 }
                 
-                ManaBar manaBar = ro.entity.getComponent(ManaBar.class);
-                if (stats != null && manaBar != null) {
-                    drawManaBar(g, screenX, screenY, stats, manaBar);
+                if (ro.hasStats && ro.manaBar != null) {
+                    drawManaBar(g, screenX, screenY, ro);
                 }
                 
-                Experience exp = ro.entity.getComponent(Experience.class);
-                if (exp != null) {
-                    drawXPBar(g, screenX, screenY, exp);
+                if (ro.playerLevel >= 0) {
+                    drawXPBar(g, screenX, screenY, ro.xpProgress);
                 }
             }
         }
@@ -318,8 +478,7 @@ public class Renderer {
         // ========================================
         boolean hasLevelUps = false;
         for (RenderObject ro : sortedRenderObjects) {
-            LevelUpEffect levelUpEffect = ro.entity.getComponent(LevelUpEffect.class);
-            if (levelUpEffect != null && levelUpEffect.active) {
+            if (ro.levelUpActive) {
                 hasLevelUps = true;
                 break;
             }
@@ -328,13 +487,10 @@ public class Renderer {
         if (hasLevelUps) {
             g.setFont(LEVELUP_FONT);
             for (RenderObject ro : sortedRenderObjects) {
-                if (ro.entity.getType() == EntityType.PLAYER) {
-                    LevelUpEffect levelUpEffect = ro.entity.getComponent(LevelUpEffect.class);
-                    if (levelUpEffect != null && levelUpEffect.active) {
-                        int screenX = (int)Math.round(ro.position.x - cameraX);
-                        int screenY = (int)Math.round(ro.position.y - cameraY);
-                        drawLevelUpEffectOnly(g, screenX, screenY, levelUpEffect);
-                    }
+                if (ro.type == EntityType.PLAYER && ro.levelUpActive) {
+                    int screenX = (int)Math.round(ro.x - cameraX);
+                    int screenY = (int)Math.round(ro.y - cameraY);
+                    drawLevelUpEffectOnly(g, screenX, screenY, ro);
                 }
             }
         }
@@ -354,7 +510,7 @@ public class Renderer {
         
         drawDebugSpawnPoints(g, cameraX, cameraY);
         
-        for (Entity entity : gameState.getEntities()) {
+        for (Entity entity : gameState.query(Position.class)) {
             Position pos = entity.getComponent(Position.class);
             
             if (pos != null) {
@@ -384,85 +540,77 @@ public class Renderer {
     // INDIVIDUAL DRAWING METHODS (NO FONT SETTING)
     // ========================================
     
-    private void drawMonsterLevelBadgeOnly(Graphics2D g, int spriteX, int spriteY, MonsterLevel monsterLevel) {
+    private void drawMonsterLevelBadgeOnly(Graphics2D g, int spriteX, int spriteY, int level, MobTier tier) {
         // Font already set to LEVEL_BADGE_FONT
-        String levelText = "Lv" + monsterLevel.level;
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(levelText);
+        String levelText = "Lv" + level;
+        int textWidth = textCache.stringWidth(LEVEL_BADGE_FONT, levelText);
         
-        int badgeX = spriteX + 20;
-        int badgeY = spriteY - 30;
+        int badgeX = spriteX + MONSTER_BADGE_X;
+        int badgeY = spriteY + MONSTER_BADGE_Y;
+        int ovalX = badgeX - MONSTER_BADGE_WIDTH / 2;
+        int ovalY = badgeY - MONSTER_BADGE_HEIGHT / 2;
         
-        Color tierColor = getTierColor(monsterLevel.tier);
+        Color tierColor = getTierColor(tier);
         
         g.setColor(new Color(0, 0, 0, 180));
-        g.fillOval(badgeX - 10, badgeY - 6, 20, 12);
+        g.fillOval(ovalX, ovalY, MONSTER_BADGE_WIDTH, MONSTER_BADGE_HEIGHT);
         
         g.setColor(tierColor);
         g.setStroke(new BasicStroke(1.5f));
-        g.drawOval(badgeX - 10, badgeY - 6, 20, 12);
+        g.drawOval(ovalX, ovalY, MONSTER_BADGE_WIDTH, MONSTER_BADGE_HEIGHT);
         
-        g.setColor(Color.WHITE);
-        g.drawString(levelText, badgeX - textWidth/2, badgeY + 3);
+        textCache.drawString(g, levelText, LEVEL_BADGE_FONT, Color.WHITE, null, 0, badgeX - textWidth/2, badgeY + 3);
     }
     
-    private void drawNameTagOnly(Graphics2D g, int spriteX, int spriteY, NameTag tag, Entity entity) {
+    private void drawNameTagOnly(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         // Font already set to NAME_FONT
-        String displayName = tag.displayName;
+        String displayName = ro.displayName;
         Color nameColor = Color.WHITE;
         
-        if (entity.getType() == EntityType.MONSTER) {
-            MonsterLevel monsterLevel = entity.getComponent(MonsterLevel.class);
-            if (monsterLevel != null) {
-                String tierPrefix = getTierPrefix(monsterLevel.tier);
-                if (tierPrefix != null) {
-                    displayName = tierPrefix + displayName;
-                }
-                nameColor = getTierColor(monsterLevel.tier);
+        if (ro.type == EntityType.MONSTER && ro.tier != null) {
+            String tierPrefix = getTierPrefix(ro.tier);
+            if (tierPrefix != null) {
+                displayName = tierPrefix + displayName;
             }
+            nameColor = getTierColor(ro.tier);
         }
         
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(displayName);
+        int textWidth = textCache.stringWidth(NAME_FONT, displayName);
         
         int textX = spriteX - textWidth / 2;
-        int textY = (int)(spriteY + tag.offsetY);
-        
-        g.setColor(Color.BLACK);
-        g.drawString(displayName, textX + 1, textY + 1);
+        int textY = (int)(spriteY + ro.nameOffsetY);
         
-        g.setColor(nameColor);
-        g.drawString(displayName, textX, textY);
+        textCache.drawString(g, displayName, NAME_FONT, nameColor, Color.BLACK, 1, textX, textY);
     }
     
     private void drawLevelBadgeOnly(Graphics2D g, int spriteX, int spriteY, int level) {
         // Font already set to LEVEL_BADGE_FONT
         String levelText = "Lv" + level;
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(levelText);
+        int textWidth = textCache.stringWidth(LEVEL_BADGE_FONT, levelText);
         
-        int badgeX = spriteX - 25;
-        int badgeY = spriteY - 35;
+        int badgeX = spriteX + PLAYER_BADGE_X;
+        int badgeY = spriteY + PLAYER_BADGE_Y;
+        int ovalX = badgeX - PLAYER_BADGE_WIDTH / 2;
+        int ovalY = badgeY - PLAYER_BADGE_HEIGHT / 2;
         
         g.setColor(new Color(0, 0, 0, 180));
-        g.fillOval(badgeX - 12, badgeY - 8, 24, 16);
+        g.fillOval(ovalX, ovalY, PLAYER_BADGE_WIDTH, PLAYER_BADGE_HEIGHT);
         
         g.setColor(new Color(255, 215, 0));
         g.setStroke(new BasicStroke(2));
-        g.drawOval(badgeX - 12, badgeY - 8, 24, 16);
+        g.drawOval(ovalX, ovalY, PLAYER_BADGE_WIDTH, PLAYER_BADGE_HEIGHT);
         
-        g.setColor(Color.WHITE);
-        g.drawString(levelText, badgeX - textWidth/2, badgeY + 4);
+        textCache.drawString(g, levelText, LEVEL_BADGE_FONT, Color.WHITE, null, 0, badgeX - textWidth/2, badgeY + 4);
     }
     
-    private void drawLevelUpEffectOnly(Graphics2D g, int spriteX, int spriteY, LevelUpEffect effect) {
+    private void drawLevelUpEffectOnly(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         // Font already set to LEVELUP_FONT
-        if (!effect.active) return;
+        if (!ro.levelUpActive) return;
         
-        float alpha = effect.getAlpha();
+        float alpha = ro.levelUpAlpha;
         int alphaVal = (int)(alpha * 200);
         
-        int radius = (int)(30 + (1 - alpha) * 20);
+        int radius = (int)(LEVELUP_RING_RADIUS + (1 - alpha) * LEVELUP_GROWTH);
         g.setColor(new Color(255, 255, 0, alphaVal / 2));
         g.fillOval(spriteX - radius, spriteY - radius, radius * 2, radius * 2);
         
@@ -470,41 +618,33 @@ public class Renderer {
         g.setStroke(new BasicStroke(3));
         g.drawOval(spriteX - radius, spriteY - radius, radius * 2, radius * 2);
         
-        String text = "LEVEL " + effect.newLevel;
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(text);
-        
-        int textY = spriteY - 50 - (int)((1 - alpha) * 20);
+        String text = "LEVEL " + ro.levelUpLevel;
+        int textWidth = textCache.stringWidth(LEVELUP_FONT, text);
         
-        g.setColor(new Color(0, 0, 0, alphaVal));
-        g.drawString(text, spriteX - textWidth/2 + 2, textY + 2);
+        int textY = spriteY + LEVELUP_TEXT_Y - (int)((1 - alpha) * LEVELUP_GROWTH);
         
-        g.setColor(new Color(255, 215, 0, alphaVal));
-        g.drawString(text, spriteX - textWidth/2, textY);
+        textCache.drawString(g, text, LEVELUP_FONT, LEVELUP_COLOR, Color.BLACK, 2,
+                             spriteX - textWidth/2, textY, alphaVal / 255f);
     }
     
-    private void drawAlertOnly(Graphics2D g, int spriteX, int spriteY, Alert alert) {
+    private void drawAlertOnly(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         // Font already set to ALERT_FONT
-        if (!alert.active) return;
+        if (!ro.alertActive) return;
         
         Stroke originalStroke = g.getStroke();
         
         int alertX = spriteX;
-        int alertY = (int)(spriteY + alert.offsetY + alert.bounceOffset);
+        int alertY = (int)(spriteY + ro.alertY);
         
         String exclamation = "!";
-        FontMetrics fm = g.getFontMetrics();
+        FontMetrics fm = textCache.getFontMetrics(ALERT_FONT);
         int textWidth = fm.stringWidth(exclamation);
         int textHeight = fm.getHeight();
         
         int textX = alertX - textWidth / 2;
         int textY = alertY + textHeight / 4;
         
-        g.setColor(new Color(0, 0, 0, 150));
-        g.drawString(exclamation, textX + 1, textY + 1);
-        
-        g.setColor(new Color(255, 0, 0, 255));
-        g.drawString(exclamation, textX, textY);
+        textCache.drawString(g, exclamation, ALERT_FONT, ALERT_COLOR, ALERT_SHADOW, 1, textX, textY);
         
         g.setStroke(originalStroke);
     }
@@ -527,22 +667,23 @@ public class Renderer {
         }
     }
     
-    private void drawHealthBar(Graphics2D g, int spriteX, int spriteY, Stats hp, HealthBar bar, RenderObject ro) {
+    private void drawHealthBar(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         Stroke originalStroke = g.getStroke();
+        HealthBar bar = ro.hpBar;
         
         int barX = spriteX - bar.width / 2;
         int barY = spriteY + bar.offsetY;
         
-        float pct = (float) hp.hp / hp.maxHp;
+        float pct = (float) ro.hp / ro.maxHp;
         pct = Math.max(0f, Math.min(1f, pct));
         
-        if (hp.hp > 0 && pct < 0.10f) {
+        if (ro.hp > 0 && pct < 0.10f) {
             pct = 0.10f;
         }
         
         int filledWidth = (int)(bar.width * pct);
         
-        EntityType et = ro.entity.getType();
+        EntityType et = ro.type;
         Color hpColor = Color.GREEN; //default
         if(et != null)  {//is this needed?
             if(et == EntityType.PLAYER) {
@@ -568,13 +709,14 @@ public class Renderer {
         g.setStroke(originalStroke);
     }
     
-    private void drawStaminaBar(Graphics2D g, int spriteX, int spriteY, Stats stats, StaminaBar bar) {
+    private void drawStaminaBar(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         Stroke originalStroke = g.getStroke();
+        StaminaBar bar = ro.staminaBar;
         
         int barX = spriteX - bar.width / 2;
         int barY = spriteY + bar.offsetY;
         
-        float pct = stats.stamina / stats.maxStamina;
+        float pct = ro.stamina / ro.maxStamina;
         pct = Math.max(0f, Math.min(1f, pct));
         
         int filledWidth = (int)(bar.width * pct);
@@ -592,13 +734,14 @@ public class Renderer {
         g.setStroke(originalStroke);
     }
     
-    private void drawManaBar(Graphics2D g, int spriteX, int spriteY, Stats stats, ManaBar bar) {
+    private void drawManaBar(Graphics2D g, int spriteX, int spriteY, RenderObject ro) {
         Stroke originalStroke = g.getStroke();
+        ManaBar bar = ro.manaBar;
         
         int barX = spriteX - bar.width / 2;
         int barY = spriteY + bar.offsetY;
         
-        float pct = (float) stats.mana / stats.maxMana;
+        float pct = (float) ro.mana / ro.maxMana;
         pct = Math.max(0f, Math.min(1f, pct));
         
         int filledWidth = (int)(bar.width * pct);
@@ -616,17 +759,17 @@ public class Renderer {
         g.setStroke(originalStroke);
     }
     
-    private void drawXPBar(Graphics2D g, int spriteX, int spriteY, Experience exp) {
+    private void drawXPBar(Graphics2D g, int spriteX, int spriteY, float xpProgress) {
         Stroke originalStroke = g.getStroke();
         
-        int barWidth = 40;
-        int barHeight = 3;
-        int offsetY = 52;
+        int barWidth = XP_BAR_WIDTH;
+        int barHeight = XP_BAR_HEIGHT;
+        int offsetY = XP_BAR_OFFSET_Y;
         
         int barX = spriteX - barWidth / 2;
         int barY = spriteY + offsetY;
         
-        float pct = exp.getXPProgress();
+        float pct = xpProgress;
         int filledWidth = (int)(barWidth * pct);
         
         g.setColor(new Color(40, 40, 40));
@@ -643,53 +786,33 @@ public class Renderer {
     }
     
     // ★★★ OPTIMIZED: Batched damage text rendering
-    private void drawDamageTexts(Graphics2D g, float cameraX, float cameraY) {
-        Font originalFont = g.getFont();
-        
-        // Draw all normal damage texts
-        g.setFont(DAMAGE_FONT);
-        for (DamageText dt : gameState.getDamageTexts()) {
-            if (dt.type != DamageText.Type.CRITICAL && 
-                dt.type != DamageText.Type.PLAYER_CRITICAL_DAMAGE) {
-                drawSingleDamageText(g, dt, cameraX, cameraY);
+    private void drawDamageTexts(Graphics2D g, WorldSnapshot snapshot, float cameraX, float cameraY) {
+        // Normal hits first, crits on top
+        for (WorldSnapshot.TextView dt : snapshot.damageTexts) {
+            if (!dt.critical) {
+                drawSingleDamageText(g, dt, DAMAGE_FONT, cameraX, cameraY);
             }
         }
         
-        // Draw all critical damage texts
-        g.setFont(DAMAGE_CRIT_FONT);
-        for (DamageText dt : gameState.getDamageTexts()) {
-            if (dt.type == DamageText.Type.CRITICAL || 
-                dt.type == DamageText.Type.PLAYER_CRITICAL_DAMAGE) {
-                drawSingleDamageText(g, dt, cameraX, cameraY);
+        for (WorldSnapshot.TextView dt : snapshot.damageTexts) {
+            if (dt.critical) {
+                drawSingleDamageText(g, dt, DAMAGE_CRIT_FONT, cameraX, cameraY);
             }
         }
-        
-        g.setFont(originalFont);
     }
     
-    private void drawSingleDamageText(Graphics2D g, DamageText dt, float cameraX, float cameraY) {
+    private void drawSingleDamageText(Graphics2D g, WorldSnapshot.TextView dt, Font font, float cameraX, float cameraY) {
         int screenX = (int)(dt.worldX - cameraX);
         int screenY = (int)(dt.worldY - cameraY);
         
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(dt.text);
+        int textWidth = textCache.stringWidth(font, dt.text);
         
         int textX = screenX - textWidth / 2;
         int textY = screenY;
         
-        int alpha = (int)(dt.getAlpha() * 255);
-        
-        g.setColor(new Color(0, 0, 0, alpha));
-        g.drawString(dt.text, textX + 2, textY + 2);
-        
-        Color textColor = new Color(
-            dt.color.getRed(),
-            dt.color.getGreen(),
-            dt.color.getBlue(),
-            alpha
-        );
-        g.setColor(textColor);
-        g.drawString(dt.text, textX, textY);
+        // Numbers come from the digit strip, "MISS" from the LRU; fading is
+        // a cached composite instead of two new Colors per text
+        textCache.drawString(g, dt.text, font, dt.color, Color.BLACK, 2, textX, textY, dt.alpha);
     }
      
     private void drawCollisionBox(Graphics2D g, Position pos, CollisionBox box, float cameraX, float cameraY) {
@@ -815,8 +938,7 @@ public class Renderer {
             g.drawString("HASTE", screenX - 20, screenY - 50);
         }
         
-        Font infoFont = new Font("Arial", Font.PLAIN, 10);
-        g.setFont(infoFont);
+        g.setFont(DEBUG_INFO_FONT);
         g.setColor(Color.WHITE);
         
         int textY = screenY - 60;
@@ -0,0 +1,161 @@
+package dev.main.render;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import dev.main.Engine;
+import dev.main.entity.Entity;
+import dev.main.input.Position;
+import dev.main.sprite.Sprite;
+import dev.main.state.GameState;
+import dev.main.tile.TileMap;
+
+/**
+ * Captures WorldSnapshots for one game, reusing what it can between frames.
+ *
+ * - Only entities the spatial grid finds around the camera become render
+ *   objects, so cost follows what's on screen, not the world population.
+ * - Whole snapshots are pooled, render objects and markers included. A
+ *   snapshot goes back to the pool when release() says the renderer is
+ *   done with it, so a loop that captures, draws and releases reuses one
+ *   snapshot every frame.
+ * - Objects start in last frame's draw order and are insertion-sorted on
+ *   depth. Entities move a few pixels per frame, so the list is already
+ *   nearly sorted and the sort is close to linear.
+ *
+ * capture() must run on the thread that owns the simulation; release()
+ * may be called from the render thread.
+ */
+public class SnapshotBuilder {
+
+    // Largest sprite / name tag reach from an entity's position, in pixels
+    private static final int CULL_MARGIN = 2 * TileMap.TILE_SIZE;
+
+    private final ConcurrentLinkedQueue<WorldSnapshot> freeSnapshots = new ConcurrentLinkedQueue<>();
+
+    // Simulation-thread scratch, reused every capture
+    private final List<Entity> visible = new ArrayList<>();
+    private final List<Entity> newcomers = new ArrayList<>();
+    private final Map<Entity, Integer> previousRank = new IdentityHashMap<>();
+    private Entity[] rankSlots = new Entity[0];
+
+    /**
+     * Copy the current world state into a snapshot.
+     */
+    public WorldSnapshot capture(GameState state) {
+        float cameraX = state.getCameraX();
+        float cameraY = state.getCameraY();
+
+        // Frustum cull through the spatial grid: only entities in (or within
+        // a sprite's reach of) the viewport become render objects
+        visible.clear();
+        state.getSpatialGrid().queryRect(
+            cameraX - CULL_MARGIN, cameraY - CULL_MARGIN,
+            cameraX + Engine.WIDTH + CULL_MARGIN, cameraY + Engine.HEIGHT + CULL_MARGIN,
+            visible);
+
+        // Put last frame's entities back in last frame's order, new ones after
+        int previousCount = previousRank.size();
+        if (rankSlots.length < previousCount) {
+            rankSlots = new Entity[previousCount];
+        }
+        newcomers.clear();
+        int drawable = 0;
+        for (int i = 0, n = visible.size(); i < n; i++) {
+            Entity entity = visible.get(i);
+            Renderable renderable = entity.getComponent(Renderable.class);
+            if (renderable == null || renderable.layer != RenderLayer.ENTITIES || !entity.hasComponent(Sprite.class)) {
+                continue;
+            }
+            drawable++;
+            Integer rank = previousRank.get(entity);
+            if (rank != null) {
+                rankSlots[rank] = entity;
+            } else {
+                newcomers.add(entity);
+            }
+        }
+
+        WorldSnapshot snapshot = takeSnapshot(drawable);
+        RenderObject[] objects = snapshot.objects;
+        int count = 0;
+        for (int rank = 0; rank < previousCount; rank++) {
+            Entity entity = rankSlots[rank];
+            if (entity != null) {
+                rankSlots[rank] = null;
+                count = add(objects, count, entity);
+            }
+        }
+        for (int i = 0, n = newcomers.size(); i < n; i++) {
+            count = add(objects, count, newcomers.get(i));
+        }
+
+        insertionSort(objects, count);
+
+        previousRank.clear();
+        for (int i = 0; i < count; i++) {
+            previousRank.put(objects[i].entity, i);
+        }
+        // Leftovers from the last time this snapshot was used
+        for (int i = count; i < snapshot.objectCount; i++) {
+            objects[i].clear();
+        }
+
+        snapshot.objectCount = count;
+        snapshot.fill(state);
+        return snapshot;
+    }
+
+    /**
+     * The renderer is finished with this snapshot: its render objects can
+     * be reused. Don't touch the snapshot afterwards.
+     */
+    public void release(WorldSnapshot snapshot) {
+        if (snapshot.owner == this && snapshot.markReleased()) {
+            freeSnapshots.offer(snapshot);
+        }
+    }
+
+    private WorldSnapshot takeSnapshot(int objectCount) {
+        WorldSnapshot snapshot = freeSnapshots.poll();
+        if (snapshot == null) {
+            snapshot = new WorldSnapshot(this);
+        }
+        snapshot.acquire();
+        if (snapshot.objects.length < objectCount) {
+            // Grow with headroom; the old objects are still worth keeping
+            RenderObject[] grown = new RenderObject[objectCount + objectCount / 2];
+            System.arraycopy(snapshot.objects, 0, grown, 0, snapshot.objects.length);
+            snapshot.objects = grown;
+        }
+        return snapshot;
+    }
+
+    private static int add(RenderObject[] objects, int count, Entity entity) {
+        RenderObject ro = objects[count];
+        if (ro == null) {
+            ro = new RenderObject();
+            objects[count] = ro;
+        }
+        ro.capture(entity, entity.getComponent(Position.class), entity.getComponent(Renderable.class));
+        return count + 1;
+    }
+
+    // Stable, and linear when only a few objects are out of place
+    private static void insertionSort(RenderObject[] objects, int count) {
+        for (int i = 1; i < count; i++) {
+            RenderObject ro = objects[i];
+            int j = i - 1;
+            if (objects[j].compareTo(ro) <= 0) continue;
+
+            while (j >= 0 && objects[j].compareTo(ro) > 0) {
+                objects[j + 1] = objects[j];
+                j--;
+            }
+            objects[j + 1] = ro;
+        }
+    }
+}
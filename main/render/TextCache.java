@@ -0,0 +1,293 @@
+package dev.main.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.main.sprite.TextureAtlas;
+
+/**
+ * Draws short outlined/shadowed strings from cached images instead of
+ * running the font rasterizer twice per string per frame.
+ *
+ * Each (text, font, color, shadow) is rasterized once into a small image;
+ * up to MAX_ENTRIES / MAX_PIXELS of them are kept, least recently drawn
+ * evicted first. Numbers ("1234", "+50", "-7") are assembled from a per
+ * font/color digit strip instead, so a fight full of different damage
+ * values doesn't flood the cache.
+ *
+ * Fading text is drawn through a cached AlphaComposite rather than a new
+ * Color per frame. Not thread-safe: use from the render thread only.
+ */
+public class TextCache {
+
+    private static final int MAX_ENTRIES = 512;
+    private static final int MAX_PIXELS = 2 * 1024 * 1024;
+
+    // Characters a digit strip can draw
+    private static final String DIGITS = "0123456789+-";
+
+    // Fade levels; alpha is rounded to the nearest one
+    private static final int ALPHA_LEVELS = 32;
+    private static final AlphaComposite[] FADES = new AlphaComposite[ALPHA_LEVELS + 1];
+    static {
+        for (int i = 0; i <= ALPHA_LEVELS; i++) {
+            FADES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / ALPHA_LEVELS);
+        }
+    }
+
+    /**
+     * A rasterized string. The image's (originX, originY) pixel is the
+     * string's baseline start, i.e. where drawString would have put it.
+     */
+    private static final class Entry {
+        final BufferedImage image;
+        final int originX, originY;
+
+        Entry(BufferedImage image, int originX, int originY) {
+            this.image = image;
+            this.originX = originX;
+            this.originY = originY;
+        }
+    }
+
+    /**
+     * Digits of one font/color/shadow, side by side in one image.
+     */
+    private static final class DigitStrip {
+        final BufferedImage image;
+        final int[] cellX = new int[DIGITS.length()];
+        final int[] advance = new int[DIGITS.length()];
+        final int cellWidthExtra;  // shadow reach past the advance
+        final int originY;
+
+        DigitStrip(BufferedImage image, int cellWidthExtra, int originY) {
+            this.image = image;
+            this.cellWidthExtra = cellWidthExtra;
+            this.originY = originY;
+        }
+    }
+
+    private static final class Key {
+        String text;
+        Font font;
+        int rgb;
+        int shadowArgb;
+        int shadowOffset;
+
+        Key set(String text, Font font, Color color, Color shadow, int shadowOffset) {
+            this.text = text;
+            this.font = font;
+            this.rgb = color.getRGB();
+            this.shadowArgb = shadow != null ? shadow.getRGB() : 0;
+            this.shadowOffset = shadow != null ? shadowOffset : 0;
+            return this;
+        }
+
+        Key copy() {
+            Key key = new Key();
+            key.text = text;
+            key.font = font;
+            key.rgb = rgb;
+            key.shadowArgb = shadowArgb;
+            key.shadowOffset = shadowOffset;
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return rgb == k.rgb && shadowArgb == k.shadowArgb && shadowOffset == k.shadowOffset &&
+                   (text == null ? k.text == null : text.equals(k.text)) && font.equals(k.font);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = text != null ? text.hashCode() : 0;
+            h = 31 * h + font.hashCode();
+            h = 31 * h + rgb;
+            h = 31 * h + shadowArgb;
+            return 31 * h + shadowOffset;
+        }
+    }
+
+    // Access-ordered: iteration starts at the least recently drawn
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, DigitStrip> digitStrips = new HashMap<>();
+    private final Map<Font, FontMetrics> metrics = new HashMap<>();
+    private final Key lookup = new Key();
+    private int cachedPixels;
+
+    // Only used for FontMetrics
+    private final Graphics2D measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    /**
+     * Same as g.drawString(text, x, y) in the given font and color, with an
+     * optional drop shadow (shadow != null) offset down-right by
+     * shadowOffset pixels, faded by alpha (0-1).
+     */
+    public void drawString(Graphics2D g, String text, Font font, Color color,
+                           Color shadow, int shadowOffset, int x, int y, float alpha) {
+        if (text == null || text.isEmpty() || alpha <= 0f) return;
+
+        Composite original = null;
+        if (alpha < 1f) {
+            original = g.getComposite();
+            g.setComposite(FADES[Math.round(Math.min(alpha, 1f) * ALPHA_LEVELS)]);
+        }
+
+        lookup.set(text, font, color, shadow, shadowOffset);
+        if (isNumber(text)) {
+            drawNumber(g, text, x, y);
+        } else {
+            Entry entry = getEntry();
+            g.drawImage(entry.image, x - entry.originX, y - entry.originY, null);
+        }
+
+        if (original != null) {
+            g.setComposite(original);
+        }
+    }
+
+    public void drawString(Graphics2D g, String text, Font font, Color color, Color shadow, int shadowOffset, int x, int y) {
+        drawString(g, text, font, color, shadow, shadowOffset, x, y, 1f);
+    }
+
+    /**
+     * Cached FontMetrics, for centering text without a Graphics at hand.
+     */
+    public FontMetrics getFontMetrics(Font font) {
+        FontMetrics fm = metrics.get(font);
+        if (fm == null) {
+            fm = measure.getFontMetrics(font);
+            metrics.put(font, fm);
+        }
+        return fm;
+    }
+
+    public int stringWidth(Font font, String text) {
+        return getFontMetrics(font).stringWidth(text);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+        digitStrips.clear();
+        cachedPixels = 0;
+    }
+
+    private Entry getEntry() {
+        Entry entry = entries.get(lookup);
+        if (entry != null) return entry;
+
+        entry = rasterize(lookup.text, lookup);
+        entries.put(lookup.copy(), entry);
+        cachedPixels += entry.image.getWidth() * entry.image.getHeight();
+        evict();
+        return entry;
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > MAX_ENTRIES || cachedPixels > MAX_PIXELS) && it.hasNext()) {
+            Entry eldest = it.next();
+            cachedPixels -= eldest.image.getWidth() * eldest.image.getHeight();
+            it.remove();
+        }
+    }
+
+    private Entry rasterize(String text, Key key) {
+        FontMetrics fm = getFontMetrics(key.font);
+        int width = Math.max(1, fm.stringWidth(text)) + key.shadowOffset + 2;
+        int height = fm.getHeight() + key.shadowOffset + 2;
+        int originX = 1;
+        int originY = fm.getAscent() + 1;
+
+        BufferedImage image = TextureAtlas.createCompatibleImage(width, height);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setFont(key.font);
+            if (key.shadowOffset != 0 || key.shadowArgb != 0) {
+                g.setColor(new Color(key.shadowArgb, true));
+                g.drawString(text, originX + key.shadowOffset, originY + key.shadowOffset);
+            }
+            g.setColor(new Color(key.rgb, true));
+            g.drawString(text, originX, originY);
+        } finally {
+            g.dispose();
+        }
+        return new Entry(image, originX, originY);
+    }
+
+    // Glyph by glyph from the digit strip, advancing like drawString would
+    private void drawNumber(Graphics2D g, String text, int x, int y) {
+        DigitStrip strip = digitStrips.get(lookup);
+        if (strip == null) {
+            strip = buildDigitStrip(lookup);
+            digitStrips.put(lookup.copy(), strip);
+        }
+
+        int top = y - strip.originY;
+        int height = strip.image.getHeight();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            int glyph = DIGITS.indexOf(text.charAt(i));
+            int width = strip.advance[glyph] + strip.cellWidthExtra;
+            int sx = strip.cellX[glyph];
+            g.drawImage(strip.image, x - 1, top, x - 1 + width, top + height, sx, 0, sx + width, height, null);
+            x += strip.advance[glyph];
+        }
+    }
+
+    private DigitStrip buildDigitStrip(Key key) {
+        FontMetrics fm = getFontMetrics(key.font);
+        int extra = key.shadowOffset + 2;
+        int totalWidth = 0;
+        for (int i = 0; i < DIGITS.length(); i++) {
+            totalWidth += fm.charWidth(DIGITS.charAt(i)) + extra;
+        }
+        int height = fm.getHeight() + key.shadowOffset + 2;
+
+        BufferedImage image = TextureAtlas.createCompatibleImage(totalWidth, height);
+        DigitStrip strip = new DigitStrip(image, extra, fm.getAscent() + 1);
+
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setFont(key.font);
+            int cellX = 0;
+            for (int i = 0; i < DIGITS.length(); i++) {
+                String glyph = String.valueOf(DIGITS.charAt(i));
+                strip.cellX[i] = cellX;
+                strip.advance[i] = fm.charWidth(DIGITS.charAt(i));
+                if (key.shadowOffset != 0 || key.shadowArgb != 0) {
+                    g.setColor(new Color(key.shadowArgb, true));
+                    g.drawString(glyph, cellX + 1 + key.shadowOffset, strip.originY + key.shadowOffset);
+                }
+                g.setColor(new Color(key.rgb, true));
+                g.drawString(glyph, cellX + 1, strip.originY);
+                cellX += strip.advance[i] + extra;
+            }
+        } finally {
+            g.dispose();
+        }
+        return strip;
+    }
+
+    private static boolean isNumber(String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (DIGITS.indexOf(text.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+}
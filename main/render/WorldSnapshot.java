@@ -0,0 +1,214 @@
+package dev.main.render;
+
+import java.awt.Color;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import dev.main.entity.Entity;
+import dev.main.entity.EntityType;
+import dev.main.entity.Query;
+import dev.main.entity.TargetIndicator;
+import dev.main.input.Position;
+import dev.main.quest.QuestIndicator;
+import dev.main.state.GameState;
+import dev.main.tile.TileMap;
+import dev.main.util.DamageText;
+import dev.main.util.Dead;
+
+/**
+ * Copy of everything the world render passes need for one frame.
+ *
+ * Captured on the simulation thread at the end of a tick and handed to the
+ * render thread, so drawing never iterates the live entity list. Snapshots
+ * are pooled by their SnapshotBuilder: one is only written while it's out
+ * of circulation, and is read-only from capture until it's released back.
+ */
+public final class WorldSnapshot {
+
+    public float cameraX;
+    public float cameraY;
+    public float gameTime;
+
+    /** Map at capture time, so a portal swap can't mix two maps in one frame */
+    public TileMap map;
+
+    /** ENTITIES-layer objects, already sorted by layer then depth */
+    public final List<RenderObject> renderObjects = new RenderObjectList();
+    public final List<GroundMarker> groundMarkers;
+    public final List<QuestMarker> questMarkers;
+    public final List<TextView> damageTexts;
+
+    // Backing store of renderObjects; the first objectCount are this frame's
+    RenderObject[] objects = new RenderObject[16];
+    int objectCount;
+
+    private final Slots<GroundMarker> ground = new Slots<>(GroundMarker::new);
+    private final Slots<QuestMarker> quests = new Slots<>(QuestMarker::new);
+    private final Slots<TextView> texts = new Slots<>(TextView::new);
+
+    // HUD painted on the simulation thread (threaded loop only)
+    OverlayLayer overlay;
+
+    final SnapshotBuilder owner;
+    private boolean released;
+
+    public static final class GroundMarker {
+        public float worldX, worldY, pulseScale;
+
+        void set(TargetIndicator indicator) {
+            this.worldX = indicator.worldX;
+            this.worldY = indicator.worldY;
+            this.pulseScale = indicator.pulseScale;
+        }
+    }
+
+    public static final class QuestMarker {
+        public float x, y;
+        public String symbol;
+        public Color color;
+
+        void set(Position pos, QuestIndicator qi) {
+            this.x = pos.x;
+            this.y = pos.y + qi.offsetY + qi.bounceOffset;
+            this.symbol = qi.getSymbol();
+            this.color = qi.getColor();
+        }
+    }
+
+    public static final class TextView {
+        public String text;
+        public boolean critical;
+        public float worldX, worldY;
+        public float alpha;
+        public Color color;
+
+        void set(DamageText dt) {
+            this.text = dt.text;
+            this.critical = dt.type == DamageText.Type.CRITICAL ||
+                            dt.type == DamageText.Type.PLAYER_CRITICAL_DAMAGE;
+            this.worldX = dt.worldX;
+            this.worldY = dt.worldY;
+            this.alpha = dt.getAlpha();
+            this.color = dt.color;
+        }
+    }
+
+    /**
+     * Read-only view of the first `size` elements of a list whose element
+     * objects are kept and rewritten from one capture to the next.
+     */
+    private static final class Slots<T> extends AbstractList<T> {
+        private final List<T> store = new ArrayList<>();
+        private final Supplier<T> factory;
+        private int size;
+
+        Slots(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T next() {
+            if (size == store.size()) {
+                store.add(factory.get());
+            }
+            return store.get(size++);
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index >= size) throw new IndexOutOfBoundsException(index + " >= " + size);
+            return store.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class RenderObjectList extends AbstractList<RenderObject> {
+        @Override
+        public RenderObject get(int index) {
+            if (index >= objectCount) throw new IndexOutOfBoundsException(index + " >= " + objectCount);
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return objectCount;
+        }
+    }
+
+    WorldSnapshot(SnapshotBuilder owner) {
+        this.owner = owner;
+        this.groundMarkers = ground;
+        this.questMarkers = quests;
+        this.damageTexts = texts;
+    }
+
+    /**
+     * Copy the camera and the marker/text layers. Render objects are filled
+     * in by the builder.
+     */
+    void fill(GameState state) {
+        this.cameraX = state.getCameraX();
+        this.cameraY = state.getCameraY();
+        this.gameTime = state.getGameTime();
+        this.map = state.getMap();
+
+        // Each pass visits only the entities that carry its components
+        Query targets = state.query(TargetIndicator.class);
+        Query questGivers = state.query(Position.class, QuestIndicator.class);
+
+        ground.reset();
+        for (int i = 0; i < targets.size(); i++) {
+            TargetIndicator indicator = targets.get(i).getComponent(TargetIndicator.class);
+            if (indicator.active) {
+                ground.next().set(indicator);
+            }
+        }
+
+        quests.reset();
+        for (int i = 0; i < questGivers.size(); i++) {
+            Entity entity = questGivers.get(i);
+            if (entity.getType() != EntityType.NPC || entity.hasComponent(Dead.class)) continue;
+
+            QuestIndicator qi = entity.getComponent(QuestIndicator.class);
+            if (qi.active) {
+                quests.next().set(entity.getComponent(Position.class), qi);
+            }
+        }
+
+        texts.reset();
+        List<DamageText> liveTexts = state.getDamageTexts();
+        for (int i = 0, n = liveTexts.size(); i < n; i++) {
+            texts.next().set(liveTexts.get(i));
+        }
+    }
+
+    /**
+     * Copy the current world state without pooling. Must run on the thread
+     * that owns the simulation (or while holding the world lock). Render
+     * loops should keep a SnapshotBuilder instead.
+     */
+    public static WorldSnapshot capture(GameState state) {
+        return new SnapshotBuilder().capture(state);
+    }
+
+    // Taken out of the pool: writable until it's captured
+    synchronized void acquire() {
+        released = false;
+    }
+
+    // True exactly once per capture, so a snapshot is never pooled twice
+    synchronized boolean markReleased() {
+        if (released) return false;
+        released = true;
+        return true;
+    }
+}
@@ -65,7 +65,10 @@ public class Sprite implements Component {
     public static final String ANIM_ATTACK_UP_LEFT = "attack_up_left";
     public static final String ANIM_ATTACK_UP_RIGHT = "attack_up_right";
     
+    // Sheet packed in the texture atlas: frames are drawn from its page
     private BufferedImage spriteSheet;
+    private int sheetX, sheetY;  // sheet origin on the page
+    private int sheetWidth, sheetHeight;
     private int frameWidth;
     private int frameHeight;
     
@@ -96,7 +99,14 @@ public class Sprite implements Component {
     }
     
     public Sprite(String spriteSheetPath, int frameWidth, int frameHeight, float frameDuration) {
-        this.spriteSheet = TextureManager.load(spriteSheetPath);
+        TextureAtlas.Region sheet = TextureManager.loadRegion(spriteSheetPath);
+        if (sheet != null) {
+            this.spriteSheet = sheet.page;
+            this.sheetX = sheet.x;
+            this.sheetY = sheet.y;
+            this.sheetWidth = sheet.width;
+            this.sheetHeight = sheet.height;
+        }
         this.frameWidth = frameWidth;
         this.frameHeight = frameHeight;
         this.frameDuration = frameDuration;
@@ -151,14 +161,45 @@ public class Sprite implements Component {
         int destX = screenX - frameWidth / 2;
         int destY = screenY - frameHeight / 2;
         
-        g.drawImage(
-            spriteSheet,
-            destX, destY, destX + frameWidth, destY + frameHeight,
-            srcX, srcY, srcX + frameWidth, srcY + frameHeight,
-            null
-        );
+        drawFrame(g, destX, destY, srcX, srcY);
     }
     
+    public int getFrameWidth() {
+        return frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return frameHeight;
+    }
+
+    /**
+     * Source X of the current frame inside the sheet (for render snapshots)
+     */
+    public int getFrameSrcX() {
+        return currentFrame * frameWidth;
+    }
+
+    /**
+     * Source Y of the current frame inside the sheet (for render snapshots)
+     */
+    public int getFrameSrcY() {
+        return cachedAnimation != null ? cachedAnimation.row * frameHeight : 0;
+    }
+
+    /**
+     * Draw a previously captured frame, centered on the given screen pixel.
+     * Does not read the mutable animation state, so it is safe off the
+     * simulation thread.
+     */
+    public void renderFrameAtPixel(Graphics2D g, int screenX, int screenY, int srcX, int srcY) {
+        if (spriteSheet == null) return;
+
+        int destX = screenX - frameWidth / 2;
+        int destY = screenY - frameHeight / 2;
+
+        drawFrame(g, destX, destY, srcX, srcY);
+    }
+
     public void render(Graphics2D g, float x, float y, float cameraX, float cameraY) {
         if (spriteSheet == null || cachedAnimation == null) return;  // ⭐ Use cache
         
@@ -168,10 +209,26 @@ public class Sprite implements Component {
         int destX = (int)Math.round(x - cameraX - frameWidth / 2f);
         int destY = (int)Math.round(y - cameraY - frameHeight / 2f);
         
+        drawFrame(g, destX, destY, srcX, srcY);
+    }
+    
+    /**
+     * Blit one frame from the atlas page. The source rect is clipped to this
+     * sheet, since past its edges the page holds other images.
+     */
+    private void drawFrame(Graphics2D g, int destX, int destY, int srcX, int srcY) {
+        int left = Math.max(srcX, 0);
+        int top = Math.max(srcY, 0);
+        int right = Math.min(srcX + frameWidth, sheetWidth);
+        int bottom = Math.min(srcY + frameHeight, sheetHeight);
+        if (right <= left || bottom <= top) return;
+        
+        destX += left - srcX;
+        destY += top - srcY;
         g.drawImage(
             spriteSheet,
-            destX, destY, destX + frameWidth, destY + frameHeight,
-            srcX, srcY, srcX + frameWidth, srcY + frameHeight,
+            destX, destY, destX + (right - left), destY + (bottom - top),
+            sheetX + left, sheetY + top, sheetX + right, sheetY + bottom,
             null
         );
     }
@@ -0,0 +1,134 @@
+package dev.main.sprite;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs many small images (sprite sheets, icons) into a few large pages.
+ *
+ * Pages are created in the screen's native format, so Java2D can cache
+ * them in video memory and draw from them without converting pixels. A
+ * sprite draws its frame from a Region's rectangle on the shared page
+ * instead of keeping its own sheet.
+ *
+ * Packing is shelf-based: images go left to right along a row as tall as
+ * the tallest image in it, and a new row (or page) starts when one fills.
+ */
+public class TextureAtlas {
+
+    public static final int PAGE_SIZE = 2048;
+
+    // Empty pixels between packed images so filtering never picks up a neighbour
+    private static final int PADDING = 1;
+
+    /**
+     * Where an image ended up: its rectangle on an atlas page.
+     */
+    public static final class Region {
+        public final BufferedImage page;
+        public final int x, y;
+        public final int width, height;
+        private BufferedImage image;
+
+        Region(BufferedImage page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * The region as a standalone image (shares the page's pixels), for
+         * code that draws whole images.
+         */
+        public synchronized BufferedImage getImage() {
+            if (image == null) {
+                image = x == 0 && y == 0 && width == page.getWidth() && height == page.getHeight()
+                        ? page : page.getSubimage(x, y, width, height);
+            }
+            return image;
+        }
+    }
+
+    private final List<BufferedImage> pages = new ArrayList<>();
+
+    // Packing cursor on the last page
+    private BufferedImage page;
+    private int cursorX;
+    private int shelfY;
+    private int shelfHeight;
+
+    /**
+     * Copy an image into the atlas. Images too big for a page get a page
+     * of their own.
+     */
+    public synchronized Region add(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        if (width + PADDING > PAGE_SIZE || height + PADDING > PAGE_SIZE) {
+            BufferedImage own = createCompatibleImage(width, height);
+            draw(own, image, 0, 0);
+            pages.add(own);
+            return new Region(own, 0, 0, width, height);
+        }
+
+        if (page != null && cursorX + width + PADDING > PAGE_SIZE) {
+            // Next shelf
+            shelfY += shelfHeight;
+            cursorX = 0;
+            shelfHeight = 0;
+        }
+        if (page == null || shelfY + height + PADDING > PAGE_SIZE) {
+            page = createCompatibleImage(PAGE_SIZE, PAGE_SIZE);
+            pages.add(page);
+            cursorX = 0;
+            shelfY = 0;
+            shelfHeight = 0;
+        }
+
+        int x = cursorX;
+        int y = shelfY;
+        draw(page, image, x, y);
+        cursorX += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height + PADDING);
+        return new Region(page, x, y, width, height);
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized void clear() {
+        pages.clear();
+        page = null;
+    }
+
+    /**
+     * A translucent image in the screen's native format (plain ARGB when
+     * there is no screen, e.g. the headless server).
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    private static void draw(BufferedImage target, BufferedImage image, int x, int y) {
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(image, x, y, null);
+        } finally {
+            g.dispose();
+        }
+    }
+}
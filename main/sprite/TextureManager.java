@@ -2,27 +2,47 @@ package dev.main.sprite;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
 import dev.main.ui.UIIconGenerator;
 
+/**
+ * Loads and caches textures. Every image is packed into the shared
+ * TextureAtlas on first load, so all sprites and icons live on a few
+ * pages in the screen's native format instead of whatever ImageIO decoded.
+ */
 public class TextureManager {
 
-    private static final Map<String, BufferedImage> cache = new HashMap<>();
+    private static final TextureAtlas atlas = new TextureAtlas();
+
+    // Concurrent: shared by every simulation in a headless server
+    private static final Map<String, TextureAtlas.Region> cache = new ConcurrentHashMap<>();
 
     // Load and cache an image
     public static BufferedImage load(String path) {
-        if (cache.containsKey(path)) {
-            return cache.get(path);
+        TextureAtlas.Region region = loadRegion(path);
+        return region != null ? region.getImage() : null;
+    }
+
+    /**
+     * Load an image and return where it sits in the atlas. Sprites draw
+     * their frames straight from the region's page.
+     */
+    public static TextureAtlas.Region loadRegion(String path) {
+        TextureAtlas.Region cached = cache.get(path);
+        if (cached != null) {
+            return cached;
         }
 
         try {
             BufferedImage img = ImageIO.read(TextureManager.class.getResourceAsStream(path));
-            cache.put(path, img);
-            return img;
+            if (img == null) {
+                return null;
+            }
+            return cache.computeIfAbsent(path, p -> atlas.add(img));
         } catch (IOException | IllegalArgumentException | NullPointerException e) {
             // ☆ NEW: Generate placeholder items if file not found
             if (path.contains("/ui/icons/")) {
@@ -38,7 +58,7 @@ public class TextureManager {
     /**
      * ☆ NEW: Generate placeholder items for missing UI icons
      */
-    private static BufferedImage generatePlaceholderIcon(String path) {
+    private static TextureAtlas.Region generatePlaceholderIcon(String path) {
         // Extract button type from path
         String filename = path.substring(path.lastIndexOf('/') + 1);
         String buttonType = filename.replace(".png", "")
@@ -99,13 +119,16 @@ public class TextureManager {
         }
         
         // Cache the generated items
-        cache.put(path, icon);
-        
-        return icon;
+        return cache.computeIfAbsent(path, p -> atlas.add(icon));
+    }
+
+    public static int getAtlasPageCount() {
+        return atlas.getPageCount();
     }
 
     // Optional: clear cache (useful for dev reloads)
     public static void clear() {
         cache.clear();
+        atlas.clear();
     }
 }
\ No newline at end of file
@@ -9,19 +9,26 @@ import dev.main.ai.AI.State;
 import dev.main.buffs.BuffManager;
 import dev.main.drops.DropSystem;
 import dev.main.drops.DroppedItem;
+import dev.main.entity.Archetype;
 import dev.main.entity.Combat;
 import dev.main.entity.Entity;
+import dev.main.entity.EntityStore;
 import dev.main.entity.EntityType;
 import dev.main.entity.Experience;
 import dev.main.entity.LevelUpEffect;
 import dev.main.entity.MonsterLevel;
 import dev.main.entity.NPC;
+import dev.main.entity.Query;
+import dev.main.entity.SpatialGrid;
 import dev.main.entity.TargetIndicator;
 import dev.main.input.CollisionBox;
 import dev.main.input.Movement;
 import dev.main.input.Position;
 import dev.main.item.Item;
+import dev.main.pathfinder.FlowField;
 import dev.main.pathfinder.Path;
+import dev.main.pathfinder.PathRequest;
+import dev.main.pathfinder.PathRequestQueue;
 import dev.main.pathfinder.Pathfinder;
 import dev.main.quest.IntroQuestHandler;
 import dev.main.quest.QuestIndicator;
@@ -37,6 +44,7 @@ import dev.main.ui.UIManager;
 import dev.main.ui.UIScrollableInventoryPanel;
 import dev.main.util.Alert;
 import dev.main.util.DamageText;
+import dev.main.util.MapData;
 import dev.main.util.Dead; 
 import dev.main.ui.UIGearSlot;
 
@@ -47,6 +55,17 @@ public class GameLogic {
     private GameState state;
     private float cameraLerpSpeed = 5f;
     
+    // Live entity views (see GameState.query)
+    private final Query monsters;
+    
+    // Monster path searches, drained each tick within PATH_BUDGET_NANOS
+    private final PathRequestQueue pathRequests = new PathRequestQueue();
+    private static final long PATH_BUDGET_NANOS = 2_000_000L;
+    
+    // Player tile last tick, to check portals only when it changes
+    private int lastPlayerTileX = -1;
+    private int lastPlayerTileY = -1;
+    
     // ★ NEW: Stuck detection
     private static final float STUCK_TIMEOUT = 0.5f; // Half second without movement = stuck
     private static final float MIN_MOVEMENT = 2f; // Minimum pixels to consider "moved"
@@ -54,9 +73,16 @@ public class GameLogic {
     public GameLogic(GameState state) {
         this.state = state;
         this.dropSystem = new DropSystem();
+        this.monsters = state.query(AI.class, Position.class);
     } 
 
     public void update(float delta) {
+        // Map swaps happen here, between ticks, never in the middle of one
+        if (state.applyPendingTravel()) {
+            pathRequests.clear();
+            lastPlayerTileX = -1;
+        }
+        
         state.incrementGameTime(delta);
         
         IntroQuestHandler introHandler = state.getIntroQuestHandler();
@@ -66,42 +92,52 @@ public class GameLogic {
         
         Entity player = state.getPlayer();
         Position playerPos = player.getComponent(Position.class);
+        EntityStore store = state.getEntityStore();
         
-        for (Entity entity : state.getEntities()) {
-            EntityType entityType = entity.getType();
-            
-            Combat combat = entity.getComponent(Combat.class);
-            if (combat != null) {
-                combat.update(delta);
+        for (Archetype a : store.archetypes(Combat.class)) {
+            Combat[] combats = a.column(Combat.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                combats[i].update(delta);
             }
-            
-            if (entityType == EntityType.PLAYER) {
-                updatePlayer(entity, delta);
-            } else if (entityType == EntityType.MONSTER) {
-                updateMonster(entity, playerPos, delta);
-            } 
-            else if (entityType == EntityType.NPC) {
-               // updateNPC(entity, player, delta);
+        }
+        
+        updatePlayer(player, delta);
+        checkPortals(playerPos);
+        
+        // Only AI entities (monsters) are in this view; adding Dead/Respawn
+        // mid-loop doesn't change membership
+        for (int i = 0; i < monsters.size(); i++) {
+            updateMonster(monsters.get(i), playerPos, delta);
+        }
+        
+        processPathRequests();
+        
+        // Pure per-component ticks: linear walks over archetype columns
+        for (Archetype a : store.archetypes(Sprite.class)) {
+            Sprite[] sprites = a.column(Sprite.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                sprites[i].update(delta);
             }
-            
-            Sprite sprite = entity.getComponent(Sprite.class);
-            if (sprite != null) {
-                sprite.update(delta);
-            } 
-            
-            QuestIndicator questIndicator = entity.getComponent(QuestIndicator.class);
-            if (questIndicator != null) { 
-                questIndicator.update(delta); 
+        }
+        
+        for (Archetype a : store.archetypes(QuestIndicator.class)) {
+            QuestIndicator[] indicators = a.column(QuestIndicator.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                indicators[i].update(delta);
             }
-          
-            TargetIndicator indicator = entity.getComponent(TargetIndicator.class);
-            if (indicator != null) {
-                indicator.update(delta);
+        }
+        
+        for (Archetype a : store.archetypes(TargetIndicator.class)) {
+            TargetIndicator[] indicators = a.column(TargetIndicator.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                indicators[i].update(delta);
             }
-            
-            LevelUpEffect levelUpEffect = entity.getComponent(LevelUpEffect.class);
-            if (levelUpEffect != null) {
-                levelUpEffect.update(delta);
+        }
+        
+        for (Archetype a : store.archetypes(LevelUpEffect.class)) {
+            LevelUpEffect[] effects = a.column(LevelUpEffect.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                effects[i].update(delta);
             }
         }
         
@@ -112,11 +148,113 @@ public class GameLogic {
         updateCamera(delta);
     }
 
+    /**
+     * When the player changes tile: preload maps behind nearby portals and
+     * queue travel if they stepped onto one.
+     */
+    private void checkPortals(Position playerPos) {
+        int tileX = (int)(playerPos.x / TileMap.TILE_SIZE);
+        int tileY = (int)(playerPos.y / TileMap.TILE_SIZE);
+        if (tileX == lastPlayerTileX && tileY == lastPlayerTileY) return;
+        lastPlayerTileX = tileX;
+        lastPlayerTileY = tileY;
+        
+        WorldManager world = state.getWorldManager();
+        world.preloadNear(tileX, tileY);
+        
+        MapData.Portal portal = world.portalAt(tileX, tileY);
+        if (portal != null) {
+            world.requestTravel(portal);
+        }
+    }
+    
+    /**
+     * Run queued monster path searches until the tick's budget is spent.
+     * At least one runs per tick so the queue always drains.
+     */
+    private void processPathRequests() {
+        long deadline = System.nanoTime() + PATH_BUDGET_NANOS;
+        int processed = 0;
+        
+        PathRequest request;
+        while ((processed == 0 || System.nanoTime() < deadline) && (request = pathRequests.poll()) != null) {
+            deliverPath(request);
+            pathRequests.recycle(request);
+            processed++;
+        }
+    }
+    
+    /**
+     * Search for a queued request and hand the result to the monster's Path,
+     * unless the monster has since died or left the state that asked for it.
+     */
+    private void deliverPath(PathRequest request) {
+        Entity monster = request.entity;
+        AI ai = monster.getComponent(AI.class);
+        Movement movement = monster.getComponent(Movement.class);
+        Path path = monster.getComponent(Path.class);
+        if (ai == null || movement == null || monster.getComponent(Dead.class) != null) {
+            return;
+        }
+        
+        switch (request.kind) {
+            case CHASE: {
+                if (ai.currentState != AI.State.CHASING) return;
+                List<int[]> foundPath = findChasePath(monster, request.startX, request.startY,
+                                                      request.goalX, request.goalY);
+                if (foundPath != null && path != null) {
+                    ai.cachedPath = foundPath;
+                    path.setPath(foundPath);
+                    movement.isRunning = true;
+                } else {
+                    transitionAIState(monster, ai, AI.State.RETURNING);
+                }
+                break;
+            }
+            case ROAM: {
+                if (ai.currentState != AI.State.ROAMING) return;
+                List<int[]> foundPath = findPathForEntity(monster, request.startX, request.startY,
+                                                          request.goalX, request.goalY);
+                if (foundPath != null && path != null) {
+                    path.setPath(foundPath);
+                    movement.isRunning = false;
+                } else {
+                    transitionAIState(monster, ai, AI.State.IDLE);
+                }
+                break;
+            }
+            case RETURN: {
+                if (ai.currentState != AI.State.RETURNING) return;
+                List<int[]> foundPath = findPathForEntity(monster, request.startX, request.startY,
+                                                          request.goalX, request.goalY,
+                                                          Pathfinder.Mode.JUMP_POINT);
+                if (foundPath != null && path != null) {
+                    path.setPath(foundPath);
+                    movement.isRunning = false;
+                } else {
+                    movement.setHaste(false);
+                    transitionAIState(monster, ai, AI.State.IDLE);
+                }
+                break;
+            }
+        }
+    }
+    
     /**
      * ★ NEW: Find path with collision box awareness
      * Use this instead of calling pathfinder.findPath() directly
      */
     private List<int[]> findPathForEntity(Entity entity, int startX, int startY, int goalX, int goalY) {
+        return findPathForEntity(entity, startX, startY, goalX, goalY, Pathfinder.Mode.ASTAR);
+    }
+    
+    /**
+     * Long walks (e.g. RETURNING home) use Mode.JUMP_POINT, which expands far
+     * fewer nodes on open ground. Queries spanning more than a couple of
+     * clusters go through the HPA* layer, which only searches locally.
+     */
+    private List<int[]> findPathForEntity(Entity entity, int startX, int startY, int goalX, int goalY,
+                                          Pathfinder.Mode mode) {
         Pathfinder pathfinder = state.getPathfinder();
         CollisionBox collisionBox = entity.getComponent(CollisionBox.class);
         
@@ -126,19 +264,40 @@ public class GameLogic {
         }
         
         // Find path
-        List<int[]> path = pathfinder.findPath(startX, startY, goalX, goalY);
+        pathfinder.setMode(mode);
+        List<int[]> path = state.getHierarchicalPathfinder().findPath(startX, startY, goalX, goalY);
         
         // Clear collision box
         pathfinder.clearCollisionBox();
+        pathfinder.setMode(Pathfinder.Mode.ASTAR);
         
         return path;
     }
     
+    /**
+     * Chasers share one flow field per target tile, so a pack of monsters
+     * costs one field build when the player changes tile instead of one A*
+     * each. Falls back to A* when the monster is outside the field's window.
+     */
+    private List<int[]> findChasePath(Entity monster, int startX, int startY, int goalX, int goalY) {
+        CollisionBox collisionBox = monster.getComponent(CollisionBox.class);
+        FlowField field = state.getFlowFields().get(goalX, goalY, collisionBox);
+        if (field == null) {
+            return null;  // no tile near the goal fits this box; A* would fail too
+        }
+        
+        int[] compact = field.pathFrom(startX, startY);
+        if (compact != null) {
+            return Pathfinder.toWaypoints(compact);
+        }
+        return findPathForEntity(monster, startX, startY, goalX, goalY);
+    }
+    
     private void updateQuestIndicators(float delta) {
-        for (Entity entity : state.getEntities()) {
-            QuestIndicator indicator = entity.getComponent(QuestIndicator.class);
-            if (indicator != null) {
-                indicator.update(delta);
+        for (Archetype a : state.getEntityStore().archetypes(QuestIndicator.class)) {
+            QuestIndicator[] indicators = a.column(QuestIndicator.class);
+            for (int i = 0, n = a.size(); i < n; i++) {
+                indicators[i].update(delta);
             }
         }
     }
@@ -295,6 +454,8 @@ public class GameLogic {
     }
     
     private void reduceDurability() {
+        if (state.getUIManager() == null) return;  // headless: no gear slots
+        
         if(state.getUIManager().getGearSlot(UIGearSlot.SlotType.WEAPON) != null &&
            state.getUIManager().getGearSlot(UIGearSlot.SlotType.WEAPON).getItem() != null &&
            state.getUIManager().getGearSlot(UIGearSlot.SlotType.WEAPON).getItem().getCurrentDurability() > 0) {
@@ -652,6 +813,9 @@ public class GameLogic {
         AI.State oldState = ai.currentState;
         ai.currentState = newState;
         
+        // A path queued for the old state is no longer wanted
+        pathRequests.cancel(entity);
+        
         Movement movement = entity.getComponent(Movement.class);
         Path path = entity.getComponent(Path.class);
         
@@ -747,7 +911,9 @@ public class GameLogic {
             }
         }
         
-        if (movement != null && !movement.isMoving) {
+        boolean pathPending = pathRequests.isPending(monster);
+        
+        if (movement != null && !movement.isMoving && !pathPending) {
             float angle = (float)(ThreadLocalRandom.current().nextDouble() * Math.PI * 2);
             float distance = ThreadLocalRandom.current().nextFloat(0.5f, 1f) * ai.roamRadius;
             
@@ -762,18 +928,12 @@ public class GameLogic {
         	// ★ REPLACE THIS LINE:
             // List<int[]> foundPath = state.getPathfinder().findPath(startTileX, startTileY, goalTileX, goalTileY);
             
-            // ★ WITH THIS LINE:
-            List<int[]> foundPath = findPathForEntity(monster, startTileX, startTileY, goalTileX, goalTileY);
-            
-            if (foundPath != null && path != null) {
-                path.setPath(foundPath);
-                movement.isRunning = false;
-            } else {
-                transitionAIState(monster, ai, AI.State.IDLE);
-            }
+            // ★ WITH THIS LINE (result arrives in deliverPath):
+            pathRequests.request(monster, PathRequest.Kind.ROAM, startTileX, startTileY, goalTileX, goalTileY);
+            pathPending = true;
         }
         
-        if (movement != null && !movement.isMoving && (path == null || !path.isFollowing)) {
+        if (movement != null && !movement.isMoving && !pathPending && (path == null || !path.isFollowing)) {
             transitionAIState(monster, ai, AI.State.IDLE);
         }
         
@@ -823,7 +983,9 @@ public class GameLogic {
         
         ai.pathUpdateTimer += delta;
         
-        if (!movement.isMoving || ai.pathUpdateTimer >= ai.pathUpdateInterval) {
+        // While a repath is queued the monster keeps following ai.cachedPath
+        if (!pathRequests.isPending(monster) &&
+            (!movement.isMoving || ai.pathUpdateTimer >= ai.pathUpdateInterval)) {
             ai.pathUpdateTimer = 0;
             
             int startTileX = (int)(position.x / TileMap.TILE_SIZE);
@@ -834,16 +996,8 @@ public class GameLogic {
             // ★ REPLACE THIS LINE:
             // List<int[]> foundPath = state.getPathfinder().findPath(startTileX, startTileY, goalTileX, goalTileY);
             
-            // ★ WITH THIS LINE:
-            List<int[]> foundPath = findPathForEntity(monster, startTileX, startTileY, goalTileX, goalTileY);
-           
-            if (foundPath != null && path != null) {
-                ai.cachedPath = foundPath;
-                path.setPath(foundPath);
-                movement.isRunning = true;
-            } else {
-                transitionAIState(monster, ai, AI.State.RETURNING);
-            }
+            // ★ WITH THIS LINE (result arrives in deliverPath):
+            pathRequests.request(monster, PathRequest.Kind.CHASE, startTileX, startTileY, goalTileX, goalTileY);
         }
         
         if (sprite != null && movement.isMoving) {
@@ -877,7 +1031,7 @@ public class GameLogic {
             return;
         }
         
-        if (!movement.isMoving || (path != null && !path.isFollowing)) {
+        if ((!movement.isMoving || (path != null && !path.isFollowing)) && !pathRequests.isPending(monster)) {
             int startTileX = (int)(position.x / TileMap.TILE_SIZE);
             int startTileY = (int)(position.y / TileMap.TILE_SIZE);
             int goalTileX = (int)(ai.homeX / TileMap.TILE_SIZE);
@@ -902,16 +1056,8 @@ public class GameLogic {
             // ★ REPLACE THIS LINE:
             // List<int[]> foundPath = state.getPathfinder().findPath(startTileX, startTileY, goalTileX, goalTileY);
             
-            // ★ WITH THIS LINE:
-            List<int[]> foundPath = findPathForEntity(monster, startTileX, startTileY, goalTileX, goalTileY);
-           
-            if (foundPath != null && path != null) {
-                path.setPath(foundPath);
-                movement.isRunning = false;
-            } else {
-                movement.setHaste(false);
-                transitionAIState(monster, ai, AI.State.IDLE);
-            }
+            // ★ WITH THIS LINE (result arrives in deliverPath):
+            pathRequests.request(monster, PathRequest.Kind.RETURN, startTileX, startTileY, goalTileX, goalTileY);
         }
         
         if (sprite != null && movement != null) {
@@ -978,6 +1124,11 @@ public class GameLogic {
     } 
 
     private boolean canDetectPlayer(Position monsterPos, Position playerPos, float detectionTiles) {
+        // Grid broad-phase: most monsters are many cells away, skip the sqrt
+        if (!SpatialGrid.withinCells(monsterPos.x, monsterPos.y, playerPos.x, playerPos.y,
+                                     (int) Math.ceil(detectionTiles))) {
+            return false;
+        }
         float detectionDistance = detectionTiles * TileMap.TILE_SIZE;
         float dist = distance(monsterPos.x, monsterPos.y, playerPos.x, playerPos.y);
         return dist <= detectionDistance;
@@ -1015,6 +1166,7 @@ public class GameLogic {
                 movement.stopMoving();
                 position.x = waypointWorldX;
                 position.y = waypointWorldY;
+                state.getSpatialGrid().update(entity, position);
             } else {
                 int[] nextWaypoint = path.getCurrentWaypoint();
                 if (nextWaypoint != null) {
@@ -1091,6 +1243,7 @@ public class GameLogic {
             position.x = movement.targetX;
             position.y = movement.targetY;
             movement.stopMoving();
+            state.getSpatialGrid().update(entity, position);
             return;
         }
         
@@ -1176,6 +1329,8 @@ public class GameLogic {
             
             movement.direction = calculateDirection(dx, dy);
         }
+        
+        state.getSpatialGrid().update(entity, position);
     }
     
     private int calculateDirection(float dx, float dy) {
@@ -1472,7 +1627,9 @@ public class GameLogic {
                 }
             }
             
-            state.getUIManager().notifyLevelUp();
+            if (state.getUIManager() != null) {
+                state.getUIManager().notifyLevelUp();
+            }
             
             System.out.println("╔═══════════════════════════════════");
             System.out.println("║        LEVEL UP!               ║");
@@ -1503,7 +1660,11 @@ public class GameLogic {
         System.out.println(monsterInfo + " has died!");
         
         int dropCapacity = calculateDropCapacity(monster);
-        List<DroppedItem> drops = dropSystem.generateDrops(dropCapacity);
+        String zoneId = state.getWorldManager().getCurrent().mapId;
+        int level = monsterLevel != null ? monsterLevel.level : 1;
+        QuestLog questLog = state.getPlayer().getComponent(QuestLog.class);
+        List<DroppedItem> drops = dropSystem.generateDrops(dropCapacity, zoneId, level,
+            questLog != null ? questId -> questLog.getQuest(questId) != null : null);
         
         if (!drops.isEmpty()) {
             if (dropSystem.isLuckyDrop(drops)) {
@@ -1588,6 +1749,9 @@ public class GameLogic {
 
     private void addDropsToInventory(Entity player, List<DroppedItem> drops) {
         UIManager uiManager = state.getUIManager();
+        if (uiManager == null) {
+            return;  // headless: drops are rolled but there is no inventory
+        }
         UIScrollableInventoryPanel inventory = uiManager.getInventoryGrid();
         
         if (inventory == null) {
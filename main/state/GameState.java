@@ -8,11 +8,19 @@ import dev.main.dialogue.DialogueDatabase;
 import dev.main.dialogue.DialogueExamples;
 import dev.main.entity.Entity;
 import dev.main.entity.EntityFactory;
+import dev.main.entity.EntityStore;
 import dev.main.entity.MobTier;
 import dev.main.entity.MonsterLevel;
 import dev.main.entity.NameTag;
+import dev.main.entity.Query;
 import dev.main.entity.Respawn;
+import dev.main.entity.SpatialGrid;
 import dev.main.entity.SpawnPoint;
+import dev.main.input.Movement;
+import dev.main.input.Position;
+import dev.main.pathfinder.FlowFieldCache;
+import dev.main.pathfinder.HierarchicalPathfinder;
+import dev.main.pathfinder.Path;
 import dev.main.pathfinder.Pathfinder;
 import dev.main.quest.IntroQuestHandler;  // ★ NEW IMPORT
 import dev.main.stats.Stats;
@@ -27,6 +35,8 @@ public class GameState {
     
     private TileMap map;
     private List<Entity> entities;
+    private final EntityStore entityStore = new EntityStore();
+    private final SpatialGrid spatialGrid = new SpatialGrid();
     private List<Entity> entitiesToRemove;
     private List<DamageText> damageTexts;
     private List<SpawnPoint> spawnPoints;
@@ -36,6 +46,9 @@ public class GameState {
     private Entity targetedEntity;
     private Entity autoAttackTarget;
     private Pathfinder pathfinder;
+    private FlowFieldCache flowFields;
+    private HierarchicalPathfinder hierarchicalPathfinder;
+    private WorldManager worldManager;
     
     // UI
     private UIManager uiManager;
@@ -48,6 +61,14 @@ public class GameState {
     private float cameraY;
     
     public GameState() {
+        this(true);
+    }
+    
+    /**
+     * @param withUI false for a headless simulation: no UIManager, intro quest
+     *               handler or dialogue system is created
+     */
+    public GameState(boolean withUI) {
         entities = new ArrayList<>();
         entitiesToRemove = new ArrayList<>();
         damageTexts = new ArrayList<>();
@@ -60,9 +81,9 @@ public class GameState {
         
         // ★ OPTION 1: Load from JSON
         if(Engine.IDE == Engine.Eclipse) {
-            map = new TileMap("/maps/intro_map.json");
+            worldManager = new WorldManager("/maps/intro_map.json");
         } else if(Engine.IDE == Engine.VSCode) {
-            map = new TileMap("resources/maps/intro_map.json");
+            worldManager = new WorldManager("resources/maps/intro_map.json");
         }
         /*
         // ★ OPTION 2: Load map from .txt
@@ -71,10 +92,14 @@ public class GameState {
         else if(Engine.IDE == Engine.VSCode)
         	map = new TileMap("resources/maps/intro_map.png", "resources/maps/fionnes_introMap01.txt");
         */
-        pathfinder = new Pathfinder(map);
+        useMap(worldManager.getCurrent());
         
         initializeWorld();
         
+        if (!withUI) {
+            return;
+        }
+        
         // Create UI Manager (GameLogic will be set later)
         uiManager = new UIManager(this);
         
@@ -108,13 +133,14 @@ public class GameState {
      * Call this from Engine after creating GameLogic
      */
     public void setGameLogic(GameLogic gameLogic) {
+        if (uiManager == null) return;
         uiManager.setGameLogic(gameLogic);
     }
     
     private void initializeWorld() {
         // Create player
         player = EntityFactory.createPlayer(8 * 64, 5 * 64);
-        entities.add(player);
+        addEntity(player);
         
         
         // ★ Load spawns from map data
@@ -122,7 +148,7 @@ public class GameState {
          
         // Create Fionne NPC
         Entity fionne = EntityFactory.createFionne(14 * 64 - 32, 6 * 64 - 31);
-        entities.add(fionne);
+        addEntity(fionne);
         System.out.println("Fionne NPC created at (13, 5)");
         
         // ★ OR keep manual spawns (your choice)
@@ -226,19 +252,19 @@ public class GameState {
     
     private void addFountain(float x, float y) {
         Entity fountain = EntityFactory.createFountain(x, y);
-        entities.add(fountain);
+        addEntity(fountain);
         System.out.println("Added fountain at (" + (int)x + ", " + (int)y + ")");
     }
 
     private void addBoulder(float x, float y) {
         Entity boulder = EntityFactory.createBoulder(x, y);
-        entities.add(boulder);
+        addEntity(boulder);
         System.out.println("Added boulder at (" + (int)x + ", " + (int)y + ")");
     }
 
     private void addTree(float x, float y, String orientation) {
         Entity tree = EntityFactory.createTree(x, y, orientation);
-        entities.add(tree);
+        addEntity(tree);
         System.out.println("Added tree at (" + (int)x + ", " + (int)y + ")");
     }
     
@@ -294,7 +320,7 @@ public class GameState {
             spawnPoint.respawnDelay
         ));
         
-        entities.add(monster);
+        addEntity(monster);
         spawnPoint.spawn(monster);
         
         MonsterLevel monsterLevel = monster.getComponent(MonsterLevel.class);
@@ -314,7 +340,7 @@ public class GameState {
     
     public void spawnMonster(String type, float x, float y, int level, MobTier tier) {
         Entity monster = EntityFactory.createMonster(type, x, y, level, tier);
-        entities.add(monster);
+        addEntity(monster);
         System.out.println("Spawned " + type + " Lv" + level + " " + tier + " at (" + x + ", " + y + ")");
     }
     
@@ -385,6 +411,15 @@ public class GameState {
         }
     }
     
+    /**
+     * Add an entity to the world and move its components into the store.
+     */
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+        entityStore.attach(entity);
+        spatialGrid.insert(entity);
+    }
+    
     public void markForRemoval(Entity entity) {
         if (!entitiesToRemove.contains(entity)) {
             entitiesToRemove.add(entity);
@@ -394,6 +429,8 @@ public class GameState {
     public void removeMarkedEntities() {
         for (Entity entity : entitiesToRemove) {
             entities.remove(entity);
+            entityStore.detach(entity);
+            spatialGrid.remove(entity);
             System.out.println("Removed " + entity.getName());
         }
         entitiesToRemove.clear();
@@ -403,6 +440,26 @@ public class GameState {
         return entities;
     }
     
+    public EntityStore getEntityStore() {
+        return entityStore;
+    }
+    
+    /**
+     * Tile-sized spatial hash of entity positions. Anything that moves an
+     * entity must call update() on it afterwards.
+     */
+    public SpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
+    
+    /**
+     * Live view of the entities in this world that have all the given
+     * components, e.g. query(Position.class, Sprite.class, AI.class).
+     */
+    public Query query(Class<?>... components) {
+        return entityStore.query(components);
+    }
+    
     public Entity getPlayer() {
         return player;
     }
@@ -415,6 +472,105 @@ public class GameState {
         return pathfinder;
     }
     
+    public FlowFieldCache getFlowFields() {
+        return flowFields;
+    }
+    
+    public HierarchicalPathfinder getHierarchicalPathfinder() {
+        return hierarchicalPathfinder;
+    }
+    
+    public WorldManager getWorldManager() {
+        return worldManager;
+    }
+    
+    private void useMap(WorldManager.LoadedMap loaded) {
+        map = loaded.map;
+        pathfinder = loaded.pathfinder;
+        flowFields = loaded.flowFields;
+        hierarchicalPathfinder = loaded.hierarchicalPathfinder;
+    }
+    
+    /**
+     * Apply a portal travel queued on the WorldManager. Call only at a tick
+     * boundary: every entity except the player is parked with the old map,
+     * the new map's entities (or its JSON spawns on a first visit) come in,
+     * and the player is placed on the portal's target tile.
+     * 
+     * @return true if the map changed
+     */
+    public boolean applyPendingTravel() {
+        MapData.Portal portal = worldManager.getPendingTravel();
+        if (portal == null) return false;
+        
+        String fromId = worldManager.getCurrent().mapId;
+        WorldManager.LoadedMap target = worldManager.takePendingTravel();
+        if (target == null) return false;
+        
+        // Park everything but the player with the map we're leaving
+        removeMarkedEntities();
+        List<Entity> leaving = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            if (entity == player) continue;
+            entityStore.detach(entity);
+            spatialGrid.remove(entity);
+            leaving.add(entity);
+        }
+        worldManager.park(fromId, new WorldManager.ParkedMap(leaving, spawnPoints));
+        entities.clear();
+        entities.add(player);
+        spawnPoints = new ArrayList<>();
+        
+        setHoveredEntity(null);
+        setTargetedEntity(null);
+        autoAttackTarget = null;
+        damageTexts.clear();
+        map.releaseChunks();
+        
+        useMap(target);
+        
+        WorldManager.ParkedMap returning = worldManager.unpark(target.mapId);
+        if (returning != null) {
+            for (Entity entity : returning.entities) {
+                addEntity(entity);
+            }
+            spawnPoints = returning.spawnPoints;
+        } else {
+            loadSpawnsFromMapData();
+            for (SpawnPoint sp : spawnPoints) {
+                spawnMonsterAtPoint(sp);
+            }
+        }
+        
+        // Place the player on the target tile and stop whatever they were doing
+        Position pos = player.getComponent(Position.class);
+        pos.x = portal.targetX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+        pos.y = portal.targetY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2f;
+        spatialGrid.update(player, pos);
+        
+        Path path = player.getComponent(Path.class);
+        if (path != null) path.clear();
+        Movement movement = player.getComponent(Movement.class);
+        if (movement != null) movement.stopMoving();
+        
+        // Snap the camera instead of panning across the new map
+        cameraX = Math.max(0, Math.min(pos.x - Engine.WIDTH / 2, map.getWidthInPixels() - Engine.WIDTH));
+        cameraY = Math.max(0, Math.min(pos.y - Engine.HEIGHT / 2, map.getHeightInPixels() - Engine.HEIGHT));
+        
+        return true;
+    }
+    
+    /**
+     * Change a tile's collision at runtime and drop the path data that
+     * depended on it.
+     */
+    public void setTileSolid(int tileX, int tileY, boolean solid) {
+        if (map.isSolid(tileX, tileY) == solid) return;
+        map.setSolid(tileX, tileY, solid);
+        hierarchicalPathfinder.invalidateTile(tileX, tileY);
+        flowFields.invalidate();
+    }
+    
     public float getGameTime() {
         return gameTime;
     }
@@ -436,6 +592,9 @@ public class GameState {
         this.cameraY = y;
     }
     
+    /**
+     * @return the UI manager, or null when running headless
+     */
     public UIManager getUIManager() {
         return uiManager;
     }
@@ -0,0 +1,273 @@
+package dev.main.state;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.main.entity.Entity;
+import dev.main.entity.SpawnPoint;
+import dev.main.pathfinder.FlowFieldCache;
+import dev.main.pathfinder.HierarchicalPathfinder;
+import dev.main.pathfinder.Pathfinder;
+import dev.main.tile.TileMap;
+import dev.main.util.MapCompiler;
+import dev.main.util.MapData;
+
+/**
+ * Keeps several maps resident and moves the player between them.
+ *
+ * When the player comes within PRELOAD_RADIUS tiles of a portal, its target
+ * map (TileMap plus its pathfinding stack and abstract graph, and the map
+ * art around the arrival tile) is loaded on a background thread.
+ * Stepping on the portal only queues the travel; GameState applies it at the
+ * start of the next tick, so the swap is atomic with respect to the
+ * simulation and, with the map already resident, has no loading hitch.
+ *
+ * Entities and spawn points of a map the player leaves are parked here and
+ * come back when the player returns. At most MAX_RESIDENT maps are kept;
+ * the least recently used one other than the current map is dropped.
+ */
+public class WorldManager {
+
+    private static final int PRELOAD_RADIUS = 12;  // tiles from a portal
+    private static final int MAX_RESIDENT = 4;
+
+    // One background loader shared by every world
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MapPreloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A map with everything that's built per map.
+     */
+    public static final class LoadedMap {
+        public final String mapId;
+        public final TileMap map;
+        public final Pathfinder pathfinder;
+        public final FlowFieldCache flowFields;
+        public final HierarchicalPathfinder hierarchicalPathfinder;
+        volatile long lastUsed;
+
+        LoadedMap(String mapId, TileMap map) {
+            this.mapId = mapId;
+            this.map = map;
+            this.pathfinder = new Pathfinder(map);
+            this.flowFields = new FlowFieldCache(map, pathfinder);
+            this.hierarchicalPathfinder = new HierarchicalPathfinder(map, pathfinder);
+            hierarchicalPathfinder.build();
+        }
+    }
+
+    /**
+     * World content left behind on a map the player isn't on.
+     */
+    static final class ParkedMap {
+        final List<Entity> entities;
+        final List<SpawnPoint> spawnPoints;
+
+        ParkedMap(List<Entity> entities, List<SpawnPoint> spawnPoints) {
+            this.entities = entities;
+            this.spawnPoints = spawnPoints;
+        }
+    }
+
+    private final String mapDirectory;  // e.g. "/maps/"
+    private final String mapExtension;  // e.g. ".json"
+
+    private final Map<String, LoadedMap> resident = new ConcurrentHashMap<>();
+    private final Map<String, Future<LoadedMap>> loading = new ConcurrentHashMap<>();
+    private final Map<String, ParkedMap> parked = new HashMap<>();
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();  // don't retry every tick
+
+    private LoadedMap current;
+    private final AtomicLong useCounter = new AtomicLong();
+
+    private MapData.Portal pendingTravel;
+
+    // Tile the player arrived on; its portal is ignored until they step off
+    private int arrivalX = -1;
+    private int arrivalY = -1;
+
+    /**
+     * @param initialMapPath path of the starting map; portal targets are
+     *                       looked up next to it with the same extension
+     */
+    public WorldManager(String initialMapPath) {
+        int slash = initialMapPath.lastIndexOf('/');
+        int dot = initialMapPath.lastIndexOf('.');
+        this.mapDirectory = initialMapPath.substring(0, slash + 1);
+        this.mapExtension = dot > slash ? initialMapPath.substring(dot) : "";
+
+        String mapId = initialMapPath.substring(slash + 1, dot > slash ? dot : initialMapPath.length());
+        current = new LoadedMap(mapId, new TileMap(initialMapPath));
+        current.lastUsed = useCounter.incrementAndGet();
+        resident.put(mapId, current);
+    }
+
+    public LoadedMap getCurrent() {
+        return current;
+    }
+
+    public boolean isResident(String mapId) {
+        return resident.containsKey(mapId);
+    }
+
+    /**
+     * Start loading the targets of portals near the player. Call when the
+     * player changes tile.
+     */
+    public void preloadNear(int tileX, int tileY) {
+        for (MapData.Portal portal : current.map.getPortals()) {
+            if (Math.abs(portal.x - tileX) <= PRELOAD_RADIUS && Math.abs(portal.y - tileY) <= PRELOAD_RADIUS) {
+                preload(portal);
+            }
+        }
+    }
+
+    /**
+     * Load a portal's target map in the background unless it's resident or
+     * already loading. It counts as used once loaded, so it isn't the first
+     * map evicted before the player gets there.
+     */
+    public void preload(MapData.Portal portal) {
+        String mapId = portal.targetMap;
+        if (mapId == null || mapId.isEmpty() || resident.containsKey(mapId) || missing.contains(mapId)) return;
+
+        loading.computeIfAbsent(mapId, id -> loader.submit(() -> {
+            LoadedMap loaded = load(id, portal.targetX, portal.targetY);
+            if (loaded != null) {
+                loaded.lastUsed = useCounter.incrementAndGet();
+                resident.put(id, loaded);
+            }
+            loading.remove(id);
+            return loaded;
+        }));
+    }
+
+    /**
+     * Portal the player is standing on, or null. The portal they arrived
+     * through doesn't count until they've stepped off it.
+     */
+    public MapData.Portal portalAt(int tileX, int tileY) {
+        if (tileX == arrivalX && tileY == arrivalY) return null;
+        arrivalX = -1;
+        arrivalY = -1;
+
+        for (MapData.Portal portal : current.map.getPortals()) {
+            if (portal.x == tileX && portal.y == tileY) {
+                return portal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queue travel through a portal; applied at the next tick boundary.
+     */
+    public void requestTravel(MapData.Portal portal) {
+        if (pendingTravel != null || missing.contains(portal.targetMap)) return;
+        pendingTravel = portal;
+        preload(portal);
+    }
+
+    public MapData.Portal getPendingTravel() {
+        return pendingTravel;
+    }
+
+    /**
+     * Take the queued travel's target map and make it current. Waits for
+     * (or does) the load if preloading didn't get to it in time. Returns
+     * null if nothing is queued or the target map doesn't exist.
+     */
+    LoadedMap takePendingTravel() {
+        MapData.Portal portal = pendingTravel;
+        if (portal == null) return null;
+        pendingTravel = null;
+
+        LoadedMap target = resident.get(portal.targetMap);
+        if (target == null) {
+            Future<LoadedMap> future = loading.get(portal.targetMap);
+            if (future != null) {
+                try {
+                    target = future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    e.printStackTrace();
+                }
+            } else {
+                System.out.println("Map " + portal.targetMap + " wasn't preloaded, loading now");
+                target = load(portal.targetMap, portal.targetX, portal.targetY);
+                if (target != null) {
+                    resident.put(portal.targetMap, target);
+                }
+            }
+        }
+        if (target == null) {
+            return null;
+        }
+
+        current = target;
+        current.lastUsed = useCounter.incrementAndGet();
+        arrivalX = portal.targetX;
+        arrivalY = portal.targetY;
+        evictExtraMaps();
+        return target;
+    }
+
+    void park(String mapId, ParkedMap content) {
+        parked.put(mapId, content);
+    }
+
+    ParkedMap unpark(String mapId) {
+        return parked.remove(mapId);
+    }
+
+    /**
+     * Load a map, build its pathfinding, and decode the map art the
+     * camera will show on arrival at the given tile.
+     */
+    private LoadedMap load(String mapId, int arrivalTileX, int arrivalTileY) {
+        String path = mapDirectory + mapId + mapExtension;
+        if (!exists(path) && !exists(MapCompiler.compiledPathFor(path))) {
+            System.err.println("Portal target map not found: " + path);
+            missing.add(mapId);
+            return null;
+        }
+
+        LoadedMap loaded = new LoadedMap(mapId, new TileMap(path));
+        loaded.map.warmChunks(arrivalTileX * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2,
+                              arrivalTileY * TileMap.TILE_SIZE + TileMap.TILE_SIZE / 2);
+        return loaded;
+    }
+
+    private static boolean exists(String path) {
+        return Files.isRegularFile(Paths.get(path)) || WorldManager.class.getResource(path) != null;
+    }
+
+    // Parked entities stay; only the map and path data are dropped
+    private void evictExtraMaps() {
+        while (resident.size() > MAX_RESIDENT) {
+            LoadedMap oldest = null;
+            for (LoadedMap loaded : resident.values()) {
+                if (loaded != current && (oldest == null || loaded.lastUsed < oldest.lastUsed)) {
+                    oldest = loaded;
+                }
+            }
+            if (oldest == null) return;
+            resident.remove(oldest.mapId);
+            oldest.map.releaseChunks();
+        }
+    }
+}
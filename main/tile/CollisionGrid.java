@@ -0,0 +1,199 @@
+package dev.main.tile;
+
+import java.nio.LongBuffer;
+
+/**
+ * Tile collision as a packed bitset: one bit per tile, rows stored
+ * row-major in 64-bit words (a row starts on a word boundary).
+ *
+ * 32x smaller than the old int[][] and a single array access per tile.
+ * anySolid() tests a whole tile rectangle with a couple of masked word
+ * reads per row, which is what collision-box checks need.
+ *
+ * buildClearance() adds a clearance field: for each tile, the side of the
+ * largest all-walkable square whose top-left corner it is. With it most
+ * rectangle tests (and so most collision-box tests) are one lookup: a
+ * rectangle fits if the corner's clearance covers it, and is blocked if
+ * the clearance is smaller than its short side.
+ *
+ * Tiles outside the grid count as solid.
+ */
+public class CollisionGrid {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    // Largest stored clearance; bigger open areas just read as this
+    public static final int MAX_CLEARANCE = 127;
+    private byte[] clearance;  // null until buildClearance()
+
+    public CollisionGrid(int width, int height) {
+        this.width = Math.max(0, width);
+        this.height = Math.max(0, height);
+        this.wordsPerRow = (this.width + 63) >>> 6;
+        this.bits = new long[wordsPerRow * this.height];
+    }
+
+    /**
+     * Build from row arrays where 1 = solid (rows may be ragged; missing
+     * cells are walkable).
+     */
+    public static CollisionGrid fromTiles(int[][] tiles) {
+        int h = tiles.length;
+        int w = 0;
+        for (int[] row : tiles) {
+            if (row != null) w = Math.max(w, row.length);
+        }
+
+        CollisionGrid grid = new CollisionGrid(w, h);
+        for (int y = 0; y < h; y++) {
+            int[] row = tiles[y];
+            if (row == null) continue;
+            for (int x = 0; x < row.length; x++) {
+                if (row[x] == 1) {
+                    grid.bits[y * grid.wordsPerRow + (x >>> 6)] |= 1L << x;
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Build from packed words in this class's layout (e.g. a mapped
+     * binary map file). One bulk copy, no per-tile work.
+     */
+    public static CollisionGrid fromWords(int width, int height, LongBuffer words) {
+        CollisionGrid grid = new CollisionGrid(width, height);
+        words.get(grid.bits);
+        return grid;
+    }
+
+    /**
+     * Copy the packed words out, row-major, wordsPerRow per row.
+     */
+    public void writeWords(LongBuffer out) {
+        out.put(bits);
+    }
+
+    public int getWordCount() {
+        return bits.length;
+    }
+
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return true;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    public void set(int x, int y, boolean solid) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        int i = y * wordsPerRow + (x >>> 6);
+        if (solid) {
+            bits[i] |= 1L << x;
+        } else {
+            bits[i] &= ~(1L << x);
+        }
+
+        if (clearance != null) {
+            // Only tiles up and to the left (within MAX_CLEARANCE) can see this one
+            updateClearance(Math.max(0, x - MAX_CLEARANCE), Math.max(0, y - MAX_CLEARANCE), x, y);
+        }
+    }
+
+    /**
+     * Compute the clearance field. Call once after loading; set() keeps it
+     * up to date from then on.
+     */
+    public void buildClearance() {
+        clearance = new byte[width * height];
+        updateClearance(0, 0, width - 1, height - 1);
+    }
+
+    /**
+     * Side of the largest walkable square with its top-left corner at this
+     * tile (0 if solid or outside), capped at MAX_CLEARANCE. Requires
+     * buildClearance().
+     */
+    public int getClearance(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return 0;
+        }
+        return clearance[y * width + x];
+    }
+
+    public boolean hasClearance() {
+        return clearance != null;
+    }
+
+    // Recompute a block bottom-up, right-to-left: each tile needs its right,
+    // lower and lower-right neighbours, which are outside or already done
+    private void updateClearance(int minX, int minY, int maxX, int maxY) {
+        for (int y = maxY; y >= minY; y--) {
+            for (int x = maxX; x >= minX; x--) {
+                int value = 0;
+                if ((bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) == 0) {
+                    int right = x + 1 < width ? clearance[y * width + x + 1] : 0;
+                    int down = y + 1 < height ? clearance[(y + 1) * width + x] : 0;
+                    int diagonal = x + 1 < width && y + 1 < height ? clearance[(y + 1) * width + x + 1] : 0;
+                    value = Math.min(MAX_CLEARANCE, 1 + Math.min(right, Math.min(down, diagonal)));
+                }
+                clearance[y * width + x] = (byte) value;
+            }
+        }
+    }
+
+    /**
+     * True if any tile in the inclusive rectangle [minX..maxX] x [minY..maxY]
+     * is solid or outside the grid.
+     */
+    public boolean anySolid(int minX, int minY, int maxX, int maxY) {
+        if (minX > maxX || minY > maxY) {
+            return false;
+        }
+        if (minX < 0 || minY < 0 || maxX >= width || maxY >= height) {
+            return true;
+        }
+
+        if (clearance != null) {
+            int c = clearance[minY * width + minX];
+            int w = maxX - minX + 1;
+            int h = maxY - minY + 1;
+            if (c >= Math.max(w, h)) return false;  // a walkable square covers it
+            // A capped clearance says nothing about where the open area ends
+            if (c < MAX_CLEARANCE && c < Math.min(w, h)) return true;  // the blocking tile is inside it
+            // Long thin rectangle past the square, or a capped one: scan the words
+        }
+
+        int firstWord = minX >>> 6;
+        int lastWord = maxX >>> 6;
+        long firstMask = -1L << minX;           // shifts use the low 6 bits
+        long lastMask = -1L >>> (63 - (maxX & 63));
+
+        for (int y = minY; y <= maxY; y++) {
+            int row = y * wordsPerRow;
+            if (firstWord == lastWord) {
+                if ((bits[row + firstWord] & firstMask & lastMask) != 0) return true;
+                continue;
+            }
+            if ((bits[row + firstWord] & firstMask) != 0) return true;
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                if (bits[row + w] != 0) return true;
+            }
+            if ((bits[row + lastWord] & lastMask) != 0) return true;
+        }
+        return false;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
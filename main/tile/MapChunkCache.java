@@ -0,0 +1,349 @@
+package dev.main.tile;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Streams the map image in CHUNK_TILES x CHUNK_TILES tile chunks instead
+ * of keeping the whole world in one BufferedImage.
+ *
+ * Chunks are decoded on a background thread, from the pre-split chunk
+ * files MapCompiler writes or else from their region of the source image,
+ * and converted to a compatible image so drawing them is a plain blit. The
+ * ring of chunks just outside the view is queued ahead of time; a visible
+ * chunk that isn't ready yet is drawn as a placeholder, and getRevision()
+ * changes when it arrives so cached copies of the map know to redraw. At
+ * most `capacity` chunks are kept, evicting the least recently drawn, so
+ * memory stays flat whatever the map size.
+ */
+public class MapChunkCache {
+
+    public static final int CHUNK_TILES = 16;
+    public static final int CHUNK_PIXELS = CHUNK_TILES * TileMap.TILE_SIZE;
+
+    // Chunks around the view to load ahead of the camera
+    private static final int PREFETCH_RING = 1;
+
+    // Stored for chunks that failed to load so they aren't retried every frame
+    private static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+    // Drawn where a visible chunk is still being decoded
+    private static final Color PLACEHOLDER_COLOR = new Color(34, 34, 34);
+
+    // One background decoder shared by every map
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MapChunkLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String imagePath;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final int chunksX;
+    private final int chunksY;
+    private final int capacity;
+
+    // Access-ordered: iteration starts at the least recently used chunk
+    private final LinkedHashMap<Long, BufferedImage> chunks;
+    private final Set<Long> pending = new HashSet<>();
+    private final Set<Long> awaited = new HashSet<>();  // drawn as placeholders
+    private volatile int revision;
+
+    // Stats (debug)
+    private int loads;
+    private int evictions;
+
+    public MapChunkCache(String imagePath, int imageWidth, int imageHeight, int viewWidth, int viewHeight) {
+        this.imagePath = imagePath;
+        this.imageWidth = imageWidth;
+        this.imageHeight = imageHeight;
+        this.chunksX = (imageWidth + CHUNK_PIXELS - 1) / CHUNK_PIXELS;
+        this.chunksY = (imageHeight + CHUNK_PIXELS - 1) / CHUNK_PIXELS;
+
+        // Worst case visible chunks, plus the prefetch ring
+        int across = (viewWidth + CHUNK_PIXELS - 1) / CHUNK_PIXELS + 1 + PREFETCH_RING * 2;
+        int down = (viewHeight + CHUNK_PIXELS - 1) / CHUNK_PIXELS + 1 + PREFETCH_RING * 2;
+        this.capacity = across * down;
+
+        this.chunks = new LinkedHashMap<Long, BufferedImage>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                if (size() > MapChunkCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Read just the header of an image (resource or file) to get its pixel size.
+     * Returns null if the image can't be opened.
+     */
+    public static Dimension readImageSize(String path) {
+        try (InputStream in = open(path)) {
+            if (in == null) return null;
+            try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+                ImageReader reader = readerFor(iis);
+                if (reader == null) return null;
+                try {
+                    return new Dimension(reader.getWidth(0), reader.getHeight(0));
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Draw the part of the map under the view. srcX/srcY is the map pixel
+     * at the top-left of the screen.
+     */
+    public void render(Graphics2D g, int srcX, int srcY, int viewWidth, int viewHeight) {
+        int minCX = Math.max(0, srcX / CHUNK_PIXELS);
+        int minCY = Math.max(0, srcY / CHUNK_PIXELS);
+        int maxCX = Math.min(chunksX - 1, (srcX + viewWidth - 1) / CHUNK_PIXELS);
+        int maxCY = Math.min(chunksY - 1, (srcY + viewHeight - 1) / CHUNK_PIXELS);
+
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                BufferedImage chunk = getOrRequest(cx, cy);
+                if (chunk == null) {
+                    Rectangle r = chunkRegion(cx, cy, imageWidth, imageHeight);
+                    g.setColor(PLACEHOLDER_COLOR);
+                    g.fillRect(r.x - srcX, r.y - srcY, r.width, r.height);
+                } else if (chunk != MISSING) {
+                    g.drawImage(chunk, cx * CHUNK_PIXELS - srcX, cy * CHUNK_PIXELS - srcY, null);
+                }
+            }
+        }
+
+        prefetch(minCX - PREFETCH_RING, minCY - PREFETCH_RING, maxCX + PREFETCH_RING, maxCY + PREFETCH_RING);
+    }
+
+    /**
+     * Decode the chunks a view would draw, plus the prefetch ring, on the
+     * calling thread. For loader threads getting a map ready before it's
+     * shown, so its first frames don't wait on placeholders.
+     */
+    public void warm(int srcX, int srcY, int viewWidth, int viewHeight) {
+        int minCX = Math.max(0, srcX / CHUNK_PIXELS - PREFETCH_RING);
+        int minCY = Math.max(0, srcY / CHUNK_PIXELS - PREFETCH_RING);
+        int maxCX = Math.min(chunksX - 1, (srcX + viewWidth - 1) / CHUNK_PIXELS + PREFETCH_RING);
+        int maxCY = Math.min(chunksY - 1, (srcY + viewHeight - 1) / CHUNK_PIXELS + PREFETCH_RING);
+
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                long key = key(cx, cy);
+                synchronized (this) {
+                    if (chunks.containsKey(key)) continue;
+                }
+                BufferedImage chunk = loadChunk(cx, cy);
+                synchronized (this) {
+                    if (!chunks.containsKey(key)) {
+                        chunks.put(key, chunk);
+                        loads++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every loaded chunk (e.g. when leaving the map).
+     */
+    public synchronized void clear() {
+        chunks.clear();
+        awaited.clear();
+    }
+    
+    /**
+     * Changes whenever a chunk that was drawn as a placeholder has loaded,
+     * i.e. anything holding a drawn copy of the map is out of date.
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    public synchronized int getLoadedCount() {
+        return chunks.size();
+    }
+
+    public int getLoadCount() {
+        return loads;
+    }
+
+    public int getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * A loaded chunk, or null after queueing its decode. Decoding a chunk
+     * can take long (a whole PNG from the top without chunk files), so the
+     * drawing thread never does it.
+     */
+    private BufferedImage getOrRequest(int cx, int cy) {
+        long key = key(cx, cy);
+        synchronized (this) {
+            BufferedImage chunk = chunks.get(key);
+            if (chunk != null) return chunk;
+            awaited.add(key);
+        }
+        request(cx, cy);
+        return null;
+    }
+
+    private void prefetch(int minCX, int minCY, int maxCX, int maxCY) {
+        for (int cy = Math.max(0, minCY); cy <= Math.min(chunksY - 1, maxCY); cy++) {
+            for (int cx = Math.max(0, minCX); cx <= Math.min(chunksX - 1, maxCX); cx++) {
+                request(cx, cy);
+            }
+        }
+    }
+
+    // Queue a chunk's decode unless it's loaded or already queued
+    private void request(int cx, int cy) {
+        long key = key(cx, cy);
+        synchronized (this) {
+            // containsKey doesn't touch the LRU order
+            if (chunks.containsKey(key) || !pending.add(key)) return;
+        }
+
+        loader.execute(() -> {
+            BufferedImage chunk = loadChunk(cx, cy);
+            synchronized (this) {
+                pending.remove(key);
+                if (!chunks.containsKey(key)) {
+                    chunks.put(key, chunk);
+                    loads++;
+                }
+                if (awaited.remove(key)) {
+                    revision++;
+                }
+            }
+        });
+    }
+
+    /**
+     * Resource path of a pre-split chunk image written by MapCompiler
+     * (/maps/intro_map.png -> /maps/intro_map_chunks/3_1.png).
+     */
+    public static String chunkPathFor(String imagePath, int cx, int cy) {
+        int dot = imagePath.lastIndexOf('.');
+        String base = dot > imagePath.lastIndexOf('/') ? imagePath.substring(0, dot) : imagePath;
+        return base + "_chunks/" + cx + "_" + cy + ".png";
+    }
+
+    /**
+     * Decode one chunk into a compatible image. Uses the pre-split chunk
+     * file when there is one; otherwise decodes the chunk's region of the
+     * full image (no full image in memory, but PNG has to be decoded from
+     * the top, so split big maps with MapCompiler).
+     */
+    private BufferedImage loadChunk(int cx, int cy) {
+        try {
+            String chunkPath = chunkPathFor(imagePath, cx, cy);
+            try (InputStream in = MapChunkCache.class.getResourceAsStream(chunkPath)) {
+                if (in != null) {
+                    BufferedImage raw = ImageIO.read(in);
+                    if (raw != null) return toCompatible(raw);
+                }
+            }
+
+            BufferedImage raw = readRegion(imagePath, chunkRegion(cx, cy, imageWidth, imageHeight));
+            return raw != null ? toCompatible(raw) : MISSING;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to load map chunk " + cx + "," + cy + " of " + imagePath);
+            return MISSING;
+        }
+    }
+
+    static Rectangle chunkRegion(int cx, int cy, int imageWidth, int imageHeight) {
+        int x = cx * CHUNK_PIXELS;
+        int y = cy * CHUNK_PIXELS;
+        return new Rectangle(x, y, Math.min(CHUNK_PIXELS, imageWidth - x), Math.min(CHUNK_PIXELS, imageHeight - y));
+    }
+
+    /**
+     * Decode only the given region of an image resource or file.
+     */
+    public static BufferedImage readRegion(String path, Rectangle region) throws IOException {
+        InputStream in = open(path);
+        if (in == null) return null;
+
+        try (InputStream stream = in; ImageInputStream iis = ImageIO.createImageInputStream(stream)) {
+            ImageReader reader = readerFor(iis);
+            if (reader == null) return null;
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(region);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Classpath resource first, then a plain file (MapCompiler runs on files)
+    private static InputStream open(String path) throws IOException {
+        InputStream in = MapChunkCache.class.getResourceAsStream(path);
+        if (in != null) return in;
+        File file = new File(path);
+        return file.isFile() ? new FileInputStream(file) : null;
+    }
+
+    private static ImageReader readerFor(ImageInputStream iis) {
+        if (iis == null) return null;
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) return null;
+        ImageReader reader = readers.next();
+        reader.setInput(iis, true, true);
+        return reader;
+    }
+
+    private static BufferedImage toCompatible(BufferedImage raw) {
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(raw.getWidth(), raw.getHeight(), BufferedImage.TYPE_INT_RGB);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            image = config.createCompatibleImage(raw.getWidth(), raw.getHeight(), Transparency.OPAQUE);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.drawImage(raw, 0, 0, null);
+        g.dispose();
+        return image;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
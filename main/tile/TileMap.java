@@ -1,7 +1,7 @@
 package dev.main.tile;
 
+import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -11,8 +11,9 @@ import java.util.List;
 
 import dev.main.Engine;
 import dev.main.input.CollisionBox;
-import dev.main.sprite.TextureManager;
+import dev.main.util.BinaryMapLoader;
 import dev.main.util.JsonMapParser;
+import dev.main.util.MapCompiler;
 import dev.main.util.MapData;
 
 public class TileMap {
@@ -22,26 +23,34 @@ public class TileMap {
     private int width;   // Map width in tiles
     private int height;  // Map height in tiles
     
-    // Map rendering
-    private BufferedImage mapImage;  // NEW: Full rendered map image
+    // Map rendering: the image is streamed in chunks, never loaded whole
+    private String mapImagePath;
+    private int mapImageWidth;   // pixels
+    private int mapImageHeight;
+    private MapChunkCache chunkCache;  // created on first use
     
     // Collision data
-    private int[][] collisionMap;  // NEW: 0 = walkable, 1 = solid
+    private CollisionGrid collisionMap;  // one bit per tile, set = solid
     
     private MapData mapData;
     
     public TileMap(String mapImagePath, String collisionMapPath) {
         loadMapImage(mapImagePath);
         loadCollisionMap(collisionMapPath);
+        collisionMap.buildClearance();
     }
     
+    /**
+     * Load a JSON map. If a compiled copy (MapCompiler) sits next to it,
+     * that is memory-mapped instead of parsing the JSON.
+     */
     public TileMap(String jsonMapPath) {
-        MapData data = JsonMapParser.parse(jsonMapPath);
+        MapData data = loadMapData(jsonMapPath);
         
         if (data != null) {
             this.width = data.width;
             this.height = data.height;
-            this.collisionMap = data.tiles;
+            this.collisionMap = data.collision != null ? data.collision : CollisionGrid.fromTiles(data.tiles);
             
             System.out.println("JSON map loaded: " + data.mapId);
             System.out.println("  Size: " + width + "x" + height + " tiles");
@@ -60,22 +69,60 @@ public class TileMap {
             height = 50;
             createEmptyCollisionMap();
         }
+        
+        // Distance-to-wall field for box fit checks
+        collisionMap.buildClearance();
+    }
+    private static MapData loadMapData(String path) {
+        if (path.endsWith(BinaryMapLoader.EXTENSION)) {
+            return BinaryMapLoader.load(path);
+        }
+        
+        String compiledPath = MapCompiler.compiledPathFor(path);
+        if (isCompiledUsable(compiledPath, path)) {
+            MapData data = BinaryMapLoader.load(compiledPath);
+            if (data != null) {
+                return data;
+            }
+        }
+        return JsonMapParser.parse(path);
     }
+    
+    // A compiled copy that exists and matches its source
+    private static boolean isCompiledUsable(String compiledPath, String sourcePath) {
+        if (!BinaryMapLoader.exists(compiledPath)) {
+            return false;
+        }
+        if (!BinaryMapLoader.isUpToDate(compiledPath, sourcePath)) {
+            System.err.println("Compiled map " + compiledPath + " is out of date, loading " + sourcePath +
+                               " instead (rerun MapCompiler)");
+            return false;
+        }
+        return true;
+    }
+    
     /**
-     * Load the full map image
+     * Open the map image. Only its size is read here; pixels are streamed
+     * in chunks by MapChunkCache when the map is rendered.
      */
     private void loadMapImage(String path) {
-        mapImage = TextureManager.load(path);
+        Dimension size = MapChunkCache.readImageSize(path);
         
-        if (mapImage != null) {
-            width = mapImage.getWidth() / TILE_SIZE;
-            height = mapImage.getHeight() / TILE_SIZE;
-            System.out.println("Map image loaded: " + width + "x" + height + " tiles (" + 
-                             mapImage.getWidth() + "x" + mapImage.getHeight() + " pixels)");
+        if (size != null) {
+            mapImagePath = path;
+            mapImageWidth = size.width;
+            mapImageHeight = size.height;
+            width = mapImageWidth / TILE_SIZE;
+            height = mapImageHeight / TILE_SIZE;
+            System.out.println("Map image opened: " + width + "x" + height + " tiles (" + 
+                             mapImageWidth + "x" + mapImageHeight + " pixels)");
         } else {
             System.err.println("Failed to load map image: " + path);
-            width = 50;
-            height = 50;
+            // Keep the size from the map data if there is one
+            if (width <= 0 || height <= 0) {
+                width = 50;
+                height = 50;
+            }
         }
     }
     
@@ -86,6 +133,17 @@ public class TileMap {
      * Remaining lines: 0 (walkable) or 1 (solid)
      */
     private void loadCollisionMap(String path) {
+        // Prefer a compiled copy: no per-cell parsing
+        String compiledPath = MapCompiler.compiledPathFor(path);
+        if (isCompiledUsable(compiledPath, path)) {
+            MapData data = BinaryMapLoader.load(compiledPath);
+            if (data != null) {
+                collisionMap = data.collision;
+                System.out.println("Collision map loaded: " + data.width + "x" + data.height + " (compiled)");
+                return;
+            }
+        }
+        
         try {
             InputStream is = getClass().getResourceAsStream(path);
             if (is == null) {
@@ -107,7 +165,7 @@ public class TileMap {
                                  ") doesn't match map image (" + width + "x" + height + ")");
             }
             
-            collisionMap = new int[colHeight][colWidth];
+            collisionMap = new CollisionGrid(colWidth, colHeight);
             
             // Read collision data
             for (int row = 0; row < colHeight; row++) {
@@ -116,7 +174,9 @@ public class TileMap {
                 
                 String[] values = line.trim().split(" ");
                 for (int col = 0; col < colWidth && col < values.length; col++) {
-                    collisionMap[row][col] = Integer.parseInt(values[col]);
+                    if (Integer.parseInt(values[col]) == 1) {
+                        collisionMap.set(col, row, true);
+                    }
                 }
             }
             
@@ -134,33 +194,81 @@ public class TileMap {
      * Create empty collision map (all walkable) as fallback
      */
     private void createEmptyCollisionMap() {
-        collisionMap = new int[height][width];
+        collisionMap = new CollisionGrid(width, height);
         System.out.println("Created empty collision map: " + width + "x" + height + " (all walkable)");
     }
     
     /**
-     * Render the map - now just draws the image in view
+     * Render the map - draws the chunks in view
      */
     public void render(Graphics2D g, float cameraX, float cameraY) {
-        if (mapImage == null) return;
+        renderRegion(g, getViewX(cameraX), getViewY(cameraY), 0, 0, Engine.WIDTH, Engine.HEIGHT);
+    }
+    
+    /**
+     * Map pixel drawn at the left edge of the screen for this camera
+     * (the camera clamped to the map bounds).
+     */
+    public int getViewX(float cameraX) {
+        return Math.max(0, Math.min((int)cameraX, mapImageWidth - Engine.WIDTH));
+    }
+    
+    public int getViewY(float cameraY) {
+        return Math.max(0, Math.min((int)cameraY, mapImageHeight - Engine.HEIGHT));
+    }
+    
+    /**
+     * Draw only the screen rectangle (x, y, w, h) of the view whose top-left
+     * is map pixel (viewX, viewY). Used to fill strips of a scrolled
+     * background without redrawing the rest.
+     */
+    public void renderRegion(Graphics2D g, int viewX, int viewY, int x, int y, int w, int h) {
+        if (mapImagePath == null || w <= 0 || h <= 0) return;
         
-        // Calculate which part of the map to draw
-        int srcX = (int)cameraX;
-        int srcY = (int)cameraY;
-        int srcWidth = Math.min(Engine.WIDTH, mapImage.getWidth() - srcX);
-        int srcHeight = Math.min(Engine.HEIGHT, mapImage.getHeight() - srcY);
+        MapChunkCache chunkCache = getChunkCache();
         
-        // Clamp to map bounds
-        srcX = Math.max(0, Math.min(srcX, mapImage.getWidth() - Engine.WIDTH));
-        srcY = Math.max(0, Math.min(srcY, mapImage.getHeight() - Engine.HEIGHT));
+        Graphics2D region = (Graphics2D) g.create(x, y, w, h);
+        try {
+            chunkCache.render(region, viewX + x, viewY + y, w, h);
+        } finally {
+            region.dispose();
+        }
+    }
+    
+    /**
+     * Decode the map art the view centred on this map pixel will show,
+     * on the calling thread (see MapChunkCache.warm).
+     */
+    public void warmChunks(float centerX, float centerY) {
+        if (mapImagePath == null) return;
         
-        // Draw the visible portion of the map
-        g.drawImage(
-            mapImage,
-            0, 0, Engine.WIDTH, Engine.HEIGHT,  // Destination (screen)
-            srcX, srcY, srcX + Engine.WIDTH, srcY + Engine.HEIGHT,  // Source (map region)
-            null
-        );
+        getChunkCache().warm(getViewX(centerX - Engine.WIDTH / 2), getViewY(centerY - Engine.HEIGHT / 2),
+                             Engine.WIDTH, Engine.HEIGHT);
+    }
+    
+    // Created on first use; a loader thread may warm it before the first render
+    private synchronized MapChunkCache getChunkCache() {
+        if (chunkCache == null) {
+            chunkCache = new MapChunkCache(mapImagePath, mapImageWidth, mapImageHeight, Engine.WIDTH, Engine.HEIGHT);
+        }
+        return chunkCache;
+    }
+    
+    /**
+     * Changes when map art that was drawn as a placeholder has loaded, so
+     * a cached copy of the map should be redrawn.
+     */
+    public int getChunkRevision() {
+        return chunkCache != null ? chunkCache.getRevision() : 0;
+    }
+    
+    /**
+     * Drop the streamed map chunks (e.g. when this map is unloaded).
+     */
+    public void releaseChunks() {
+        if (chunkCache != null) {
+            chunkCache.clear();
+        }
     }
     
     /**
@@ -173,7 +281,18 @@ public class TileMap {
         }
         
         // Check collision map
-        return collisionMap[tileY][tileX] == 1;
+        return collisionMap.isSolid(tileX, tileY);
+    }
+    
+    /**
+     * Change a tile's collision. Use GameState.setTileSolid so path caches
+     * are invalidated too.
+     */
+    public void setSolid(int tileX, int tileY, boolean solid) {
+        if (tileX < 0 || tileX >= width || tileY < 0 || tileY >= height) {
+            return;
+        }
+        collisionMap.set(tileX, tileY, solid);
     }
     
     public boolean isSolidAtWorldPos(float worldX, float worldY) {
@@ -196,15 +315,43 @@ public class TileMap {
         int startTileY = (int)(top / TILE_SIZE);
         int endTileY = (int)(bottom / TILE_SIZE);
         
-        for (int ty = startTileY; ty <= endTileY; ty++) {
-            for (int tx = startTileX; tx <= endTileX; tx++) {
-                if (isSolid(tx, ty)) {
-                    return true;
-                }
-            }
+        return anySolid(startTileX, startTileY, endTileX, endTileY);
+    }
+    
+    /**
+     * Side in tiles of the largest walkable square whose top-left tile is
+     * this one (0 = solid or out of bounds). Precomputed at load.
+     */
+    public int getClearance(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= width || tileY < 0 || tileY >= height) {
+            return 0;
         }
-        
-        return false;
+        // The clearance field doesn't know the map bounds if they're smaller
+        int clearance = collisionMap.getClearance(tileX, tileY);
+        return Math.min(clearance, Math.min(width - tileX, height - tileY));
+    }
+    
+    /**
+     * O(1) check that a square of sizeInTiles tiles starting at this tile
+     * is all walkable.
+     */
+    public boolean fits(int tileX, int tileY, int sizeInTiles) {
+        return getClearance(tileX, tileY) >= sizeInTiles;
+    }
+    
+    /**
+     * Check if any tile in the inclusive tile rectangle is solid
+     * (out of bounds = solid). Usually a single clearance lookup, else a
+     * few word ops per row.
+     */
+    public boolean anySolid(int minTileX, int minTileY, int maxTileX, int maxTileY) {
+        if (minTileX > maxTileX || minTileY > maxTileY) {
+            return false;
+        }
+        if (minTileX < 0 || minTileY < 0 || maxTileX >= width || maxTileY >= height) {
+            return true;
+        }
+        return collisionMap.anySolid(minTileX, minTileY, maxTileX, maxTileY);
     }
     
     private void storeMapData(MapData data) {
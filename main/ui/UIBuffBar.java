@@ -5,6 +5,7 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.util.List;
 
 import dev.main.buffs.Buff;
@@ -14,10 +15,16 @@ import dev.main.state.GameState;
 
 /**
  * UIBuffBar - Displays active buffs as small icons above the skill bar
+ *
+ * Retained: icons are painted into a cached surface, repainted only when
+ * a duration bar or countdown visibly changes, a buff comes or goes, or
+ * the hover moves.
  */
 public class UIBuffBar extends UIComponent {
     
     private static final Font DURATION_FONT = new Font("Arial", Font.BOLD, 9);
+    private static final Font LETTER_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font OVERFLOW_FONT = new Font("Arial", Font.BOLD, 10);
     
     private GameState gameState;
     private Entity player;
@@ -34,6 +41,10 @@ public class UIBuffBar extends UIComponent {
     // Hover tracking
     private Buff hoveredBuff;
     
+    // Cached rendering and what it showed
+    private final UISurface surface = new UISurface();
+    private int[] shownState = new int[0];
+    
     public UIBuffBar(int x, int y, GameState gameState) {
         super(x, y, 0, 0);  // Width/height calculated dynamically
         
@@ -53,6 +64,12 @@ public class UIBuffBar extends UIComponent {
         updateDimensions();
     }
     
+    // Width/height follow the active buffs; cover the most that can be drawn
+    @Override
+    public Rectangle getDrawBounds() {
+        return new Rectangle(x, y, maxIcons * (iconSize + gap), iconSize + 1);
+    }
+    
     private void updateDimensions() {
         BuffManager buffManager = player.getComponent(BuffManager.class);
         if (buffManager == null) {
@@ -78,6 +95,52 @@ public class UIBuffBar extends UIComponent {
         updateDimensions();
         
         List<Buff> buffs = buffManager.getActiveBuffs();
+        Rectangle area = getDrawBounds();
+        if (refreshShownState(buffs) || isDirty() || !surface.covers(area)) {
+            Graphics2D sg = surface.begin(g, area);
+            try {
+                paint(sg, buffs);
+            } finally {
+                sg.dispose();
+            }
+            clearDirty();
+        }
+        surface.draw(g);
+    }
+    
+    /**
+     * Compare what the icons would show now with what they showed last;
+     * returns true if anything visible changed.
+     */
+    private boolean refreshShownState(List<Buff> buffs) {
+        int displayCount = Math.min(buffs.size(), maxIcons);
+        int size = 1 + displayCount * 5;
+        boolean changed = shownState.length != size;
+        if (changed) {
+            shownState = new int[size];
+        }
+        
+        int i = 0;
+        changed |= show(i++, buffs.size());
+        for (int b = 0; b < displayCount; b++) {
+            Buff buff = buffs.get(b);
+            float durationPercent = buff.getDurationPercent();
+            changed |= show(i++, System.identityHashCode(buff));
+            changed |= show(i++, buff == hoveredBuff ? 1 : 0);
+            changed |= show(i++, (int)(iconSize * durationPercent));
+            changed |= show(i++, durationPercent > 0.5f ? 2 : durationPercent > 0.25f ? 1 : 0);
+            changed |= show(i++, showsDurationText(buff) ? Math.round(buff.getCurrentDuration()) : Integer.MIN_VALUE);
+        }
+        return changed;
+    }
+    
+    private boolean show(int index, int value) {
+        if (shownState[index] == value) return false;
+        shownState[index] = value;
+        return true;
+    }
+    
+    private void paint(Graphics2D g, List<Buff> buffs) {
         int displayCount = Math.min(buffs.size(), maxIcons);
         
         for (int i = 0; i < displayCount; i++) {
@@ -111,8 +174,7 @@ public class UIBuffBar extends UIComponent {
         
         // Draw items letter (first letter of name)
         String letter = buff.getName().substring(0, 1).toUpperCase();
-        Font letterFont = new Font("Arial", Font.BOLD, 16);
-        g.setFont(letterFont);
+        g.setFont(LETTER_FONT);
         
         FontMetrics fm = g.getFontMetrics();
         int letterWidth = fm.stringWidth(letter);
@@ -164,22 +226,22 @@ public class UIBuffBar extends UIComponent {
         g.fillRect(iconX, barY, fillWidth, barHeight);
         
         // Duration text (for kill-based or short time-based)
-        if (buff.getDurationType() == Buff.DurationType.KILL_BASED || 
-            buff.getCurrentDuration() < 60) {
+        if (showsDurationText(buff)) {
             renderDurationText(g, buff, iconX, iconY);
         }
     }
     
+    private static boolean showsDurationText(Buff buff) {
+        return buff.getDurationType() == Buff.DurationType.KILL_BASED || 
+               buff.getCurrentDuration() < 60;
+    }
+    
     private void renderDurationText(Graphics2D g, Buff buff, int iconX, int iconY) {
         Font originalFont = g.getFont();
         g.setFont(DURATION_FONT);
         
-        String durationText;
-        if (buff.getDurationType() == Buff.DurationType.KILL_BASED) {
-            durationText = String.format("%.0f", buff.getCurrentDuration());
-        } else {
-            durationText = String.format("%.0f", buff.getCurrentDuration());
-        }
+        // Rounded the same way refreshShownState() tracks it
+        String durationText = String.valueOf(Math.round(buff.getCurrentDuration()));
         
         FontMetrics fm = g.getFontMetrics();
         int textWidth = fm.stringWidth(durationText);
@@ -203,8 +265,7 @@ public class UIBuffBar extends UIComponent {
         int indicatorY = y + 2;
         
         String text = "+" + extraCount;
-        Font font = new Font("Arial", Font.BOLD, 10);
-        g.setFont(font);
+        g.setFont(OVERFLOW_FONT);
         
         FontMetrics fm = g.getFontMetrics();
         int textWidth = fm.stringWidth(text);
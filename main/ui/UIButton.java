@@ -20,6 +20,10 @@ public class UIButton extends UIComponent {
     private static final Font NOTIFICATION_FONT = new Font("Arial", Font.BOLD, 14);
     private static final Font NEW_BADGE_FONT = new Font("Arial", Font.BOLD, 10);
     
+    // Badge outlines and the lock shackle used to pick up a 2px stroke left
+    // behind by whatever was drawn before them; set it explicitly
+    private static final java.awt.BasicStroke OUTLINE_STROKE = new java.awt.BasicStroke(2);
+    
     // Notification types
     public enum NotificationType {
         NONE,           // No notification
@@ -89,6 +93,7 @@ public class UIButton extends UIComponent {
         if (lockedPath != null) {
             iconLocked = TextureManager.load(lockedPath);
         }
+        markDirty();
     }
     
     /**
@@ -116,6 +121,7 @@ public class UIButton extends UIComponent {
         this.notificationType = type;
         this.notificationText = text;
         this.notificationPulse = 0f;
+        markDirty();
     }
     
     /**
@@ -132,6 +138,7 @@ public class UIButton extends UIComponent {
         this.notificationType = NotificationType.NONE;
         this.notificationText = null;
         this.wasJustUnlocked = false;
+        markDirty();
     }
     
     /**
@@ -285,6 +292,7 @@ public class UIButton extends UIComponent {
         
         // Border
         g.setColor(new Color(0, 255, 0));
+        g.setStroke(OUTLINE_STROKE);
         g.drawRoundRect(badgeX, badgeY, badgeWidth, badgeHeight, 4, 4);
         
         // Text
@@ -313,6 +321,7 @@ public class UIButton extends UIComponent {
         
         // Border
         g.setColor(new Color(255, 100, 100));
+        g.setStroke(OUTLINE_STROKE);
         g.drawOval(indicatorX, indicatorY, size, size);
         
         // "!" text
@@ -345,6 +354,7 @@ public class UIButton extends UIComponent {
         
         // Border
         g.setColor(new Color(255, 220, 100));
+        g.setStroke(OUTLINE_STROKE);
         g.drawOval(indicatorX, indicatorY, size, size);
         
         // "?" text
@@ -381,6 +391,7 @@ public class UIButton extends UIComponent {
         
         // Border
         g.setColor(new Color(255, 150, 150));
+        g.setStroke(OUTLINE_STROKE);
         g.drawRoundRect(badgeX, badgeY, badgeWidth, badgeHeight, 8, 8);
         
         // Text
@@ -403,6 +414,7 @@ public class UIButton extends UIComponent {
         g.fillRect(lockX + 2, lockY + 6, lockSize - 4, lockSize - 8);
         
         // Draw lock shackle
+        g.setStroke(OUTLINE_STROKE);
         g.drawArc(lockX + 3, lockY, lockSize - 6, lockSize - 4, 0, 180);
         
         // Draw keyhole
@@ -424,6 +436,13 @@ public class UIButton extends UIComponent {
         }
     }
     
+    // NEW/ALERT/INFO badges pulse; the count badge is static
+    @Override
+    public boolean isAnimating() {
+        return !locked && notificationType != NotificationType.NONE &&
+               notificationType != NotificationType.COUNT;
+    }
+    
     @Override
     public boolean onClick() {
         if (locked || !enabled) {
@@ -455,6 +474,7 @@ public class UIButton extends UIComponent {
     public void setLocked(boolean locked) {
         this.locked = locked;
         this.enabled = !locked;
+        markDirty();
     }
     
     /**
@@ -510,6 +530,7 @@ public class UIButton extends UIComponent {
 
     public void setLabel(String newLabel) {
         this.label = newLabel;
+        markDirty();
     }
     
     public NotificationType getNotificationType() {
@@ -17,7 +17,10 @@ public abstract class UIComponent {
     protected boolean enabled = true;
     protected boolean hovered = false;
     
-    protected UIPanel parent;
+    protected UIComponent parent;
+    
+    // Retained rendering: set when what render() draws may have changed
+    private boolean dirty = true;
     
     // ⭐ NEW: Cached bounds
     private Rectangle cachedBounds = null;
@@ -39,6 +42,44 @@ public abstract class UIComponent {
     public abstract void render(Graphics2D g);
     public abstract void update(float delta);
     
+    /**
+     * Something this component draws changed. Marks it and every panel it
+     * sits in, so cached panel surfaces get repainted next frame.
+     */
+    public void markDirty() {
+        dirty = true;
+        if (parent != null) {
+            parent.markDirty();
+        }
+    }
+    
+    public boolean isDirty() {
+        return dirty;
+    }
+    
+    /**
+     * Whether this component's look changes from frame to frame (pulsing
+     * badges, cooldown countdowns). Retained panels draw such children
+     * live on top of their cached surface instead of repainting it every
+     * frame.
+     */
+    public boolean isAnimating() {
+        return false;
+    }
+    
+    /**
+     * A child moved or was resized. Panels rebuild their hit-test grid.
+     */
+    protected void childBoundsChanged() {
+    }
+    
+    /**
+     * Called once the component's current look has been painted.
+     */
+    protected void clearDirty() {
+        dirty = false;
+    }
+    
     public void setMargin(int top, int right, int bottom, int left) {
         this.marginTop = top;
         this.marginRight = right;
@@ -74,6 +115,14 @@ public abstract class UIComponent {
         return cachedBounds;
     }
     
+    /**
+     * Screen area this component draws into, for the renderer's dirty
+     * regions. Components that draw outside their bounds override this.
+     */
+    public Rectangle getDrawBounds() {
+        return getBounds();
+    }
+    
     public Rectangle getOuterBounds() {
         return new Rectangle(
             x - marginLeft,
@@ -100,10 +149,12 @@ public abstract class UIComponent {
     
     public void onMouseEnter() {
         hovered = true;
+        markDirty();
     }
     
     public void onMouseExit() {
         hovered = false;
+        markDirty();
     }
     
     public boolean onClick() {
@@ -125,30 +176,50 @@ public abstract class UIComponent {
     public int getHeight() { return height; }
     
     public void setPosition(int x, int y) {
+        if (x == this.x && y == this.y) return;
         this.x = x;
         this.y = y;
         cachedBounds = null;  // ⭐ Invalidate cache
+        if (parent != null) {
+            parent.childBoundsChanged();
+        }
+        markDirty();
     }
     
     public void setSize(int width, int height) {
+        if (width == this.width && height == this.height) return;
         this.width = width;
         this.height = height;
         cachedBounds = null;  // ⭐ Invalidate cache
+        if (parent != null) {
+            parent.childBoundsChanged();
+        }
+        markDirty();
     }
     
     public boolean isVisible() { return visible; }
-    public void setVisible(boolean visible) { this.visible = visible; }
+    
+    public void setVisible(boolean visible) {
+        if (visible == this.visible) return;
+        this.visible = visible;
+        markDirty();
+    }
     
     public boolean isEnabled() { return enabled; }
-    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public void setEnabled(boolean enabled) {
+        if (enabled == this.enabled) return;
+        this.enabled = enabled;
+        markDirty();
+    }
     
     public boolean isHovered() { return hovered; }
     
-    public void setParent(UIPanel parent) {
+    public void setParent(UIComponent parent) {
         this.parent = parent;
     }
     
-    public UIPanel getParent() {
+    public UIComponent getParent() {
         return parent;
     }
 }
\ No newline at end of file
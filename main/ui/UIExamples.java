@@ -259,18 +259,27 @@ class UITooltipPanel extends UIPanel {
         int height = lines.length * fm.getHeight() + 16; // padding
         int width = Math.max(150, maxWidth + 16); // minimum width
         
-        // Position near mouse but stay on screen
-        int x = Math.min(mouseX + 10, Engine.WIDTH - width - 10);
-        int y = Math.min(mouseY + 10, Engine.HEIGHT - height - 10);
-        
-        setPosition(x, y);
         setSize(width, height);
+        placeNear(mouseX, mouseY);
         setPadding(8);
         setBackgroundColor(new Color(0, 0, 0, 220));
         setBorderColor(new Color(255, 255, 255));
         setBorderWidth(1);
     }
     
+    public String getText() {
+        return text;
+    }
+    
+    /**
+     * Position near mouse but stay on screen
+     */
+    public void placeNear(int mouseX, int mouseY) {
+        int x = Math.min(mouseX + 10, Engine.WIDTH - width - 10);
+        int y = Math.min(mouseY + 10, Engine.HEIGHT - height - 10);
+        setPosition(x, y);
+    }
+    
     @Override
     public void render(Graphics2D g) {
         if (!visible) return;
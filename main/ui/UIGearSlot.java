@@ -41,6 +41,7 @@ public class UIGearSlot extends UIComponent {
     private Color emptyColor;
     private Color hoverColor;
     private Color fillColor;
+    private Font initialFont;  // sized to the slot, see getInitialFont
     
     public UIGearSlot(int x, int y, int width, int height, SlotType slotType, UIManager uiManager) {
         super(x, y, width, height);
@@ -239,7 +240,7 @@ public class UIGearSlot extends UIComponent {
         String initial = item.getName().substring(0, 1).toUpperCase();
         
         Font originalFont = g.getFont();
-        g.setFont(new Font("Arial", Font.BOLD, size / 2));
+        g.setFont(getInitialFont(size));
         
         FontMetrics fm = g.getFontMetrics();
         int textWidth = fm.stringWidth(initial);
@@ -258,6 +259,16 @@ public class UIGearSlot extends UIComponent {
         
         g.setFont(originalFont);
     }
+
+    /**
+     * Font for the fallback initial, rebuilt only when the slot size changes
+     */
+    private Font getInitialFont(int size) {
+        if (initialFont == null || initialFont.getSize() != size / 2) {
+            initialFont = new Font("Arial", Font.BOLD, size / 2);
+        }
+        return initialFont;
+    }
     
     @Override
     public void update(float delta) {
@@ -287,6 +298,7 @@ public class UIGearSlot extends UIComponent {
     public Item equipItem(Item item) {
         Item oldItem = this.item;
         this.item = item;
+        markDirty();
         
         if (item != null) {
             System.out.println("✅ Equipped " + item.getName() + " in " + slotType + " slot");
@@ -298,6 +310,7 @@ public class UIGearSlot extends UIComponent {
     public Item unequipItem() {
         Item oldItem = this.item;
         this.item = null;
+        markDirty();
         
         if (oldItem != null) {
             System.out.println("⬇️ Unequipped " + oldItem.getName() + " from " + slotType + " slot");
@@ -0,0 +1,88 @@
+package dev.main.ui;
+
+import java.util.List;
+
+/**
+ * Screen-space grid over a panel's children, so finding what's under the
+ * mouse looks at one cell instead of testing every child.
+ *
+ * Each cell lists the children whose bounds touch it, in the panel's
+ * order (last one is drawn on top). Visibility isn't baked in: callers
+ * still check isVisible()/isEnabled()/contains() on the few candidates,
+ * so the grid only needs rebuilding when children are added, removed,
+ * moved or resized.
+ */
+final class UIHitGrid {
+
+    private static final int CELL_SIZE = 64;
+    private static final UIComponent[] EMPTY = new UIComponent[0];
+
+    private int originX, originY;
+    private int columns, rows;
+    private UIComponent[][] cells;
+
+    void rebuild(List<UIComponent> components) {
+        cells = null;
+        if (components.isEmpty()) return;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (UIComponent c : components) {
+            minX = Math.min(minX, c.getX());
+            minY = Math.min(minY, c.getY());
+            maxX = Math.max(maxX, c.getX() + c.getWidth());
+            maxY = Math.max(maxY, c.getY() + c.getHeight());
+        }
+        originX = minX;
+        originY = minY;
+        columns = (maxX - minX) / CELL_SIZE + 1;
+        rows = (maxY - minY) / CELL_SIZE + 1;
+
+        // Count first so every cell gets an exact-size array
+        int[] counts = new int[columns * rows];
+        for (UIComponent c : components) {
+            forEachCell(c, counts, null);
+        }
+        cells = new UIComponent[columns * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = counts[i] == 0 ? EMPTY : new UIComponent[counts[i]];
+            counts[i] = 0;
+        }
+        for (UIComponent c : components) {
+            forEachCell(c, counts, c);
+        }
+    }
+
+    /**
+     * Children whose bounds may contain the point, bottom-most first.
+     * Contains-tests still have to be made.
+     */
+    UIComponent[] candidatesAt(int px, int py) {
+        if (cells == null) return EMPTY;
+        int cx = px - originX;
+        int cy = py - originY;
+        if (cx < 0 || cy < 0) return EMPTY;
+        cx /= CELL_SIZE;
+        cy /= CELL_SIZE;
+        if (cx >= columns || cy >= rows) return EMPTY;
+        return cells[cy * columns + cx];
+    }
+
+    // Counts c into its cells, or (component != null) files it there
+    private void forEachCell(UIComponent c, int[] counts, UIComponent component) {
+        // contains() is inclusive of the right/bottom edge
+        int x0 = (c.getX() - originX) / CELL_SIZE;
+        int y0 = (c.getY() - originY) / CELL_SIZE;
+        int x1 = (c.getX() + c.getWidth() - originX) / CELL_SIZE;
+        int y1 = (c.getY() + c.getHeight() - originY) / CELL_SIZE;
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int cell = cy * columns + cx;
+                if (component != null) {
+                    cells[cell][counts[cell]] = component;
+                }
+                counts[cell]++;
+            }
+        }
+    }
+}
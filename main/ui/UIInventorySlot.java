@@ -16,6 +16,7 @@ import java.awt.FontMetrics;
 public class UIInventorySlot extends UIComponent {
     private static final Font SLOT_FONT = new Font("Arial", Font.PLAIN, 10);
     private static final Font NEW_BADGE_FONT = new Font("Arial", Font.BOLD, 9);
+    private static final Font STACK_FONT = new Font("Arial", Font.BOLD, 12);
    
     private int stackCount = 1;
     private Item item;
@@ -28,12 +29,13 @@ public class UIInventorySlot extends UIComponent {
     private Color emptyColor;
     private Color hoverColor;
     private Color fillColor;
+    private Font initialFont;  // sized to the slot, see getInitialFont
     
     // ★ NEW: Item notification system
     private boolean isNewItem;
     private float newItemPulse;
     private float newItemTimer;
-    private static final float NEW_ITEM_DURATION = 5.0f; // Show "NEW" for 5 seconds
+    static final float NEW_ITEM_DURATION = 5.0f; // Show "NEW" for 5 seconds
     
     public UIInventorySlot(int x, int y, int size, int slotIndex, UIManager uiManager) {
         super(x, y, size, size);
@@ -96,7 +98,7 @@ public class UIInventorySlot extends UIComponent {
         // Draw stack count if stackable
         if (item != null && item.isStackable() && stackCount > 1) {
             Font originalFont = g.getFont();
-            g.setFont(new Font("Arial", Font.BOLD, 12));
+            g.setFont(STACK_FONT);
             
             String countText = String.valueOf(stackCount);
             FontMetrics fm = g.getFontMetrics();
@@ -293,7 +295,7 @@ public class UIInventorySlot extends UIComponent {
         String initial = item.getName().substring(0, 1).toUpperCase();
         
         Font originalFont = g.getFont();
-        g.setFont(new Font("Arial", Font.BOLD, size / 2));
+        g.setFont(getInitialFont(size));
         
         FontMetrics fm = g.getFontMetrics();
         int textWidth = fm.stringWidth(initial);
@@ -312,6 +314,16 @@ public class UIInventorySlot extends UIComponent {
         
         g.setFont(originalFont);
     }
+
+    /**
+     * Font for the fallback initial, rebuilt only when the slot size changes
+     */
+    private Font getInitialFont(int size) {
+        if (initialFont == null || initialFont.getSize() != size / 2) {
+            initialFont = new Font("Arial", Font.BOLD, size / 2);
+        }
+        return initialFont;
+    }
     
     @Override
     public void update(float delta) {
@@ -328,6 +340,12 @@ public class UIInventorySlot extends UIComponent {
         }
     }
     
+    // The "NEW" badge pulses until it expires
+    @Override
+    public boolean isAnimating() {
+        return item != null && isNewItem && newItemTimer > 0;
+    }
+    
     @Override
     public boolean onClick() {
         if (item == null) {
@@ -394,6 +412,7 @@ public class UIInventorySlot extends UIComponent {
     public void setItem(Item item) {
         this.item = item;
         this.stackCount = (item != null) ? 1 : 0;
+        markDirty();
         
         // ★ DEBUG: Print when item is set
         if (item != null) {
@@ -419,21 +438,39 @@ public class UIInventorySlot extends UIComponent {
         this.isNewItem = true;
         this.newItemTimer = NEW_ITEM_DURATION;
         this.newItemPulse = 0f;
+        markDirty();
         System.out.println("✨ Marked slot " + slotIndex + " as NEW");
     }
     
+    /**
+     * Show the "NEW" badge for what's left of it, when the item comes
+     * back into view in a recycled slot
+     */
+    void showNewBadge(float timeLeft) {
+        this.isNewItem = true;
+        this.newItemTimer = timeLeft;
+        this.newItemPulse = 0f;
+        markDirty();
+    }
+    
+    float getNewBadgeTimeLeft() {
+        return isNewItem ? newItemTimer : 0f;
+    }
+    
     /**
      * ★ NEW: Clear the "NEW" badge
      */
     public void clearNewBadge() {
         this.isNewItem = false;
         this.newItemTimer = 0f;
+        markDirty();
     }
     
     public Item removeItem() {
         Item removed = this.item;
         this.item = null;
         this.stackCount = 0;
+        markDirty();
         return removed;
     }
     
@@ -448,6 +485,11 @@ public class UIInventorySlot extends UIComponent {
     public int getSlotIndex() {
         return slotIndex;
     }
+    
+    // The inventory grid reuses slots for whichever row is in view
+    void setSlotIndex(int slotIndex) {
+        this.slotIndex = slotIndex;
+    }
     @Override
     public String getTooltipText() {
         if (item == null) return null;
@@ -524,6 +566,7 @@ public class UIInventorySlot extends UIComponent {
         } else {
             this.stackCount = 1;
         }
+        markDirty();
     }
 
     public boolean addToStack(int amount) {
@@ -536,6 +579,7 @@ public class UIInventorySlot extends UIComponent {
         
         if (newCount <= maxStack) {
             stackCount = newCount;
+            markDirty();
             return true;
         } else {
             return false;
@@ -545,6 +589,7 @@ public class UIInventorySlot extends UIComponent {
     public int removeFromStack(int amount) {
         int removed = Math.min(amount, stackCount);
         stackCount -= removed;
+        markDirty();
         
         if (stackCount <= 0) {
             removeItem();
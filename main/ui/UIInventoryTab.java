@@ -111,6 +111,7 @@ public class UIInventoryTab extends UIComponent {
     
     public void setActive(boolean active) {
         this.active = active;
+        markDirty();
     }
     
     public void setOnClick(Runnable callback) {
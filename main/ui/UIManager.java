@@ -1,6 +1,7 @@
 package dev.main.ui;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.util.ArrayList;
@@ -16,6 +17,7 @@ import dev.main.item.Item;
 import dev.main.item.ItemManager;
 import dev.main.quest.IntroQuestHandler;
 import dev.main.quest.QuestLog;
+import dev.main.render.DirtyRegions;
 import dev.main.skill.Skill;
 import dev.main.skill.SkillLevel;
 import dev.main.state.GameLogic;
@@ -808,6 +810,29 @@ public class UIManager implements MouseWheelListener {
         // Render hovered entity name
         //renderHoveredEntityName(g);
     }
+    
+    /**
+     * Mark what render() draws this frame (visible top-level components).
+     */
+    public void addDrawBounds(DirtyRegions regions) {
+        for (UIPanel panel : panels) {
+            addDrawBounds(regions, panel);
+        }
+        addDrawBounds(regions, buffBar);
+        addDrawBounds(regions, questPanel);
+        addDrawBounds(regions, statsPanel);
+        addDrawBounds(regions, dialogueBox);
+        addDrawBounds(regions, enhancedDialogueBox);
+        addDrawBounds(regions, tooltipPanel);
+    }
+    
+    private static void addDrawBounds(DirtyRegions regions, UIComponent component) {
+        if (component == null || !component.isVisible()) return;
+        
+        // A little slack for borders and shadows drawn on the edge
+        Rectangle r = component.getDrawBounds();
+        regions.add(r.x - 4, r.y - 4, r.width + 8, r.height + 8);
+    }
     /*
     private void renderHoveredEntityName(Graphics2D g) {
         // Don't show hover names if dialogue is open
@@ -890,11 +915,9 @@ public class UIManager implements MouseWheelListener {
      
      // ★ NEW: Check menu buttons (vertical menu)
      if (tooltipText == null && verticalMenu != null && verticalMenu.isVisible()) {
-         for (UIComponent child : verticalMenu.getChildren()) {
-             if (child instanceof UIButton && child.contains(mouseX, mouseY)) {
-                 tooltipText = child.getTooltipText();
-                 break;
-             }
+         UIComponent child = verticalMenu.getChildAt(mouseX, mouseY);
+         if (child instanceof UIButton) {
+             tooltipText = child.getTooltipText();
          }
      }
      
@@ -913,11 +936,9 @@ public class UIManager implements MouseWheelListener {
          for (UIPanel panel : panels) {
              if (panel.isVisible() && panel.contains(mouseX, mouseY)) {
                  // Check if it's a gear slot container
-                 for (UIComponent child : panel.getChildren()) {
-                     if (child instanceof UIGearSlot && child.contains(mouseX, mouseY)) {
-                         tooltipText = child.getTooltipText();
-                         break;
-                     }
+                 UIComponent child = panel.getChildAt(mouseX, mouseY);
+                 if (child instanceof UIGearSlot) {
+                     tooltipText = child.getTooltipText();
                  }
                  if (tooltipText != null) break;
              }
@@ -1321,13 +1342,7 @@ public class UIManager implements MouseWheelListener {
     public boolean hasWoodenSwordInInventory() {
         if (inventoryGrid == null) return false;
         
-        for (UIInventorySlot slot : inventoryGrid.getSlots()) {
-            Item item = slot.getItem();
-            if (item != null && "Wooden Short Sword".equals(item.getName())) {
-                return true;
-            }
-        }
-        return false;
+        return inventoryGrid.containsItem("Wooden Short Sword");
     }
     
     public void showEquipSwordReminder() {
@@ -1398,6 +1413,12 @@ public class UIManager implements MouseWheelListener {
     
     // Tooltip methods
     public void showTooltip(String text, int mouseX, int mouseY) {
+        // Same text as shown: just follow the mouse
+        if (tooltipPanel != null && tooltipPanel.getText().equals(text)) {
+            tooltipPanel.placeNear(mouseX, mouseY);
+            return;
+        }
+        
         if (tooltipPanel != null) {
             panels.remove(tooltipPanel);
         }
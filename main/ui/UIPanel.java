@@ -4,10 +4,18 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * ⭐ OPTIMIZED: Added batch mode to prevent cascading relayout calls
+ *
+ * Top-level panels are retained: they paint themselves and their children
+ * into a cached surface and only repaint it when a child marks itself
+ * dirty (hover, item change, skill upgrade). Otherwise a panel is one blit.
+ * Animating children (pulsing badges, cooldowns) are left out of the
+ * surface and drawn live on top of it; children of a panel don't overlap,
+ * so the order they end up in doesn't show.
  */
 public class UIPanel extends UIComponent {
     
@@ -37,6 +45,17 @@ public class UIPanel extends UIComponent {
     // ⭐ NEW: Batch mode
     private boolean batchMode = false;
     
+    // Cached rendering of this panel and its children (top-level panels only)
+    private final UISurface surface = new UISurface();
+    private final Rectangle drawBounds = new Rectangle();
+    private List<UIComponent> liveChildren = new ArrayList<>();
+    private List<UIComponent> animatingChildren = new ArrayList<>();
+    
+    // Mouse dispatch: children by screen cell, rebuilt when children move
+    private final UIHitGrid hitGrid = new UIHitGrid();
+    private boolean hitGridStale = true;
+    private final List<UIComponent> hoveredChildren = new ArrayList<>();
+    
     public UIPanel(int x, int y, int width, int height) {
         super(x, y, width, height);
         this.children = new ArrayList<>();
@@ -71,14 +90,14 @@ public class UIPanel extends UIComponent {
      */
     public void endBatch() {
         batchMode = false;
-        markDirty();  // Now trigger the relayout
+        requestRelayout();  // Now trigger the relayout
     }
     
     /**
      * ⭐ Mark panel as needing relayout
      * Respects batch mode - won't mark if batching
      */
-    private void markDirty() {
+    private void requestRelayout() {
         if (!batchMode) {
             needsRelayout = true;
         }
@@ -94,7 +113,9 @@ public class UIPanel extends UIComponent {
     public void addChild(UIComponent child) {
         child.setParent(this);
         children.add(child);
-        markDirty();  // Respects batchMode
+        requestRelayout();  // Respects batchMode
+        hitGridStale = true;
+        markDirty();
     }
     
     /**
@@ -122,6 +143,9 @@ public class UIPanel extends UIComponent {
     public void removeChild(UIComponent child) {
         child.setParent(null);
         children.remove(child);
+        hoveredChildren.remove(child);
+        requestRelayout();
+        hitGridStale = true;
         markDirty();
     }
     
@@ -130,28 +154,58 @@ public class UIPanel extends UIComponent {
             child.setParent(null);
         }
         children.clear();
+        hoveredChildren.clear();
+        requestRelayout();
+        hitGridStale = true;
         markDirty();
     }
     
+    @Override
+    protected void childBoundsChanged() {
+        hitGridStale = true;
+    }
+    
+    private UIComponent[] candidatesAt(int mouseX, int mouseY) {
+        if (hitGridStale) {
+            hitGrid.rebuild(children);
+            hitGridStale = false;
+        }
+        return hitGrid.candidatesAt(mouseX, mouseY);
+    }
+    
+    /**
+     * Top-most visible child under the point, or null.
+     */
+    public UIComponent getChildAt(int mouseX, int mouseY) {
+        UIComponent[] candidates = candidatesAt(mouseX, mouseY);
+        for (int i = candidates.length - 1; i >= 0; i--) {
+            UIComponent child = candidates[i];
+            if (child.isVisible() && child.contains(mouseX, mouseY)) {
+                return child;
+            }
+        }
+        return null;
+    }
+    
     // ════════════════════════════════════════════════════════════════
     // LAYOUT CONFIGURATION
     // ════════════════════════════════════════════════════════════════
     
     public void setLayout(LayoutType layoutType) {
         this.layoutType = layoutType;
-        markDirty();
+        requestRelayout();
     }
     
     public void setGap(int gap) {
         this.gap = gap;
-        markDirty();
+        requestRelayout();
     }
     
     public void setGridDimensions(int columns, int rows) {
         this.columns = columns;
         this.rows = rows;
         if (layoutType == LayoutType.GRID) {
-            markDirty();
+            requestRelayout();
         }
     }
     
@@ -250,6 +304,79 @@ public class UIPanel extends UIComponent {
             relayout();
         }
         
+        // Nested panels draw straight into their parent's surface
+        if (parent != null) {
+            paint(g);
+            return;
+        }
+        
+        animatingChildren.clear();
+        for (UIComponent child : children) {
+            if (child.isVisible() && child.isAnimating()) {
+                animatingChildren.add(child);
+            }
+        }
+        
+        // A child starting or stopping an animation moves it in or out of the surface
+        Rectangle area = getDrawBounds();
+        if (isDirty() || !surface.covers(area) || !animatingChildren.equals(liveChildren)) {
+            List<UIComponent> swap = liveChildren;
+            liveChildren = animatingChildren;
+            animatingChildren = swap;
+            
+            Graphics2D sg = surface.begin(g, area);
+            try {
+                paint(sg, liveChildren);
+            } finally {
+                sg.dispose();
+            }
+            clearDirty();
+        }
+        surface.draw(g);
+        
+        for (UIComponent child : liveChildren) {
+            child.render(g);
+        }
+    }
+    
+    @Override
+    public boolean isAnimating() {
+        for (UIComponent child : children) {
+            if (child.isVisible() && child.isAnimating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Everything inside the panel's bounds, children included, plus
+     * whatever children draw past them.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        drawBounds.setBounds(x, y, width, height);
+        for (UIComponent child : children) {
+            if (child.isVisible()) {
+                drawBounds.add(child.getDrawBounds());
+            }
+        }
+        return drawBounds;
+    }
+    
+    @Override
+    protected void clearDirty() {
+        super.clearDirty();
+        for (UIComponent child : children) {
+            child.clearDirty();
+        }
+    }
+    
+    private void paint(Graphics2D g) {
+        paint(g, Collections.<UIComponent>emptyList());
+    }
+    
+    private void paint(Graphics2D g, List<UIComponent> skipped) {
         // Draw background
         if (backgroundColor != null) {
             g.setColor(backgroundColor);
@@ -265,7 +392,7 @@ public class UIPanel extends UIComponent {
         
         // Render children
         for (UIComponent child : children) {
-            if (child.isVisible()) {
+            if (child.isVisible() && !skipped.contains(child)) {
                 child.render(g);
             }
         }
@@ -286,23 +413,36 @@ public class UIPanel extends UIComponent {
     // INPUT HANDLING
     // ════════════════════════════════════════════════════════════════
     
+    /**
+     * Only the children under the mouse (from the hit grid) and the ones
+     * hovered so far are looked at, not every child.
+     */
     public void handleMouseMove(int mouseX, int mouseY, boolean pressed) {
-        for (UIComponent child : children) {
+        // Exits first; a hidden or disabled child keeps its hover until it's back
+        for (int i = hoveredChildren.size() - 1; i >= 0; i--) {
+            UIComponent child = hoveredChildren.get(i);
+            if (!child.isHovered()) {
+                hoveredChildren.remove(i);
+            } else if (child.isVisible() && child.isEnabled() && !child.contains(mouseX, mouseY)) {
+                child.onMouseExit();
+                hoveredChildren.remove(i);
+            }
+        }
+        
+        for (UIComponent child : candidatesAt(mouseX, mouseY)) {
             if (!child.isVisible() || !child.isEnabled()) continue;
             
-            boolean contains = child.contains(mouseX, mouseY);
-            
-            if (contains && !child.isHovered()) {
+            if (!child.isHovered() && child.contains(mouseX, mouseY)) {
                 child.onMouseEnter();
-            } else if (!contains && child.isHovered()) {
-                child.onMouseExit();
+                hoveredChildren.add(child);
             }
         }
     }
     
     public boolean handleClick(int mouseX, int mouseY) {
-        for (int i = children.size() - 1; i >= 0; i--) {
-            UIComponent child = children.get(i);
+        UIComponent[] candidates = candidatesAt(mouseX, mouseY);
+        for (int i = candidates.length - 1; i >= 0; i--) {
+            UIComponent child = candidates[i];
             if (!child.isVisible() || !child.isEnabled()) continue;
             
             if (child.contains(mouseX, mouseY)) {
@@ -326,8 +466,9 @@ public class UIPanel extends UIComponent {
     }
     
     public boolean handleRightClick(int mouseX, int mouseY) {
-        for (int i = children.size() - 1; i >= 0; i--) {
-            UIComponent child = children.get(i);
+        UIComponent[] candidates = candidatesAt(mouseX, mouseY);
+        for (int i = candidates.length - 1; i >= 0; i--) {
+            UIComponent child = candidates[i];
             if (!child.isVisible() || !child.isEnabled()) continue;
             
             if (child.contains(mouseX, mouseY)) {
@@ -356,14 +497,17 @@ public class UIPanel extends UIComponent {
     
     public void setBackgroundColor(Color color) {
         this.backgroundColor = color;
+        markDirty();
     }
     
     public void setBorderColor(Color color) {
         this.borderColor = color;
+        markDirty();
     }
     
     public void setBorderWidth(int width) {
         this.borderWidth = width;
+        markDirty();
     }
     
     public List<UIComponent> getChildren() {
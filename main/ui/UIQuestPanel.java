@@ -203,7 +203,7 @@ public class UIQuestPanel extends UIComponent {
                             // Find NPC and clear any current offered reference
                             String giverId = questToAbandon.getQuestGiver();
                             if (giverId != null) {
-                                for (Entity e : gs.getEntities()) {
+                                for (Entity e : gs.query(NPC.class)) {
                                     NPC npc = e.getComponent(NPC.class);
                                     if (npc != null && giverId.equals(npc.getNpcId())) {
                                         // Ensure current offered quest cleared
@@ -4,15 +4,26 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import dev.main.item.Item;
 
 /**
  * REFACTORED: All tabs share same inventory slots
  * Tabs filter items by category (Misc shows all)
+ *
+ * Virtualized: slot widgets exist only for the rows that fit on screen and
+ * are recycled as rows scroll in and out. Each tab keeps an index of where
+ * its items sit in the shared inventory, updated as stacks come and go, so
+ * switching tabs or scrolling never re-filters the whole inventory.
  */
 public class UIScrollableInventoryPanel extends UIComponent {
+    
+    private static final java.awt.Font COUNT_FONT = new java.awt.Font("Arial", java.awt.Font.PLAIN, 10);
 			  
     private List<UIInventorySlot> slots;
     private int columns;
@@ -63,6 +74,19 @@ public class UIScrollableInventoryPanel extends UIComponent {
     private int cachedLastVisibleRow = -1;
     private int lastScrollOffsetY = -1;
     
+    // Per tab: positions in sharedInventory of the items it shows
+    private final Map<String, TabIndex> tabIndexes = new HashMap<>();
+    private TabIndex currentTabIndex;
+    
+    // Stack each slot widget currently shows (null = unused)
+    private ItemStack[] boundStacks;
+    
+    // "NEW" badge time left for items scrolled out of view or on other tabs
+    private final Map<ItemStack, Float> parkedNewBadges = new IdentityHashMap<>();
+    
+    // Slot the mouse was last over
+    private UIInventorySlot hoveredSlot;
+    
     public UIScrollableInventoryPanel(int x, int y, int width, int height, 
                                       int columns, int totalRows, int visibleRows, UIManager uiManager) {
         super(x, y, width, height);
@@ -107,6 +131,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
         this.sharedInventory = new ItemStack[getTotalSlots()];  // ★ Changed to ItemStack[]
 
         this.currentTab = "Misc";
+        this.currentTabIndex = getTabIndex(currentTab);
         
         // Create slots
         createSlots();
@@ -114,20 +139,23 @@ public class UIScrollableInventoryPanel extends UIComponent {
         refreshSlotDisplay();
     }
     
+    /**
+     * Widgets for as many rows as can be partly in view at once. Display
+     * index i is always shown by widget i % slots.size().
+     */
     private void createSlots() {
         slots.clear();
         
-        int slotIndex = 0;
-        for (int row = 0; row < totalRows; row++) {
-            for (int col = 0; col < columns; col++) {
-                int slotX = x + padding + (col * (slotSize + gap));
-                int slotY = y + padding + (row * (slotSize + gap));
-                
-                UIInventorySlot slot = new UIInventorySlot(slotX, slotY, slotSize, slotIndex, uiManager);
-                slots.add(slot);
-                slotIndex++;
-            }
+        int rowHeight = slotSize + gap;
+        int poolRows = Math.min(totalRows, (height - padding * 2) / rowHeight + 3);
+        
+        for (int slotIndex = 0; slotIndex < poolRows * columns; slotIndex++) {
+            UIInventorySlot slot = new UIInventorySlot(x + padding, y + padding, slotSize, slotIndex, uiManager);
+            slot.setParent(this);  // slot changes repaint the inventory
+            slot.setVisible(false);
+            slots.add(slot);
         }
+        boundStacks = new ItemStack[slots.size()];
     }
     
     private void calculateScrollLimits() {
@@ -149,6 +177,12 @@ public class UIScrollableInventoryPanel extends UIComponent {
         lastScrollOffsetY = scrollOffsetY;
     }
     
+    // One past the last display index in view
+    private int visibleEnd() {
+        updateVisibleRange();
+        return Math.min(currentTabIndex.size(), (cachedLastVisibleRow + 1) * columns);
+    }
+    
     public void handleScroll(int wheelRotation) {
         if (!showScrollbar) return;
         
@@ -159,6 +193,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
         scrollbarFadeTimer = 1.5f;
         
         updateSlotPositions();
+        markDirty();
     }
     /**
      * ★ NEW: Add item and mark slot as new
@@ -168,14 +203,11 @@ public class UIScrollableInventoryPanel extends UIComponent {
         
         if (added) {
             // Find the slot where item was added and mark it as new
-            List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-            
-            for (int i = 0; i < filteredStacks.size() && i < slots.size(); i++) {
-                ItemStack stack = filteredStacks.get(i);
-                UIInventorySlot slot = slots.get(i);
+            for (int i = 0; i < currentTabIndex.size(); i++) {
+                ItemStack stack = sharedInventory[currentTabIndex.get(i)];
                 
-                if (stack != null && stack.getItem() == item) {
-                    slot.markAsNew();
+                if (stack.getItem() == item) {
+                    markAsNew(stack);
                     System.out.println("✨ New item added: " + item.getName());
                     break;
                 }
@@ -193,6 +225,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
      */
     public void switchToTab(String tabName) {
         this.currentTab = tabName;
+        this.currentTabIndex = getTabIndex(tabName);
         scrollOffsetY = 0;  // Reset scroll to top
         refreshSlotDisplay();
     }
@@ -201,29 +234,92 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * ★ FIXED: Refresh slot display preserving stack counts
      */
     private void refreshSlotDisplay() {
-        // Get filtered item stacks for current tab
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
+        // Update scroll limits based on filtered item count
+        updateScrollLimitsForFilteredItems(currentTabIndex.size());
+        bindVisibleSlots(true);
+        markDirty();
+    }
+    
+    /**
+     * Point the slot widgets at the items in view. A widget whose row
+     * scrolled out of view is hidden until it's reused for a row coming
+     * in; its "NEW" badge stays with the item.
+     */
+    private void bindVisibleSlots(boolean refreshCounts) {
+        updateVisibleRange();
         
-        // Clear all slots first
-        for (UIInventorySlot slot : slots) {
-            slot.removeItem();
-            slot.setVisible(false);
-        }
+        int poolSize = slots.size();
+        int first = cachedFirstVisibleRow * columns;
+        int end = Math.min(currentTabIndex.size(), (cachedLastVisibleRow + 1) * columns);
         
-        // Populate visible slots with filtered items AND their stack counts
-        for (int i = 0; i < filteredStacks.size() && i < slots.size(); i++) {
-            UIInventorySlot slot = slots.get(i);
-            ItemStack stack = filteredStacks.get(i);
+        for (int k = 0; k < poolSize; k++) {
+            UIInventorySlot slot = slots.get(k);
+            
+            // The display index in view that maps to this widget, if any
+            int i = first + Math.floorMod(k - first, poolSize);
+            if (i >= end) {
+                unbindSlot(k);
+                continue;
+            }
             
-            if (stack != null && stack.getItem() != null) {
+            ItemStack stack = sharedInventory[currentTabIndex.get(i)];
+            if (boundStacks[k] != stack) {
+                unbindSlot(k);
                 slot.setItem(stack.getItem());
+                Float badgeTimeLeft = parkedNewBadges.remove(stack);
+                if (badgeTimeLeft != null) {
+                    slot.showNewBadge(badgeTimeLeft);
+                }
+                boundStacks[k] = stack;
+                refreshCounts = true;
+            }
+            if (refreshCounts) {
                 slot.setStackCount(stack.getStackCount());  // ★ Preserve stack count!
-                slot.setVisible(true);
             }
+            
+            int row = i / columns;
+            int col = i % columns;
+            slot.setSlotIndex(i);
+            slot.setPosition(x + padding + (col * (slotSize + gap)),
+                             y + padding + (row * (slotSize + gap)) - scrollOffsetY);
+            slot.setVisible(true);
         }
-        
-        // Update scroll limits based on filtered item count
-        updateScrollLimitsForFilteredItems(filteredStacks.size());
+    }
+    
+    private void unbindSlot(int k) {
+        UIInventorySlot slot = slots.get(k);
+        if (boundStacks[k] != null) {
+            float badgeTimeLeft = slot.getNewBadgeTimeLeft();
+            if (badgeTimeLeft > 0) {
+                parkedNewBadges.put(boundStacks[k], badgeTimeLeft);
+            }
+            boundStacks[k] = null;
+        }
+        if (slot.isVisible() || !slot.isEmpty()) {
+            slot.removeItem();
+            slot.clearNewBadge();
+            slot.setVisible(false);
+        }
+    }
+    
+    /**
+     * Show the "NEW" badge on a stack, now if it's in view or once it is.
+     */
+    private void markAsNew(ItemStack stack) {
+        for (int k = 0; k < slots.size(); k++) {
+            if (boundStacks[k] == stack) {
+                slots.get(k).markAsNew();
+                return;
+            }
+        }
+        parkedNewBadges.put(stack, UIInventorySlot.NEW_ITEM_DURATION);
+    }
+    
+    /**
+     * Widget showing a display index in view
+     */
+    private UIInventorySlot slotFor(int displayIndex) {
+        return slots.get(displayIndex % slots.size());
     }
     /**
      * ★ NEW: Get stack count for an item from shared inventory
@@ -235,29 +331,54 @@ public class UIScrollableInventoryPanel extends UIComponent {
         return 1;
     } 
     /**
-     * Get items filtered by tab category (WITH stack counts)
+     * Index of a tab's items, built with one pass over the inventory the
+     * first time the tab is asked for and maintained by setStack after.
      */
-    private List<ItemStack> getFilteredItemStacks(String tabName) {
-        List<ItemStack> filtered = new ArrayList<>();
-        
-        for (ItemStack stack : sharedInventory) {
-            if (stack == null || stack.getItem() == null) continue;
-            
-            Item item = stack.getItem();
-            
-            // "Misc" shows everything
-            if (tabName.equals("Misc")) {
-                filtered.add(stack);
-                continue;
+    private TabIndex getTabIndex(String tabName) {
+        TabIndex index = tabIndexes.get(tabName);
+        if (index == null) {
+            index = new TabIndex();
+            for (int i = 0; i < sharedInventory.length; i++) {
+                if (showsOnTab(sharedInventory[i], tabName)) {
+                    index.add(i);
+                }
             }
-            
-            // Filter by category
-            if (matchesTabFilter(item, tabName)) {
-                filtered.add(stack);
+            tabIndexes.put(tabName, index);
+        }
+        return index;
+    }
+    
+    private boolean showsOnTab(ItemStack stack, String tabName) {
+        if (stack == null || stack.getItem() == null) return false;
+        
+        // "Misc" shows everything
+        return tabName.equals("Misc") || matchesTabFilter(stack.getItem(), tabName);
+    }
+    
+    /**
+     * Every write to sharedInventory goes through here, keeping the tab
+     * indexes current.
+     */
+    private void setStack(int inventoryIndex, ItemStack stack) {
+        ItemStack old = sharedInventory[inventoryIndex];
+        if (old != null) {
+            parkedNewBadges.remove(old);
+            for (int k = 0; k < boundStacks.length; k++) {
+                if (boundStacks[k] == old) {
+                    boundStacks[k] = null;  // Gone; don't park its badge
+                    slots.get(k).clearNewBadge();
+                }
             }
-        } 
+        }
         
-        return filtered;
+        sharedInventory[inventoryIndex] = stack;
+        for (Map.Entry<String, TabIndex> entry : tabIndexes.entrySet()) {
+            if (showsOnTab(stack, entry.getKey())) {
+                entry.getValue().add(inventoryIndex);
+            } else {
+                entry.getValue().remove(inventoryIndex);
+            }
+        }
     }
     /**
      * Check if item matches tab filter
@@ -339,7 +460,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
         if (addedToSlotIndex == -1) {
             for (int i = 0; i < sharedInventory.length; i++) {
                 if (sharedInventory[i] == null) {
-                    sharedInventory[i] = new ItemStack(item, 1);
+                    setStack(i, new ItemStack(item, 1));
                     addedToSlotIndex = i;
                     refreshSlotDisplay();
                     //System.out.println("Added " + item.getName() + " to inventory slot " + i);
@@ -350,16 +471,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
         
         // ★ NEW: Mark slot as new if requested
         if (markAsNew && addedToSlotIndex != -1) {
-            // Find the display slot for this inventory index
-            List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-            for (int i = 0; i < filteredStacks.size() && i < slots.size(); i++) {
-                ItemStack stack = filteredStacks.get(i);
-                if (stack != null && sharedInventory[addedToSlotIndex] == stack) {
-                    slots.get(i).markAsNew();
-                   // System.out.println("✨ Marked slot " + i + " as NEW");
-                    break;
-                }
-            }
+            markAsNew(sharedInventory[addedToSlotIndex]);
         }
         
         if (addedToSlotIndex == -1) {
@@ -423,7 +535,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
             }
             
             int toAdd = Math.min(remaining, item.getMaxStackSize());
-            sharedInventory[emptyIndex] = new ItemStack(item, toAdd);
+            setStack(emptyIndex, new ItemStack(item, toAdd));
             remaining -= toAdd;
             System.out.println("Created new stack: " + toAdd + "x " + item.getName());
         }
@@ -436,60 +548,56 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * Remove item from specific slot index
      */
     public boolean removeItemFromSlot(int slotIndex) {
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        
-        if (slotIndex < 0 || slotIndex >= filteredStacks.size()) {
+        if (slotIndex < 0 || slotIndex >= currentTabIndex.size()) {
             return false;
         }
         
-        ItemStack stackToRemove = filteredStacks.get(slotIndex);
-        
-        // Find and remove from shared inventory
-        for (int i = 0; i < sharedInventory.length; i++) {
-            if (sharedInventory[i] == stackToRemove) {
-                sharedInventory[i] = null;
-                refreshSlotDisplay();
-                return true;
-            }
-        }
-        
-        return false;
+        setStack(currentTabIndex.get(slotIndex), null);
+        refreshSlotDisplay();
+        return true;
     }
     /**
      * Get item at filtered slot index
      */
     public Item getItemAtSlot(int slotIndex) {
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        if (slotIndex >= 0 && slotIndex < filteredStacks.size()) {
-            ItemStack stack = filteredStacks.get(slotIndex);
-            return stack != null ? stack.getItem() : null;
+        if (slotIndex >= 0 && slotIndex < currentTabIndex.size()) {
+            return sharedInventory[currentTabIndex.get(slotIndex)].getItem();
         }
         return null;
     }
     
+    /**
+     * Whether any stack in the inventory (any tab) holds an item by this name
+     */
+    public boolean containsItem(String itemName) {
+        TabIndex all = getTabIndex("Misc");
+        for (int i = 0; i < all.size(); i++) {
+            if (itemName.equals(sharedInventory[all.get(i)].getItem().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Get total item count (all items, not filtered)
      */
     public int getTotalItemCount() {
-        int count = 0;
-        for (ItemStack stack : sharedInventory) {
-            if (stack != null && stack.getItem() != null) count++;
-        }
-        return count;
+        return getTabIndex("Misc").size();
     }
     
     /**
      * Get filtered item count (current tab)
      */
     public int getFilteredItemCount() {
-        return getFilteredItemStacks(currentTab).size();
+        return currentTabIndex.size();
     }
     /**
      * Clear all items
      */
     public void clearInventory() {
         for (int i = 0; i < sharedInventory.length; i++) {
-            sharedInventory[i] = null;
+            setStack(i, null);
         }
         refreshSlotDisplay();
     }
@@ -502,20 +610,8 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * Update slot positions (FIXED to use ItemStack)
      */
     private void updateSlotPositions() {
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = 0; i < visibleSlotCount; i++) {
-            UIInventorySlot slot = slots.get(i);
-            
-            int row = i / columns;
-            int col = i % columns;
-            
-            int slotX = x + padding + (col * (slotSize + gap));
-            int slotY = y + padding + (row * (slotSize + gap)) - scrollOffsetY;
-            
-            slot.setPosition(slotX, slotY);
-        }
+        bindVisibleSlots(false);
+        markDirty();
     }
     /**
      * Render (FIXED to use ItemStack)
@@ -540,19 +636,11 @@ public class UIScrollableInventoryPanel extends UIComponent {
                   height - padding * 2);
         
         // Render visible slots
-        updateVisibleRange();
-        
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = 0; i < visibleSlotCount; i++) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                UIInventorySlot slot = slots.get(i);
-                if (slot.isVisible()) {
-                    slot.render(g);
-                }
+        int end = visibleEnd();
+        for (int i = cachedFirstVisibleRow * columns; i < end; i++) {
+            UIInventorySlot slot = slotFor(i);
+            if (slot.isVisible()) {
+                slot.render(g);
             }
         }
         
@@ -565,7 +653,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
         }
         
         // Draw item count indicator
-        drawItemCount(g, filteredStacks.size());
+        drawItemCount(g, currentTabIndex.size());
     }
     
     /**
@@ -574,7 +662,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
     private void drawItemCount(Graphics2D g, int count) {
         String countText = count + " / " + sharedInventory.length;
         
-        g.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 10));
+        g.setFont(COUNT_FONT);
         java.awt.FontMetrics fm = g.getFontMetrics();
         int textWidth = fm.stringWidth(countText);
         
@@ -594,8 +682,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * Draw scrollbar (FIXED to use ItemStack)
      */
     private void drawScrollbar(Graphics2D g) {
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int requiredRows = (int) Math.ceil((double) filteredStacks.size() / columns);
+        int requiredRows = (int) Math.ceil((double) currentTabIndex.size() / columns);
         
         if (requiredRows <= visibleRows) return;
         
@@ -634,17 +721,9 @@ public class UIScrollableInventoryPanel extends UIComponent {
         }
         
         // Update visible slots
-        updateVisibleRange();
-        
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = 0; i < visibleSlotCount; i++) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                slots.get(i).update(delta);
-            }
+        int end = visibleEnd();
+        for (int i = cachedFirstVisibleRow * columns; i < end; i++) {
+            slotFor(i).update(delta);
         }
     }
 
@@ -670,29 +749,19 @@ public class UIScrollableInventoryPanel extends UIComponent {
         if (mouseOverScrollbar && !wasOverScrollbar) {
             scrollbarAlpha = 1.0f;
             scrollbarFadeTimer = 0;
+            markDirty();
         }
         
         // Update slot hovers
-        updateVisibleRange();
-        
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = 0; i < visibleSlotCount; i++) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                UIInventorySlot slot = slots.get(i);
-                if (!slot.isVisible() || !slot.isEnabled()) continue;
-                
-                boolean contains = slot.contains(mouseX, mouseY);
-                
-                if (contains && !slot.isHovered()) {
-                    slot.onMouseEnter();
-                } else if (!contains && slot.isHovered()) {
-                    slot.onMouseExit();
-                }
+        UIInventorySlot slot = slotAt(mouseX, mouseY);
+        if (slot != hoveredSlot) {
+            if (hoveredSlot != null && hoveredSlot.isHovered()) {
+                hoveredSlot.onMouseExit();
+            }
+            if (slot != null && !slot.isHovered()) {
+                slot.onMouseEnter();
             }
+            hoveredSlot = slot;
         }
         
         // Handle thumb dragging
@@ -718,28 +787,14 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * Handle click (FIXED to use ItemStack)
      */
     public boolean handleClick(int mouseX, int mouseY) {
-        updateVisibleRange();
-        
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = visibleSlotCount - 1; i >= 0; i--) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                UIInventorySlot slot = slots.get(i);
-                if (!slot.isVisible() || !slot.isEnabled()) continue;
-                
-                if (slot.contains(mouseX, mouseY)) {
-                    return slot.onClick();
-                }
-            }
+        UIInventorySlot slot = slotAt(mouseX, mouseY);
+        if (slot != null) {
+            return slot.onClick();
         }
         
         // Handle scrollbar thumb
         if (showScrollbar) {
-            List<ItemStack> stacks = getFilteredItemStacks(currentTab);
-            int requiredRows = (int) Math.ceil((double) stacks.size() / columns);
+            int requiredRows = (int) Math.ceil((double) currentTabIndex.size() / columns);
             
             if (requiredRows > visibleRows) {
                 float scrollRatio = maxScrollY > 0 ? (float)scrollOffsetY / maxScrollY : 0;
@@ -752,6 +807,7 @@ public class UIScrollableInventoryPanel extends UIComponent {
                     draggingThumb = true;
                     dragOffset = mouseY - thumbY;
                     scrollbarAlpha = 1.0f;
+                    markDirty();
                     return true;
                 }
             }
@@ -763,22 +819,9 @@ public class UIScrollableInventoryPanel extends UIComponent {
      * Handle right click (FIXED to use ItemStack)
      */
     public boolean handleRightClick(int mouseX, int mouseY) {
-        updateVisibleRange();
-        
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
-        
-        for (int i = visibleSlotCount - 1; i >= 0; i--) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                UIInventorySlot slot = slots.get(i);
-                if (!slot.isVisible() || !slot.isEnabled()) continue;
-                
-                if (slot.contains(mouseX, mouseY)) {
-                    return slot.onRightClick();
-                }
-            }
+        UIInventorySlot slot = slotAt(mouseX, mouseY);
+        if (slot != null) {
+            return slot.onRightClick();
         }
         
         return this.contains(mouseX, mouseY);
@@ -788,9 +831,14 @@ public class UIScrollableInventoryPanel extends UIComponent {
     // GETTERS
     // ═══════════════════════════════════════════════════════════════
     
+    /**
+     * Widget showing a display index, or null while that index is out of
+     * view (only rows in view have widgets).
+     */
     public UIInventorySlot getSlot(int index) {
-        if (index >= 0 && index < slots.size()) {
-            return slots.get(index);
+        updateVisibleRange();
+        if (index >= cachedFirstVisibleRow * columns && index < visibleEnd()) {
+            return slotFor(index);
         }
         return null;
     }
@@ -805,37 +853,110 @@ public class UIScrollableInventoryPanel extends UIComponent {
     
     public void setBackgroundColor(Color color) {
         this.backgroundColor = color;
+        markDirty();
     }
     
     public void setBorderColor(Color color) {
         this.borderColor = color;
+        markDirty();
+    }
+    
+    /**
+     * While the scrollbar fades out or a visible slot's badge pulses
+     */
+    @Override
+    public boolean isAnimating() {
+        if (showScrollbar && scrollbarAlpha > 0 && scrollbarAlpha < 1) {
+            return true;
+        }
+        int end = visibleEnd();
+        for (int i = cachedFirstVisibleRow * columns; i < end; i++) {
+            UIInventorySlot slot = slotFor(i);
+            if (slot.isVisible() && slot.isAnimating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    protected void clearDirty() {
+        super.clearDirty();
+        for (UIInventorySlot slot : slots) {
+            slot.clearDirty();
+        }
     }
     
     /**
      * Get hovered slot (FIXED to use ItemStack)
      */
     public UIInventorySlot getHoveredSlot(int mouseX, int mouseY) {
-        updateVisibleRange();
+        return slotAt(mouseX, mouseY);
+    }
+    
+    /**
+     * The slot under the point. Slots sit on a fixed grid, so the index
+     * comes straight from the coordinates instead of testing every slot.
+     */
+    private UIInventorySlot slotAt(int mouseX, int mouseY) {
+        int localX = mouseX - (x + padding);
+        int localY = mouseY - (y + padding) + scrollOffsetY;
+        if (localX < 0 || localY < 0) return null;
         
-        List<ItemStack> filteredStacks = getFilteredItemStacks(currentTab);
-        int visibleSlotCount = Math.min(filteredStacks.size(), slots.size());
+        int pitch = slotSize + gap;
+        int col = localX / pitch;
+        int row = localY / pitch;
+        if (col >= columns) return null;
         
-        for (int i = visibleSlotCount - 1; i >= 0; i--) {
-            int row = i / columns;
-            
-            if (row >= cachedFirstVisibleRow && row <= cachedLastVisibleRow) {
-                UIInventorySlot slot = slots.get(i);
-                if (!slot.isVisible() || !slot.isEnabled()) continue;
-                
-                if (slot.contains(mouseX, mouseY)) {
-                    return slot;
-                }
-            }
+        int end = visibleEnd();
+        if (row < cachedFirstVisibleRow || row > cachedLastVisibleRow) return null;
+        
+        int index = row * columns + col;
+        if (index >= end) return null;
+        
+        UIInventorySlot slot = slotFor(index);
+        if (!slot.isVisible() || !slot.isEnabled() || !slot.contains(mouseX, mouseY)) {
+            return null;
         }
-        return null;
+        return slot;
     }
     
     public String getCurrentTab() {
         return currentTab;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Positions in sharedInventory of one tab's items, ascending.
+     */
+    private static final class TabIndex {
+        private int[] positions = new int[16];
+        private int size;
+        
+        int size() {
+            return size;
+        }
+        
+        int get(int i) {
+            return positions[i];
+        }
+        
+        void add(int position) {
+            int at = Arrays.binarySearch(positions, 0, size, position);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            positions[at] = position;
+            size++;
+        }
+        
+        void remove(int position) {
+            int at = Arrays.binarySearch(positions, 0, size, position);
+            if (at < 0) return;
+            System.arraycopy(positions, at + 1, positions, at, size - at - 1);
+            size--;
+        }
+    }
+}
@@ -34,6 +34,10 @@ public class UISkillSlot extends UIComponent {
     private Color cooldownColor;
     private Color keybindBgColor;
     
+    // Skill level last shown; an upgrade repaints the skill bar
+    private int shownLevel;
+    private boolean shownMaxLevel;
+    
     public UISkillSlot(int x, int y, int size) {
         super(x, y, size, size);
         
@@ -218,9 +222,23 @@ public class UISkillSlot extends UIComponent {
     public void update(float delta) {
         if (skill != null) {
             skill.update(delta);
+            
+            int level = skill.getSkillLevel();
+            boolean maxLevel = skill.isMaxLevel();
+            if (level != shownLevel || maxLevel != shownMaxLevel) {
+                shownLevel = level;
+                shownMaxLevel = maxLevel;
+                markDirty();
+            }
         }
     }
     
+    // The overlay and countdown change while cooling down
+    @Override
+    public boolean isAnimating() {
+        return skill != null && !skill.isReady();
+    }
+    
     @Override
     public boolean onClick() {
         if (skill != null && uiManager != null && slotIndex >= 0) {
@@ -289,10 +307,10 @@ public class UISkillSlot extends UIComponent {
     
     // Getters/Setters
     public Skill getSkill() { return skill; }
-    public void setSkill(Skill skill) { this.skill = skill; }
+    public void setSkill(Skill skill) { this.skill = skill; markDirty(); }
     public String getKeyBinding() { return keyBinding; }
-    public void setKeyBinding(String keyBinding) { this.keyBinding = keyBinding; }
-    public void setShowCooldown(boolean show) { this.showCooldown = show; }
-    public void setShowKeybind(boolean show) { this.showKeybind = show; }
+    public void setKeyBinding(String keyBinding) { this.keyBinding = keyBinding; markDirty(); }
+    public void setShowCooldown(boolean show) { this.showCooldown = show; markDirty(); }
+    public void setShowKeybind(boolean show) { this.showKeybind = show; markDirty(); }
     public int getSlotIndex() { return slotIndex; }
 }
\ No newline at end of file
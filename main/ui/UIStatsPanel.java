@@ -1,5 +1,6 @@
 package dev.main.ui;
 
+import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 
 import dev.main.entity.Entity;
@@ -13,14 +14,21 @@ import java.awt.Font;
 
 /**
  * UI Panel for displaying hero stats
+ *
+ * Retained: the panel is painted into a cached surface and only repainted
+ * when one of the numbers it shows changes.
  */
 public class UIStatsPanel extends UIComponent {
     private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 16);
     private static final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 12);
     private static final Font SMALL_FONT = new Font("Arial", Font.PLAIN, 10);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(2);
 
     private GameState gameState;
     private boolean visible = false;
+    
+    private final UISurface surface = new UISurface();
+    private final int[] shownValues = new int[15];
 
     public UIStatsPanel(int x, int y, int width, int height, GameState gameState) {
         super(x, y, width, height);
@@ -42,12 +50,64 @@ public class UIStatsPanel extends UIComponent {
 
     @Override
     public void render(Graphics2D g) {
+        if (refreshShownValues() || isDirty() || !surface.covers(getBounds())) {
+            Graphics2D sg = surface.begin(g, getBounds());
+            try {
+                paint(sg);
+            } finally {
+                sg.dispose();
+            }
+            clearDirty();
+        }
+        surface.draw(g);
+    }
+    
+    /**
+     * Compare what the panel would show now with what it showed last;
+     * returns true if anything changed.
+     */
+    private boolean refreshShownValues() {
+        Entity player = gameState.getPlayer();
+        Experience exp = player != null ? player.getComponent(Experience.class) : null;
+        Stats stats = player != null ? player.getComponent(Stats.class) : null;
+        SkillLevel skillLevel = player != null ? player.getComponent(SkillLevel.class) : null;
+        
+        boolean changed = false;
+        int i = 0;
+        changed |= show(i++, exp != null && stats != null ? 1 : 0);
+        if (exp != null && stats != null) {
+            changed |= show(i++, exp.level);
+            changed |= show(i++, (int)exp.currentXP);
+            changed |= show(i++, (int)exp.xpToNextLevel);
+            changed |= show(i++, skillLevel != null ? skillLevel.availablePoints : 0);
+            changed |= show(i++, stats.hp);
+            changed |= show(i++, stats.maxHp);
+            changed |= show(i++, stats.mana);
+            changed |= show(i++, stats.maxMana);
+            changed |= show(i++, (int)stats.stamina);
+            changed |= show(i++, (int)stats.getMaxStamina());
+            changed |= show(i++, stats.attack);
+            changed |= show(i++, stats.defense);
+            changed |= show(i++, stats.magicAttack);
+            changed |= show(i++, stats.magicDefense);
+        }
+        return changed;
+    }
+    
+    private boolean show(int index, int value) {
+        if (shownValues[index] == value) return false;
+        shownValues[index] = value;
+        return true;
+    }
+    
+    private void paint(Graphics2D g) {
         // Background
         g.setColor(new Color(40, 40, 40, 220));
         g.fillRect(x, y, width, height);
 
         // Border
         g.setColor(Color.WHITE);
+        g.setStroke(BORDER_STROKE);
         g.drawRect(x, y, width, height);
 
         // Title
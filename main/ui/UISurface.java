@@ -0,0 +1,70 @@
+package dev.main.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import dev.main.sprite.TextureAtlas;
+
+/**
+ * A component's last rendering, kept in a translucent image so a frame
+ * where nothing changed costs one blit instead of repainting every child
+ * from primitives.
+ *
+ * The owner decides when to repaint (its dirty flag); the surface only
+ * knows whether it still covers the area the owner draws into.
+ */
+final class UISurface {
+
+    // Borders and shadows drawn just outside a component's bounds
+    private static final int MARGIN = 4;
+
+    private BufferedImage image;
+    private int x, y;
+
+    /**
+     * Whether the image was painted for exactly this area, so it can be
+     * reused as is.
+     */
+    boolean covers(Rectangle area) {
+        return image != null &&
+               x == area.x - MARGIN && y == area.y - MARGIN &&
+               image.getWidth() == area.width + MARGIN * 2 &&
+               image.getHeight() == area.height + MARGIN * 2;
+    }
+
+    /**
+     * Start repainting the surface for this area. Returns a cleared
+     * Graphics that takes screen coordinates and starts out with the
+     * target's hints, font, color and stroke, as direct drawing would.
+     * The caller disposes it.
+     */
+    Graphics2D begin(Graphics2D target, Rectangle area) {
+        int width = Math.max(1, area.width + MARGIN * 2);
+        int height = Math.max(1, area.height + MARGIN * 2);
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = TextureAtlas.createCompatibleImage(width, height);
+        }
+        x = area.x - MARGIN;
+        y = area.y - MARGIN;
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+
+        g.setRenderingHints(target.getRenderingHints());
+        g.setFont(target.getFont());
+        g.setColor(target.getColor());
+        g.setStroke(target.getStroke());
+        g.translate(-x, -y);
+        return g;
+    }
+
+    void draw(Graphics2D g) {
+        if (image != null) {
+            g.drawImage(image, x, y, null);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package dev.main.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import dev.main.tile.CollisionGrid;
+
+/**
+ * Loads maps compiled by MapCompiler.
+ *
+ * The file is memory-mapped and read in place: the collision bitset is one
+ * bulk copy into a CollisionGrid and the remaining sections are fixed-width
+ * records, so there's no text parsing at load time.
+ *
+ * The header records the size, modification time and CRC32 of the source
+ * the file was compiled from, so a compiled map left behind after its
+ * JSON/TXT was edited is noticed (isUpToDate) instead of silently loaded.
+ *
+ * Layout (big-endian, strings are u16 length + UTF-8):
+ *   header:     magic, version, sourceSize, sourceModified, sourceHash,
+ *               width, height, tileSize, mapId
+ *   collision:  ((width + 63) / 64) * height longs, see CollisionGrid
+ *   layers:     count, then per layer: name, cell bytes (1 or 4), width * height cells
+ *   portals:    count, then id, x, y, targetMap, targetX, targetY
+ *   spawns:     count, then id, monsterType, x, y, level, tier, respawnDelay
+ */
+public class BinaryMapLoader {
+
+    public static final int MAGIC = 0x444D4150;  // "DMAP"
+    public static final int VERSION = 3;
+    public static final String EXTENSION = ".mapbin";
+
+    /** Name of the tile layer holding the raw "tiles" values */
+    public static final String TILES_LAYER = "tiles";
+
+    /**
+     * What the header records about a map's source file.
+     */
+    public static final class SourceStamp {
+        /** A map whose source couldn't be read; never up to date with one */
+        public static final SourceStamp NONE = new SourceStamp(-1L, -1L, -1L);
+
+        public final long size;
+        public final long modified;  // epoch ms, -1 if unknown
+        public final long hash;      // CRC32
+
+        public SourceStamp(long size, long modified, long hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Load a compiled map from a file path or classpath resource.
+     * Returns null if it can't be found or isn't a valid map file.
+     */
+    public static MapData load(String path) {
+        try {
+            ByteBuffer buffer = open(path);
+            if (buffer == null) {
+                return null;
+            }
+            return read(buffer);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to load binary map: " + path);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * True if a compiled map exists at this file path or classpath resource.
+     */
+    public static boolean exists(String path) {
+        return Files.isRegularFile(Paths.get(path)) || BinaryMapLoader.class.getResource(path) != null;
+    }
+
+    /**
+     * Whether a compiled map was built from the source as it is now. True
+     * when there's no source file to compare against (only the compiled map
+     * was shipped, or the source is inside a jar and can't change); false
+     * for files of an older format version.
+     *
+     * Only the source's attributes are read while its size and modification
+     * time match the header; the source is hashed when only the time differs
+     * (e.g. after a checkout or copy).
+     */
+    public static boolean isUpToDate(String compiledPath, String sourcePath) {
+        try {
+            Path source = sourceFile(sourcePath);
+            if (source == null) {
+                return true;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+
+            ByteBuffer buffer = open(compiledPath);
+            if (buffer == null || buffer.remaining() < 32 ||
+                buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return false;
+            }
+            long size = buffer.getLong();
+            long modified = buffer.getLong();
+            long hash = buffer.getLong();
+
+            if (size != attributes.size()) {
+                return false;
+            }
+            if (modified == attributes.lastModifiedTime().toMillis()) {
+                return true;
+            }
+            return hash == crc(Files.readAllBytes(source));
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Size, modification time and CRC32 of a source map file (file path or
+     * classpath resource), or SourceStamp.NONE if it can't be read.
+     */
+    public static SourceStamp stampSource(String path) {
+        try {
+            Path file = sourceFile(path);
+            if (file != null) {
+                byte[] bytes = Files.readAllBytes(file);
+                return new SourceStamp(bytes.length, Files.getLastModifiedTime(file).toMillis(), crc(bytes));
+            }
+            try (InputStream is = BinaryMapLoader.class.getResourceAsStream(path)) {
+                if (is == null) {
+                    return SourceStamp.NONE;
+                }
+                byte[] bytes = is.readAllBytes();
+                return new SourceStamp(bytes.length, -1L, crc(bytes));
+            }
+        } catch (IOException | RuntimeException e) {
+            return SourceStamp.NONE;
+        }
+    }
+
+    // The source as a file (path or file: resource), or null if it isn't one
+    private static Path sourceFile(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+        URL url = BinaryMapLoader.class.getResource(path);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private static ByteBuffer open(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (!Files.isRegularFile(file)) {
+            URL url = BinaryMapLoader.class.getResource(path);
+            if (url == null) {
+                return null;
+            }
+            if (!"file".equals(url.getProtocol())) {
+                // Inside a jar: can't map, read it once instead
+                try (InputStream is = url.openStream()) {
+                    return ByteBuffer.wrap(is.readAllBytes());
+                }
+            }
+            try {
+                file = Paths.get(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return mapped;
+        }
+    }
+
+    static MapData read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled map file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported map version " + version + " (expected " + VERSION + ")");
+        }
+        buffer.getLong();  // sourceSize, sourceModified and sourceHash, see isUpToDate
+        buffer.getLong();
+        buffer.getLong();
+
+        MapData data = new MapData();
+        data.width = buffer.getInt();
+        data.height = buffer.getInt();
+        data.tileSize = buffer.getInt();
+        data.mapId = readString(buffer);
+
+        // Collision bitset
+        int words = ((data.width + 63) >>> 6) * data.height;
+        LongBuffer collision = buffer.asLongBuffer();
+        collision.limit(words);
+        data.collision = CollisionGrid.fromWords(data.width, data.height, collision);
+        buffer.position(buffer.position() + words * 8);
+
+        // Tile layers
+        int layerCount = buffer.getInt();
+        for (int i = 0; i < layerCount; i++) {
+            String name = readString(buffer);
+            int cellBytes = buffer.get();
+            int size = data.width * data.height * cellBytes;
+            if (TILES_LAYER.equals(name)) {
+                data.tiles = readLayer(buffer, data.width, data.height, cellBytes);
+            } else {
+                buffer.position(buffer.position() + size);  // unknown layer, skip
+            }
+        }
+        if (data.tiles == null) {
+            data.tiles = new int[0][0];
+        }
+
+        // Portals
+        int portalCount = buffer.getInt();
+        data.portals = new ArrayList<>(portalCount);
+        for (int i = 0; i < portalCount; i++) {
+            MapData.Portal portal = new MapData.Portal();
+            portal.id = readString(buffer);
+            portal.x = buffer.getInt();
+            portal.y = buffer.getInt();
+            portal.targetMap = readString(buffer);
+            portal.targetX = buffer.getInt();
+            portal.targetY = buffer.getInt();
+            data.portals.add(portal);
+        }
+
+        // Monster spawns
+        int spawnCount = buffer.getInt();
+        data.monsterSpawns = new ArrayList<>(spawnCount);
+        for (int i = 0; i < spawnCount; i++) {
+            MapData.MonsterSpawn spawn = new MapData.MonsterSpawn();
+            spawn.id = readString(buffer);
+            spawn.monsterType = readString(buffer);
+            spawn.x = buffer.getInt();
+            spawn.y = buffer.getInt();
+            spawn.level = buffer.getInt();
+            spawn.tier = readString(buffer);
+            spawn.respawnDelay = buffer.getFloat();
+            data.monsterSpawns.add(spawn);
+        }
+
+        return data;
+    }
+
+    private static int[][] readLayer(ByteBuffer buffer, int width, int height, int cellBytes) {
+        int[][] tiles = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            int[] row = tiles[y];
+            if (cellBytes == 1) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = buffer.get() & 0xFF;
+                }
+            } else {
+                buffer.asIntBuffer().get(row);
+                buffer.position(buffer.position() + width * 4);
+            }
+        }
+        return tiles;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -9,6 +9,18 @@ import java.awt.geom.AffineTransform;
 
 public class DiamondRenderer {
 
+    private static final int SIZE = 16;
+    private static final float MAX_GLOW_STROKE = 6f;
+
+    /**
+     * Farthest renderDiamond() reaches from its center at this scale,
+     * glow included
+     */
+    public static int getRadius(float scale) {
+        // Half the size, plus half the widest glow stroke past each mitered point
+        return (int)Math.ceil((SIZE / 2 + MAX_GLOW_STROKE / 2 * Math.sqrt(2)) * scale);
+    }
+
     public static void renderDiamond(Graphics2D g, int screenX, int screenY, float scale, float alpha) {
         // Save original state
         AffineTransform originalTransform = g.getTransform();
@@ -17,7 +29,7 @@ public class DiamondRenderer {
         g.translate(screenX, screenY);
         g.scale(scale, scale);
         
-        int size = 16 / 2;
+        int size = SIZE / 2;
         int[] xPoints = {0, size, 0, -size};
         int[] yPoints = {-size, 0, size, 0};
         Polygon diamond = new Polygon(xPoints, yPoints, 4);
@@ -28,7 +40,7 @@ public class DiamondRenderer {
         for (int i = 3; i > 0; i--) {
             int glowAlpha = (int)(alphaValue * 0.3f * (i / 3f));
             g.setColor(new Color(100, 200, 255, glowAlpha));
-            g.setStroke(new BasicStroke(i * 2f));
+            g.setStroke(new BasicStroke(i * MAX_GLOW_STROKE / 3));
             g.drawPolygon(diamond);
         }
         
@@ -92,7 +104,7 @@ public class DiamondRenderer {
         g.rotate(rotation);
         g.scale(scale, scale);
         
-        int size = 16 / 2;
+        int size = SIZE / 2;
         int[] xPoints = {0, size, 0, -size};
         int[] yPoints = {-size, 0, size, 0};
         Polygon diamond = new Polygon(xPoints, yPoints, 4);
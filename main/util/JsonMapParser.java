@@ -2,19 +2,42 @@ package dev.main.util;
 //════════════════════════════════════════════════════════════════════════
 //NEW FILE: JsonMapParser.java
 //════════════════════════════════════════════════════════════════════════
- 
 
-import java.io.BufferedReader;
+
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
-* Simple JSON parser for map files
-* No external dependencies - parses manually
+* Single-pass streaming JSON parser for map files.
+* No external dependencies - reads characters straight from the stream into
+* MapData, with tile rows decoded directly into int[] (no strings per cell).
+* Unknown keys are skipped, so newer map files still load.
 */
 public class JsonMapParser {
- 
+
+ private static final int BUFFER_SIZE = 16 * 1024;
+
+ private final Reader reader;
+ private final char[] buffer = new char[BUFFER_SIZE];
+ private int position;
+ private int limit;
+ private long offset;  // chars consumed before buffer[0], for error messages
+
+ // Reused for keys and string values
+ private final StringBuilder text = new StringBuilder(32);
+
+ // Scratch row for tiles, grown as needed
+ private int[] rowBuffer = new int[256];
+
+ private JsonMapParser(Reader reader) {
+     this.reader = reader;
+ }
+
  public static MapData parse(String jsonPath) {
      try {
          InputStream is = JsonMapParser.class.getResourceAsStream(jsonPath);
@@ -22,228 +45,409 @@ public class JsonMapParser {
              System.err.println("JSON map not found: " + jsonPath);
              return null;
          }
-         
-         BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-         StringBuilder json = new StringBuilder();
-         String line;
-         
-         while ((line = reader.readLine()) != null) {
-             json.append(line.trim());
-         }
-         reader.close();
-         
-         return parseJson(json.toString());
-         
+
+         return parse(is);
+
      } catch (Exception e) {
          System.err.println("Failed to parse JSON map: " + jsonPath);
          e.printStackTrace();
          return null;
      }
  }
- 
- private static MapData parseJson(String json) {
+
+ /**
+  * Parse a map from an open stream (closed when done). Used by MapCompiler
+  * for files outside the classpath.
+  */
+ public static MapData parse(InputStream is) throws IOException {
+     try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+         return new JsonMapParser(reader).parseMap();
+     }
+ }
+
+ // ========================================
+ // SCHEMA
+ // ========================================
+
+ private MapData parseMap() throws IOException {
      MapData data = new MapData();
+     data.mapId = "";
      data.portals = new ArrayList<>();
      data.monsterSpawns = new ArrayList<>();
-     
-     // Remove outer braces
-     json = json.substring(json.indexOf('{') + 1, json.lastIndexOf('}'));
-     
-     // Parse fields
-     data.mapId = extractString(json, "mapId");
-     data.width = extractInt(json, "width");
-     data.height = extractInt(json, "height");
-     data.tileSize = extractInt(json, "tileSize");
-     
-     // Parse tiles array
-     data.tiles = parseTilesArray(json);
-     
-     // Parse portals array
-     String portalsJson = extractArray(json, "portals");
-     if (portalsJson != null && !portalsJson.trim().isEmpty()) {
-         parsePortals(portalsJson, data.portals);
-     }
-     
-     // Parse monster spawns array
-     String spawnsJson = extractArray(json, "monsterSpawns");
-     if (spawnsJson != null && !spawnsJson.trim().isEmpty()) {
-         parseMonsterSpawns(spawnsJson, data.monsterSpawns);
-     }
-     
+
+     expect('{');
+     if (!consumeIf('}')) {
+         do {
+             String key = readString();
+             expect(':');
+             switch (key) {
+                 case "mapId":         data.mapId = readString(); break;
+                 case "width":         data.width = readInt(); break;
+                 case "height":        data.height = readInt(); break;
+                 case "tileSize":      data.tileSize = readInt(); break;
+                 case "tiles":         data.tiles = readTiles(data.width, data.height); break;
+                 case "portals":       readPortals(data); break;
+                 case "monsterSpawns": readMonsterSpawns(data); break;
+                 default:              skipValue(); break;
+             }
+         } while (consumeIf(','));
+         expect('}');
+     }
+
+     if (data.tiles == null) {
+         data.tiles = new int[0][0];
+     }
      return data;
  }
- 
- private static String extractString(String json, String key) {
-     String search = "\"" + key + "\"";
-     int start = json.indexOf(search);
-     if (start == -1) return "";
-     
-     start = json.indexOf(':', start) + 1;
-     start = json.indexOf('"', start) + 1;
-     int end = json.indexOf('"', start);
-     
-     return json.substring(start, end);
- }
- 
- private static int extractInt(String json, String key) {
-     String search = "\"" + key + "\"";
-     int start = json.indexOf(search);
-     if (start == -1) return 0;
-     
-     start = json.indexOf(':', start) + 1;
-     
-     // Skip whitespace
-     while (start < json.length() && Character.isWhitespace(json.charAt(start))) {
-         start++;
-     }
-     
-     int end = start;
-     while (end < json.length() && (Character.isDigit(json.charAt(end)) || json.charAt(end) == '-')) {
-         end++;
-     }
-     
-     return Integer.parseInt(json.substring(start, end));
- }
- 
- private static String extractArray(String json, String key) {
-     String search = "\"" + key + "\"";
-     int start = json.indexOf(search);
-     if (start == -1) return null;
-     
-     start = json.indexOf('[', start);
-     if (start == -1) return null;
-     
-     int depth = 0;
-     int end = start;
-     
-     do {
-         char c = json.charAt(end);
-         if (c == '[') depth++;
-         if (c == ']') depth--;
-         end++;
-     } while (depth > 0 && end < json.length());
-     
-     return json.substring(start + 1, end - 1);
- }
- 
- private static int[][] parseTilesArray(String json) {
-     String tilesJson = extractArray(json, "tiles");
-     if (tilesJson == null || tilesJson.trim().isEmpty()) {
-         return new int[0][0];
-     }
-     
-     // Split by rows (arrays within array)
-     ArrayList<int[]> rows = new ArrayList<>();
-     int depth = 0;
-     int rowStart = 0;
-     
-     for (int i = 0; i < tilesJson.length(); i++) {
-         char c = tilesJson.charAt(i);
-         
-         if (c == '[') {
-             if (depth == 0) rowStart = i + 1;
-             depth++;
-         } else if (c == ']') {
-             depth--;
-             if (depth == 0) {
-                 String rowJson = tilesJson.substring(rowStart, i);
-                 rows.add(parseIntArray(rowJson));
+
+ /**
+  * Array of int arrays. width/height are only size hints (they usually
+  * come before "tiles" in the file); the real row count and lengths win.
+  */
+ private int[][] readTiles(int widthHint, int heightHint) throws IOException {
+     if (consumeNull()) return null;
+
+     int[][] rows = new int[Math.max(heightHint, 0)][];
+     int count = 0;
+     if (widthHint > rowBuffer.length) {
+         rowBuffer = new int[widthHint];
+     }
+
+     expect('[');
+     if (!consumeIf(']')) {
+         do {
+             int length = 0;
+             expect('[');
+             if (!consumeIf(']')) {
+                 do {
+                     if (length == rowBuffer.length) {
+                         rowBuffer = Arrays.copyOf(rowBuffer, length * 2);
+                     }
+                     rowBuffer[length++] = readInt();
+                 } while (consumeIf(','));
+                 expect(']');
+             }
+
+             if (count == rows.length) {
+                 rows = Arrays.copyOf(rows, Math.max(16, count * 2));
              }
+             rows[count++] = Arrays.copyOf(rowBuffer, length);
+         } while (consumeIf(','));
+         expect(']');
+     }
+
+     return count == rows.length ? rows : Arrays.copyOf(rows, count);
+ }
+
+ private void readPortals(MapData data) throws IOException {
+     if (consumeNull()) return;
+
+     expect('[');
+     if (consumeIf(']')) return;
+     do {
+         MapData.Portal portal = new MapData.Portal();
+         portal.id = "";
+         portal.targetMap = "";
+
+         expect('{');
+         if (!consumeIf('}')) {
+             do {
+                 String key = readString();
+                 expect(':');
+                 switch (key) {
+                     case "id":        portal.id = readString(); break;
+                     case "x":         portal.x = readInt(); break;
+                     case "y":         portal.y = readInt(); break;
+                     case "targetMap": portal.targetMap = readString(); break;
+                     case "targetX":   portal.targetX = readInt(); break;
+                     case "targetY":   portal.targetY = readInt(); break;
+                     default:          skipValue(); break;
+                 }
+             } while (consumeIf(','));
+             expect('}');
          }
+         data.portals.add(portal);
+     } while (consumeIf(','));
+     expect(']');
+ }
+
+ private void readMonsterSpawns(MapData data) throws IOException {
+     if (consumeNull()) return;
+
+     expect('[');
+     if (consumeIf(']')) return;
+     do {
+         MapData.MonsterSpawn spawn = new MapData.MonsterSpawn();
+         spawn.id = "";
+         spawn.monsterType = "";
+         spawn.tier = "";
+
+         expect('{');
+         if (!consumeIf('}')) {
+             do {
+                 String key = readString();
+                 expect(':');
+                 switch (key) {
+                     case "id":           spawn.id = readString(); break;
+                     case "monsterType":  spawn.monsterType = readString(); break;
+                     case "x":            spawn.x = readInt(); break;
+                     case "y":            spawn.y = readInt(); break;
+                     case "level":        spawn.level = readInt(); break;
+                     case "tier":         spawn.tier = readString(); break;
+                     case "respawnDelay": spawn.respawnDelay = (float) readNumber(); break;
+                     default:             skipValue(); break;
+                 }
+             } while (consumeIf(','));
+             expect('}');
+         }
+         data.monsterSpawns.add(spawn);
+     } while (consumeIf(','));
+     expect(']');
+ }
+
+ // ========================================
+ // TOKENS
+ // ========================================
+
+ /**
+  * Integer value. Digits are accumulated directly; a fraction or exponent
+  * is read as a double and truncated.
+  */
+ private int readInt() throws IOException {
+     skipWhitespace();
+     long start = charOffset();
+     boolean negative = false;
+     if (peekRaw() == '-') {
+         negative = true;
+         position++;
      }
-     
-     // Convert to 2D array
-     int[][] tiles = new int[rows.size()][];
-     for (int i = 0; i < rows.size(); i++) {
-         tiles[i] = rows.get(i);
+
+     long value = 0;
+     int digits = 0;
+     while (true) {
+         if (position == limit && !fill()) break;
+         char c = buffer[position];
+         if (c < '0' || c > '9') break;
+         value = value * 10 + (c - '0');
+         position++;
+         digits++;
      }
-     
-     return tiles;
+
+     if (position < limit || fill()) {
+         char c = buffer[position];
+         if (c == '.' || c == 'e' || c == 'E') {
+             // Rare in map files: finish it as a double and truncate
+             double rest = readFraction(value, digits);
+             return (int) (negative ? -rest : rest);
+         }
+     }
+     if (digits == 0) {
+         throw error("Expected number", start);
+     }
+     return (int) (negative ? -value : value);
  }
- 
- private static int[] parseIntArray(String json) {
-     String[] parts = json.split(",");
-     int[] result = new int[parts.length];
-     
-     for (int i = 0; i < parts.length; i++) {
-         result[i] = Integer.parseInt(parts[i].trim());
+
+ private double readNumber() throws IOException {
+     skipWhitespace();
+     long start = charOffset();
+     boolean negative = false;
+     if (peekRaw() == '-') {
+         negative = true;
+         position++;
      }
-     
-     return result;
+
+     long value = 0;
+     int digits = 0;
+     while (true) {
+         if (position == limit && !fill()) break;
+         char c = buffer[position];
+         if (c < '0' || c > '9') break;
+         value = value * 10 + (c - '0');
+         position++;
+         digits++;
+     }
+     double result = readFraction(value, digits);
+     if (digits == 0 && result == 0) {
+         throw error("Expected number", start);
+     }
+     return negative ? -result : result;
  }
- 
- private static void parsePortals(String json, java.util.List<MapData.Portal> portals) {
-     // Split by objects
-     int depth = 0;
-     int objStart = -1;
-     
-     for (int i = 0; i < json.length(); i++) {
-         char c = json.charAt(i);
-         
-         if (c == '{') {
-             if (depth == 0) objStart = i;
-             depth++;
-         } else if (c == '}') {
-             depth--;
-             if (depth == 0 && objStart != -1) {
-                 String objJson = json.substring(objStart + 1, i);
-                 MapData.Portal portal = new MapData.Portal();
-                 portal.id = extractString(objJson, "id");
-                 portal.x = extractInt(objJson, "x");
-                 portal.y = extractInt(objJson, "y");
-                 portal.targetMap = extractString(objJson, "targetMap");
-                 portal.targetX = extractInt(objJson, "targetX");
-                 portal.targetY = extractInt(objJson, "targetY");
-                 portals.add(portal);
-             }
+
+ // Fraction and exponent following an integer part already read
+ private double readFraction(long integerPart, int digits) throws IOException {
+     double result = integerPart;
+
+     if ((position < limit || fill()) && buffer[position] == '.') {
+         position++;
+         double scale = 0.1;
+         while (true) {
+             if (position == limit && !fill()) break;
+             char c = buffer[position];
+             if (c < '0' || c > '9') break;
+             result += (c - '0') * scale;
+             scale *= 0.1;
+             position++;
          }
      }
+
+     if ((position < limit || fill()) && (buffer[position] == 'e' || buffer[position] == 'E')) {
+         position++;
+         boolean negativeExponent = false;
+         char sign = peekRaw();
+         if (sign == '-' || sign == '+') {
+             negativeExponent = sign == '-';
+             position++;
+         }
+         int exponent = 0;
+         while (true) {
+             if (position == limit && !fill()) break;
+             char c = buffer[position];
+             if (c < '0' || c > '9') break;
+             exponent = exponent * 10 + (c - '0');
+             position++;
+         }
+         result *= Math.pow(10, negativeExponent ? -exponent : exponent);
+     }
+     return result;
  }
- 
- private static void parseMonsterSpawns(String json, java.util.List<MapData.MonsterSpawn> spawns) {
-     // Split by objects
-     int depth = 0;
-     int objStart = -1;
-     
-     for (int i = 0; i < json.length(); i++) {
-         char c = json.charAt(i);
-         
-         if (c == '{') {
-             if (depth == 0) objStart = i;
-             depth++;
-         } else if (c == '}') {
-             depth--;
-             if (depth == 0 && objStart != -1) {
-                 String objJson = json.substring(objStart + 1, i);
-                 MapData.MonsterSpawn spawn = new MapData.MonsterSpawn();
-                 spawn.id = extractString(objJson, "id");
-                 spawn.monsterType = extractString(objJson, "monsterType");
-                 spawn.x = extractInt(objJson, "x");
-                 spawn.y = extractInt(objJson, "y");
-                 spawn.level = extractInt(objJson, "level");
-                 spawn.tier = extractString(objJson, "tier");
-                 
-                 // Parse float respawnDelay
-                 String search = "\"respawnDelay\"";
-                 int start = objJson.indexOf(search);
-                 if (start != -1) {
-                     start = objJson.indexOf(':', start) + 1;
-                     while (start < objJson.length() && Character.isWhitespace(objJson.charAt(start))) {
-                         start++;
-                     }
-                     int end = start;
-                     while (end < objJson.length() && 
-                            (Character.isDigit(objJson.charAt(end)) || 
-                             objJson.charAt(end) == '.' || 
-                             objJson.charAt(end) == '-')) {
-                         end++;
-                     }
-                     spawn.respawnDelay = Float.parseFloat(objJson.substring(start, end));
+
+ private String readString() throws IOException {
+     skipWhitespace();
+     if (consumeNull()) return "";
+     expect('"');
+
+     text.setLength(0);
+     while (true) {
+         if (position == limit && !fill()) {
+             throw error("Unterminated string", charOffset());
+         }
+         char c = buffer[position++];
+         if (c == '"') break;
+         if (c != '\\') {
+             text.append(c);
+             continue;
+         }
+
+         char escaped = next();
+         switch (escaped) {
+             case 'n': text.append('\n'); break;
+             case 't': text.append('\t'); break;
+             case 'r': text.append('\r'); break;
+             case 'b': text.append('\b'); break;
+             case 'f': text.append('\f'); break;
+             case 'u':
+                 int code = 0;
+                 for (int i = 0; i < 4; i++) {
+                     code = (code << 4) | Character.digit(next(), 16);
                  }
-                 
-                 spawns.add(spawn);
+                 text.append((char) code);
+                 break;
+             default: text.append(escaped); break;  // \" \\ \/
+         }
+     }
+     return text.toString();
+ }
+
+ /**
+  * Skip any value (for keys this parser doesn't know).
+  */
+ private void skipValue() throws IOException {
+     skipWhitespace();
+     char c = peekRaw();
+     if (c == '"') {
+         readString();
+     } else if (c == '{' || c == '[') {
+         int depth = 0;
+         boolean inString = false;
+         do {
+             char d = next();
+             if (inString) {
+                 if (d == '\\') next();
+                 else if (d == '"') inString = false;
+             } else if (d == '"') {
+                 inString = true;
+             } else if (d == '{' || d == '[') {
+                 depth++;
+             } else if (d == '}' || d == ']') {
+                 depth--;
              }
+         } while (depth > 0);
+     } else {
+         // number, true, false, null
+         while (true) {
+             if (position == limit && !fill()) break;
+             char d = buffer[position];
+             if (d == ',' || d == '}' || d == ']' || Character.isWhitespace(d)) break;
+             position++;
          }
      }
  }
-}
\ No newline at end of file
+
+ private boolean consumeNull() throws IOException {
+     skipWhitespace();
+     if (peekRaw() != 'n') return false;
+     for (char c : "null".toCharArray()) {
+         if (next() != c) throw error("Expected null", charOffset() - 1);
+     }
+     return true;
+ }
+
+ private void expect(char c) throws IOException {
+     skipWhitespace();
+     long at = charOffset();
+     if (next() != c) {
+         throw error("Expected '" + c + "'", at);
+     }
+ }
+
+ private boolean consumeIf(char c) throws IOException {
+     skipWhitespace();
+     if ((position < limit || fill()) && buffer[position] == c) {
+         position++;
+         return true;
+     }
+     return false;
+ }
+
+ private void skipWhitespace() throws IOException {
+     while (true) {
+         if (position == limit && !fill()) return;
+         char c = buffer[position];
+         if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return;
+         position++;
+     }
+ }
+
+ // Current char without consuming; '\0' at end of input
+ private char peekRaw() throws IOException {
+     if (position == limit && !fill()) return '\0';
+     return buffer[position];
+ }
+
+ private char next() throws IOException {
+     if (position == limit && !fill()) {
+         throw error("Unexpected end of file", charOffset());
+     }
+     return buffer[position++];
+ }
+
+ private boolean fill() throws IOException {
+     offset += limit;
+     position = 0;
+     limit = 0;
+     int read = reader.read(buffer, 0, buffer.length);
+     if (read <= 0) return false;
+     limit = read;
+     return true;
+ }
+
+ // Chars consumed from the whole input. Unlike position it stays right
+ // across fill(), so it's what error offsets are taken from.
+ private long charOffset() {
+     return offset + position;
+ }
+
+ private IOException error(String message, long at) {
+     return new IOException(message + " at char " + at);
+ }
+}
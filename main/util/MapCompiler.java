@@ -0,0 +1,249 @@
+package dev.main.util;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import javax.imageio.ImageIO;
+
+import dev.main.tile.CollisionGrid;
+import dev.main.tile.MapChunkCache;
+import dev.main.tile.TileMap;
+
+/**
+ * Offline map compiler: turns a JSON map or a TXT collision map into the
+ * binary format read by BinaryMapLoader.
+ *
+ * Usage: MapCompiler <input.json | input.txt> [output.mapbin]
+ *        MapCompiler <map_image.png>
+ *
+ * TileMap picks up a compiled file sitting next to its source
+ * (intro_map.json -> intro_map.mapbin) automatically, as long as the
+ * source hasn't changed since it was compiled. Given a map image,
+ * the compiler instead splits it into the chunk files MapChunkCache
+ * streams (intro_map.png -> intro_map_chunks/<cx>_<cy>.png).
+ */
+public class MapCompiler {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: MapCompiler <input.json | input.txt> [output" + BinaryMapLoader.EXTENSION + "]");
+            System.exit(1);
+        }
+
+        if (args[0].endsWith(".png")) {
+            try {
+                int count = splitImage(args[0]);
+                System.out.println("Split " + args[0] + " into " + count + " chunks");
+            } catch (IOException e) {
+                System.err.println("Failed to split map image: " + args[0]);
+                e.printStackTrace();
+                System.exit(1);
+            }
+            return;
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = args.length > 1 ? Paths.get(args[1]) : Paths.get(compiledPathFor(args[0]));
+
+        try {
+            MapData data = readSource(input);
+            compile(data, output, BinaryMapLoader.stampSource(args[0]));
+            System.out.println("Compiled " + input + " -> " + output + " (" + data.width + "x" + data.height +
+                               " tiles, " + Files.size(output) + " bytes)");
+        } catch (IOException e) {
+            System.err.println("Failed to compile map: " + input);
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Path of the compiled file for a source map path (same name, EXTENSION).
+     */
+    public static String compiledPathFor(String sourcePath) {
+        int dot = sourcePath.lastIndexOf('.');
+        int slash = sourcePath.lastIndexOf('/');
+        String base = dot > slash ? sourcePath.substring(0, dot) : sourcePath;
+        return base + BinaryMapLoader.EXTENSION;
+    }
+
+    /**
+     * Write one PNG per MapChunkCache chunk of a map image. Decodes a band of
+     * chunk rows at a time, so the whole image is never in memory.
+     */
+    public static int splitImage(String imagePath) throws IOException {
+        Dimension size = MapChunkCache.readImageSize(imagePath);
+        if (size == null) {
+            throw new IOException("Can't read image: " + imagePath);
+        }
+
+        int chunk = MapChunkCache.CHUNK_PIXELS;
+        int chunksX = (size.width + chunk - 1) / chunk;
+        int chunksY = (size.height + chunk - 1) / chunk;
+        int count = 0;
+
+        for (int cy = 0; cy < chunksY; cy++) {
+            int bandY = cy * chunk;
+            int bandHeight = Math.min(chunk, size.height - bandY);
+            BufferedImage band = MapChunkCache.readRegion(imagePath, new Rectangle(0, bandY, size.width, bandHeight));
+
+            for (int cx = 0; cx < chunksX; cx++) {
+                int x = cx * chunk;
+                BufferedImage tile = band.getSubimage(x, 0, Math.min(chunk, size.width - x), bandHeight);
+                Path out = Paths.get(MapChunkCache.chunkPathFor(imagePath, cx, cy));
+                Files.createDirectories(out.getParent());
+                ImageIO.write(tile, "png", out.toFile());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static MapData readSource(Path input) throws IOException {
+        String name = input.getFileName().toString();
+        try (InputStream is = Files.newInputStream(input)) {
+            if (name.endsWith(".json")) {
+                return JsonMapParser.parse(is);
+            }
+            return parseText(is, name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name);
+        }
+    }
+
+    /**
+     * TXT collision format (see TileMap.loadCollisionMap):
+     * first line "width height", then one row of 0/1 values per line.
+     */
+    private static MapData parseText(InputStream is, String mapId) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+        String[] dimensions = br.readLine().trim().split("\\s+");
+        MapData data = new MapData();
+        data.mapId = mapId;
+        data.width = Integer.parseInt(dimensions[0]);
+        data.height = Integer.parseInt(dimensions[1]);
+        data.tileSize = TileMap.TILE_SIZE;
+        data.tiles = new int[data.height][data.width];
+        data.portals = new ArrayList<>();
+        data.monsterSpawns = new ArrayList<>();
+
+        for (int row = 0; row < data.height; row++) {
+            String line = br.readLine();
+            if (line == null) break;
+
+            String[] values = line.trim().split("\\s+");
+            for (int col = 0; col < data.width && col < values.length; col++) {
+                if (!values[col].isEmpty()) {
+                    data.tiles[row][col] = Integer.parseInt(values[col]);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Write a compiled map. source is BinaryMapLoader.stampSource() of the
+     * file data was read from (SourceStamp.NONE if there is none).
+     */
+    public static void compile(MapData data, Path output, BinaryMapLoader.SourceStamp source) throws IOException {
+        int width = data.width;
+        int height = data.height;
+        int[][] tiles = data.tiles != null ? data.tiles : new int[0][0];
+
+        // JSON maps may omit width/height; fall back to the tile array
+        if (width <= 0 || height <= 0) {
+            height = tiles.length;
+            width = 0;
+            for (int[] row : tiles) width = Math.max(width, row.length);
+        }
+
+        CollisionGrid collision = new CollisionGrid(width, height);
+        boolean fitsInByte = true;
+        for (int y = 0; y < height && y < tiles.length; y++) {
+            for (int x = 0; x < width && x < tiles[y].length; x++) {
+                int value = tiles[y][x];
+                if (value == 1) collision.set(x, y, true);
+                if (value < 0 || value > 255) fitsInByte = false;
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            // Header
+            out.writeInt(BinaryMapLoader.MAGIC);
+            out.writeInt(BinaryMapLoader.VERSION);
+            out.writeLong(source.size);
+            out.writeLong(source.modified);
+            out.writeLong(source.hash);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(data.tileSize > 0 ? data.tileSize : TileMap.TILE_SIZE);
+            writeString(out, data.mapId);
+
+            // Collision bitset
+            ByteBuffer words = ByteBuffer.allocate(collision.getWordCount() * 8);
+            collision.writeWords(words.asLongBuffer());
+            out.write(words.array());
+
+            // Tile layers
+            out.writeInt(1);
+            writeString(out, BinaryMapLoader.TILES_LAYER);
+            out.writeByte(fitsInByte ? 1 : 4);
+            for (int y = 0; y < height; y++) {
+                int[] row = y < tiles.length ? tiles[y] : null;
+                for (int x = 0; x < width; x++) {
+                    int value = row != null && x < row.length ? row[x] : 0;
+                    if (fitsInByte) out.writeByte(value);
+                    else out.writeInt(value);
+                }
+            }
+
+            // Portals
+            int portalCount = data.portals != null ? data.portals.size() : 0;
+            out.writeInt(portalCount);
+            for (int i = 0; i < portalCount; i++) {
+                MapData.Portal portal = data.portals.get(i);
+                writeString(out, portal.id);
+                out.writeInt(portal.x);
+                out.writeInt(portal.y);
+                writeString(out, portal.targetMap);
+                out.writeInt(portal.targetX);
+                out.writeInt(portal.targetY);
+            }
+
+            // Monster spawns
+            int spawnCount = data.monsterSpawns != null ? data.monsterSpawns.size() : 0;
+            out.writeInt(spawnCount);
+            for (int i = 0; i < spawnCount; i++) {
+                MapData.MonsterSpawn spawn = data.monsterSpawns.get(i);
+                writeString(out, spawn.id);
+                writeString(out, spawn.monsterType);
+                out.writeInt(spawn.x);
+                out.writeInt(spawn.y);
+                out.writeInt(spawn.level);
+                writeString(out, spawn.tier);
+                out.writeFloat(spawn.respawnDelay);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for map file: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -7,6 +7,8 @@ package dev.main.util;
 
 import java.util.List;
 
+import dev.main.tile.CollisionGrid;
+
 /**
 * Data structure for map JSON format
 */
@@ -16,6 +18,7 @@ public class MapData {
  public int height;
  public int tileSize;
  public int[][] tiles;  // 2D array of tile data (0 = walkable, 1+ = solid/special)
+ public CollisionGrid collision;  // Prebuilt by BinaryMapLoader, else null (built from tiles)
  public List<Portal> portals;
  public List<MonsterSpawn> monsterSpawns;
  